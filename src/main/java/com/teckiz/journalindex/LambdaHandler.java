@@ -2,23 +2,49 @@ package com.teckiz.journalindex;
 
 import com.amazonaws.services.lambda.runtime.Context;
 import com.amazonaws.services.lambda.runtime.RequestHandler;
+import com.amazonaws.services.lambda.runtime.events.SQSBatchResponse;
 import com.amazonaws.services.lambda.runtime.events.SQSEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.teckiz.journalindex.blob.BlobSource;
+import com.teckiz.journalindex.metrics.EmfMetricsEmitter;
+import com.teckiz.journalindex.metrics.IngestionMetrics;
+import com.teckiz.journalindex.metrics.StageTimer;
 import com.teckiz.journalindex.model.SqsArticleMessage;
+import com.teckiz.journalindex.parser.ArticleBatchReader;
+import com.teckiz.journalindex.parser.ArticleStream;
+import com.teckiz.journalindex.parser.MessageBodyDecoder;
+import com.teckiz.journalindex.service.ClaimCheckLoader;
+import com.teckiz.journalindex.service.IdempotencyLedger;
+import com.teckiz.journalindex.service.InvocationWriteBuffer;
 import com.teckiz.journalindex.service.JsonArticleProcessor;
+import com.teckiz.journalindex.service.ProcessingDeadline;
+import com.teckiz.journalindex.util.StringPool;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 /**
  * AWS Lambda handler for processing SQS messages containing article data
  * Lightweight implementation - no Spring Framework dependencies
  * Processes JSON messages directly from SQS and saves to MySQL using plain JDBC
  */
-public class LambdaHandler implements RequestHandler<SQSEvent, String> {
+public class LambdaHandler implements RequestHandler<SQSEvent, SQSBatchResponse> {
     
     private static final Logger logger = LogManager.getLogger(LambdaHandler.class);
     private static volatile JsonArticleProcessor articleProcessor;
+    private static volatile ClaimCheckLoader claimCheckLoader;
+    private static volatile IdempotencyLedger idempotencyLedger;
+    private static final int writeBufferMaxArticles = intFromEnvironment("WRITE_BUFFER_MAX_ARTICLES", 2000);
+    private static final EmfMetricsEmitter metricsEmitter = EmfMetricsEmitter.fromEnvironment();
     private final ObjectMapper objectMapper;
     private static final Object initLock = new Object();
     
@@ -36,6 +62,9 @@ public class LambdaHandler implements RequestHandler<SQSEvent, String> {
             synchronized (initLock) {
                 if (articleProcessor == null) {
                     logger.info("=== INITIALIZING LIGHTWEIGHT ARTICLE PROCESSOR ===");
+                    claimCheckLoader = new ClaimCheckLoader(BlobSource.fromEnvironment());
+                    idempotencyLedger = IdempotencyLedger.fromEnvironment();
+                    idempotencyLedger.purgeExpired();
                     articleProcessor = new JsonArticleProcessor();
                     logger.info("✅ Article processor initialized successfully");
                 }
@@ -44,7 +73,7 @@ public class LambdaHandler implements RequestHandler<SQSEvent, String> {
     }
     
     @Override
-    public String handleRequest(SQSEvent sqsEvent, Context context) {
+    public SQSBatchResponse handleRequest(SQSEvent sqsEvent, Context context) {
         logger.info("=== LAMBDA FUNCTION STARTED ===");
         logger.info("Lambda Function Name: {}", context.getFunctionName());
         logger.info("Lambda Function Version: {}", context.getFunctionVersion());
@@ -78,16 +107,37 @@ public class LambdaHandler implements RequestHandler<SQSEvent, String> {
 
         if (sqsEvent.getRecords() == null || sqsEvent.getRecords().isEmpty()) {
             logger.warn("No SQS records found in event");
-            return "No SQS records found";
+            return new SQSBatchResponse(new ArrayList<>());
         }
 
         int processedCount = 0;
         int errorCount = 0;
         long startTime = System.currentTimeMillis();
+        
+        // Messages not started (or stopped) before the deadline are returned for redelivery
+        ProcessingDeadline deadline = ProcessingDeadline.forContext(context);
+        List<SQSBatchResponse.BatchItemFailure> batchItemFailures = new ArrayList<>();
+        
+        // Inline Article/ArticleBatch messages are merged and written together
+        InvocationWriteBuffer writeBuffer = new InvocationWriteBuffer();
+        
+        // Per-invocation string pool shared by every message of this event
+        StringPool stringPool = new StringPool();
+        ObjectReader messageReader = objectMapper.readerFor(SqsArticleMessage.class)
+                .withAttribute(StringPool.class, stringPool);
+        
+        // Per-invocation metrics, emitted as a single EMF line when the invocation ends
+        IngestionMetrics metrics = IngestionMetrics.start();
 
         try {
             for (int i = 0; i < sqsEvent.getRecords().size(); i++) {
                 SQSEvent.SQSMessage message = sqsEvent.getRecords().get(i);
+                if (!deadline.canStartNext()) {
+                    logger.warn("Deferring message {} to redelivery, invocation deadline reached", message.getMessageId());
+                    batchItemFailures.add(new SQSBatchResponse.BatchItemFailure(message.getMessageId()));
+                    metrics.messageDeferred();
+                    continue;
+                }
                 logger.info("=== PROCESSING MESSAGE {}/{} ===", i + 1, sqsEvent.getRecords().size());
                 logger.info("Message ID: {}", message.getMessageId());
                 logger.info("Message Receipt Handle: {}", message.getReceiptHandle());
@@ -96,12 +146,19 @@ public class LambdaHandler implements RequestHandler<SQSEvent, String> {
                 logger.info("Message Body Length: {}", message.getBody().length());
                 
                 String messageBody = message.getBody();
-                logger.debug("Raw Message Body: {}", messageBody.length() > 500 ? messageBody.substring(0, 500) + "..." : messageBody);
+                String contentEncoding = getContentEncoding(message);
+                if (MessageBodyDecoder.isEncoded(contentEncoding)) {
+                    logger.info("Message body content-encoding: {}", contentEncoding);
+                } else {
+                    logger.debug("Raw Message Body: {}", messageBody.length() > 500 ? messageBody.substring(0, 500) + "..." : messageBody);
+                }
 
-                try {
-                    // Parse the message body as SqsArticleMessage
-                    logger.info("Parsing message body with ObjectMapper...");
-                    SqsArticleMessage articleMessage = objectMapper.readValue(messageBody, SqsArticleMessage.class);
+                // Read the envelope up front; batch articles are streamed one at a time during processing
+                logger.info("Parsing message body with ObjectMapper...");
+                StageTimer parseTimer = metrics.startTimer();
+                try (ArticleBatchReader batchReader = openMessage(messageReader, messageBody, contentEncoding)) {
+                    SqsArticleMessage articleMessage = batchReader.getEnvelope();
+                    parseTimer.lap(IngestionMetrics.Stage.PARSE);
                     
                     logger.info("Parsed message data:");
                     logger.info("  journalKey: {}", articleMessage.getJournalKey());
@@ -116,18 +173,27 @@ public class LambdaHandler implements RequestHandler<SQSEvent, String> {
 
                     // Validate required fields
                     if (articleMessage.getJournalKey() == null || articleMessage.getJournalKey().trim().isEmpty()) {
-                        logger.warn("No journalKey found in message body, skipping record: {}", message.getMessageId());
+                        logger.warn("Poison message {}: no journalKey in message body, acknowledging it", message.getMessageId());
                         errorCount++;
                         continue;
                     }
 
                     if (articleMessage.getMessageType() == null) {
-                        logger.warn("No messageType found in message body, skipping record: {}", message.getMessageId());
+                        logger.warn("Poison message {}: no messageType in message body, acknowledging it", message.getMessageId());
                         errorCount++;
                         continue;
                     }
 
                     logger.info("Validation passed - Processing article for journal: {}", articleMessage.getJournalKey());
+                    
+                    // Redelivered messages are acknowledged without touching the article tables
+                    String idempotencyKey = IdempotencyLedger.keyOf(articleMessage, message.getMessageId());
+                    if (idempotencyLedger.isProcessed(idempotencyKey)) {
+                        logger.info("Message {} already processed ({}), acknowledging duplicate", message.getMessageId(), idempotencyKey);
+                        metrics.messageDuplicate();
+                        processedCount++;
+                        continue;
+                    }
 
                     try {
                         // Ensure processor is initialized
@@ -142,46 +208,251 @@ public class LambdaHandler implements RequestHandler<SQSEvent, String> {
                         long processingStart = System.currentTimeMillis();
                         
                         // Route based on message type
-                        String result;
-                        if ("Article".equalsIgnoreCase(articleMessage.getMessageType())) {
-                            logger.info("Processing single Article message type");
-                            result = articleProcessor.processArticle(articleMessage);
+                        JsonArticleProcessor.BatchOutcome outcome;
+                        if (ClaimCheckLoader.isClaimCheck(articleMessage, batchReader.hasInlineArticles())) {
+                            logger.info("Processing claim-check payload: {}", ClaimCheckLoader.locationOf(articleMessage));
+                            ArticleStream payloadArticles;
+                            try {
+                                payloadArticles = claimCheckLoader.openArticles(articleMessage, messageReader);
+                            } catch (IOException e) {
+                                // The blob store may be briefly unavailable; the redrive policy caps the retries
+                                logger.error("Could not open claim-check payload {} of message {}, returning it for redelivery: {}",
+                                            ClaimCheckLoader.locationOf(articleMessage), message.getMessageId(), e.getMessage());
+                                batchItemFailures.add(new SQSBatchResponse.BatchItemFailure(message.getMessageId()));
+                                continue;
+                            }
+                            try (ArticleStream articles = payloadArticles) {
+                                outcome = articleProcessor.processBatch(articleMessage, articles, deadline);
+                            }
+                        } else if ("Article".equalsIgnoreCase(articleMessage.getMessageType())) {
+                            logger.info("Buffering single Article message type");
+                            List<SqsArticleMessage.ArticleData> articles = new ArrayList<>();
+                            if (articleMessage.getArticle() != null) {
+                                articles.add(articleMessage.getArticle());
+                            }
+                            bufferMessage(writeBuffer, message.getMessageId(), idempotencyKey, articleMessage, articles);
+                            processedCount += flushIfFull(writeBuffer, deadline, batchItemFailures, metrics);
+                            continue;
                         } else if ("ArticleBatch".equalsIgnoreCase(articleMessage.getMessageType())) {
-                            logger.info("Processing ArticleBatch message type with {} articles", 
-                                    articleMessage.getArticlesInBatch());
-                            result = articleProcessor.processBatch(articleMessage);
+                            // Batches of up to one write chunk are read whole, so a malformed body buffers nothing;
+                            // larger ones are streamed one article at a time instead of being held in the buffer
+                            List<SqsArticleMessage.ArticleData> articles = new ArrayList<>();
+                            while (batchReader.hasNext() && articles.size() <= JsonArticleProcessor.FLUSH_CHUNK_SIZE) {
+                                articles.add(batchReader.next());
+                                parseTimer.lap(IngestionMetrics.Stage.PARSE);
+                            }
+                            if (articles.size() <= JsonArticleProcessor.FLUSH_CHUNK_SIZE) {
+                                logger.info("Buffering ArticleBatch message type with {} articles", articles.size());
+                                bufferMessage(writeBuffer, message.getMessageId(), idempotencyKey, articleMessage, articles);
+                                processedCount += flushIfFull(writeBuffer, deadline, batchItemFailures, metrics);
+                                continue;
+                            }
+                            logger.info("Streaming ArticleBatch message with more than {} articles", 
+                                    JsonArticleProcessor.FLUSH_CHUNK_SIZE);
+                            // Earlier buffered messages are written first, so article versions keep their order
+                            processedCount += flushWriteBuffer(writeBuffer, deadline, batchItemFailures, metrics);
+                            outcome = articleProcessor.processBatch(articleMessage, concat(articles.iterator(), batchReader), deadline);
                         } else {
-                            logger.warn("Unsupported message type: {}", articleMessage.getMessageType());
-                            result = "Unsupported message type: " + articleMessage.getMessageType();
+                            logger.warn("Poison message {}: unsupported message type {}, acknowledging it", message.getMessageId(),
+                                       articleMessage.getMessageType());
                             errorCount++;
                             continue;
                         }
                         
                         long processingEnd = System.currentTimeMillis();
                         logger.info("Processing completed in {} ms", processingEnd - processingStart);
-                        logger.info("Result: {}", result);
+                        logger.info("Result: {}", outcome.getSummary());
+                        
+                        // The deadline was still open when this message started, so it stopped mid-batch
+                        if (deadline.isExhausted()) {
+                            logger.warn("Message {} stopped at the invocation deadline, returning it for redelivery", message.getMessageId());
+                            batchItemFailures.add(new SQSBatchResponse.BatchItemFailure(message.getMessageId()));
+                            metrics.messageDeferred();
+                            continue;
+                        }
+                        // Same rule as a coalesced flush: failed articles are retried, and the ledger is skipped
+                        if (outcome.hasFailures()) {
+                            logger.error("Message {} has {} articles that failed to write, returning it for redelivery",
+                                        message.getMessageId(), outcome.getErrors());
+                            batchItemFailures.add(new SQSBatchResponse.BatchItemFailure(message.getMessageId()));
+                            continue;
+                        }
+                        idempotencyLedger.markProcessed(idempotencyKey, message.getMessageId(), articleMessage.getJournalKey(),
+                                                        outcome.getSummary());
                         processedCount++;
                         
                     } catch (Exception processingException) {
-                        logger.error("Error processing message {}: {}", message.getMessageId(), processingException.getMessage(), processingException);
-                        errorCount++;
+                        if (isMalformed(processingException)) {
+                            logger.error("Poison message {}: malformed article data, acknowledging it: {}",
+                                        message.getMessageId(), processingException.getMessage(), processingException);
+                            errorCount++;
+                            continue;
+                        }
+                        // Database and connection failures are usually transient; the redrive policy caps the retries
+                        logger.error("Error processing message {}, returning it for redelivery: {}",
+                                    message.getMessageId(), processingException.getMessage(), processingException);
+                        batchItemFailures.add(new SQSBatchResponse.BatchItemFailure(message.getMessageId()));
                     }
 
                 } catch (Exception e) {
-                    logger.error("Error parsing message body for message {}: {}", message.getMessageId(), e.getMessage(), e);
+                    logger.error("Poison message {}: message body cannot be parsed, acknowledging it: {}",
+                                message.getMessageId(), e.getMessage(), e);
                     errorCount++;
                 }
             }
 
+            processedCount += flushWriteBuffer(writeBuffer, deadline, batchItemFailures, metrics);
+            
+            logger.info("String pool: {} distinct values, {} deduplicated", stringPool.size(), stringPool.getHits());
+            logger.info("Stage latency:{}", metrics.getLatencySummary());
+            
             long endTime = System.currentTimeMillis();
-            String result = String.format("Successfully processed %d/%d messages (%d errors) in %d ms", 
-                                        processedCount, sqsEvent.getRecords().size(), errorCount, endTime - startTime);
+            String result = String.format("Successfully processed %d/%d messages (%d errors, %d deferred) in %d ms", 
+                                        processedCount, sqsEvent.getRecords().size(), errorCount,
+                                        batchItemFailures.size(), endTime - startTime);
             logger.info("=== LAMBDA FUNCTION COMPLETED: {} ===", result);
-            return result;
+            return new SQSBatchResponse(batchItemFailures);
 
         } catch (Exception e) {
             logger.error("=== LAMBDA FUNCTION ERROR ===", e);
             throw new RuntimeException("Error processing SQS event", e);
+        } finally {
+            metrics.finish();
+            metricsEmitter.emit(metrics, context.getFunctionName());
+        }
+    }
+    
+    /**
+     * Add a parsed message and its articles to the invocation write buffer
+     */
+    private static void bufferMessage(InvocationWriteBuffer writeBuffer, String messageId, String idempotencyKey,
+                                      SqsArticleMessage articleMessage, List<SqsArticleMessage.ArticleData> articles) {
+        writeBuffer.addMessage(messageId, idempotencyKey, articleMessage);
+        for (SqsArticleMessage.ArticleData article : articles) {
+            writeBuffer.addArticle(messageId, article);
+        }
+        logger.info("Buffered {} articles from message {} ({} distinct articles pending)", 
+                   articles.size(), messageId, writeBuffer.size());
+    }
+    
+    /**
+     * Flush early when the buffer holds WRITE_BUFFER_MAX_ARTICLES distinct articles
+     */
+    private static int flushIfFull(InvocationWriteBuffer writeBuffer, ProcessingDeadline deadline,
+                                   List<SQSBatchResponse.BatchItemFailure> batchItemFailures, IngestionMetrics metrics) {
+        if (writeBuffer.size() < writeBufferMaxArticles) {
+            return 0;
+        }
+        return flushWriteBuffer(writeBuffer, deadline, batchItemFailures, metrics);
+    }
+    
+    /**
+     * Write the buffered articles and map the results back to their messages
+     * Messages with deferred or failed articles are reported for redelivery and stay out of the
+     * idempotency ledger, so the retry is not dropped as a duplicate; the others are recorded in
+     * the ledger. Returns the number of messages completed.
+     */
+    private static int flushWriteBuffer(InvocationWriteBuffer writeBuffer, ProcessingDeadline deadline,
+                                        List<SQSBatchResponse.BatchItemFailure> batchItemFailures, IngestionMetrics metrics) {
+        if (writeBuffer.isEmpty()) {
+            return 0;
+        }
+        
+        long flushStart = System.currentTimeMillis();
+        int duplicatesMerged = writeBuffer.getDuplicatesMerged();
+        List<InvocationWriteBuffer.MessageOutcome> outcomes = articleProcessor.processBuffered(writeBuffer, deadline);
+        logger.info("Coalesced flush of {} messages completed in {} ms ({} duplicate articles merged)", 
+                   outcomes.size(), System.currentTimeMillis() - flushStart, duplicatesMerged);
+        
+        int completed = 0;
+        for (InvocationWriteBuffer.MessageOutcome outcome : outcomes) {
+            logger.info("Result for message {}: {}", outcome.getMessageId(), outcome.getSummary());
+            if (outcome.isDeferred()) {
+                logger.warn("Message {} stopped at the invocation deadline, returning it for redelivery", outcome.getMessageId());
+                batchItemFailures.add(new SQSBatchResponse.BatchItemFailure(outcome.getMessageId()));
+                metrics.messageDeferred();
+                continue;
+            }
+            if (outcome.hasFailures()) {
+                logger.error("Message {} has {} articles that failed to write, returning it for redelivery",
+                            outcome.getMessageId(), outcome.getFailed());
+                batchItemFailures.add(new SQSBatchResponse.BatchItemFailure(outcome.getMessageId()));
+                continue;
+            }
+            idempotencyLedger.markProcessed(outcome.getIdempotencyKey(), outcome.getMessageId(), 
+                                            outcome.getJournalKey(), outcome.getSummary());
+            completed++;
+        }
+        return completed;
+    }
+    
+    /**
+     * Whether a processing failure comes from unparseable JSON or XML, which a redelivery cannot fix
+     */
+    private static boolean isMalformed(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonProcessingException || cause instanceof XMLStreamException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Articles already read from a message followed by the ones still to be streamed
+     */
+    private static <T> Iterator<T> concat(Iterator<T> first, Iterator<T> rest) {
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return first.hasNext() || rest.hasNext();
+            }
+            
+            @Override
+            public T next() {
+                return first.hasNext() ? first.next() : rest.next();
+            }
+        };
+    }
+    
+    /**
+     * Open the message body, decoding compressed (base64 gzip/zstd) bodies as a stream
+     */
+    private static ArticleBatchReader openMessage(ObjectReader messageReader, String messageBody,
+                                                  String contentEncoding) throws IOException {
+        if (MessageBodyDecoder.isEncoded(contentEncoding)) {
+            return ArticleBatchReader.openMessage(messageReader, MessageBodyDecoder.open(messageBody, contentEncoding));
+        }
+        return ArticleBatchReader.openMessage(messageReader, messageBody);
+    }
+    
+    private static int intFromEnvironment(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid {} '{}', using {}", name, value, defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    /**
+     * Value of the content-encoding message attribute (name matched case-insensitively), or null
+     */
+    private static String getContentEncoding(SQSEvent.SQSMessage message) {
+        Map<String, SQSEvent.MessageAttribute> attributes = message.getMessageAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        for (Map.Entry<String, SQSEvent.MessageAttribute> attribute : attributes.entrySet()) {
+            if (MessageBodyDecoder.CONTENT_ENCODING_ATTRIBUTE.equalsIgnoreCase(attribute.getKey())
+                    && attribute.getValue() != null) {
+                return attribute.getValue().getStringValue();
+            }
         }
+        return null;
     }
 }
@@ -0,0 +1,43 @@
+package com.teckiz.journalindex.author;
+
+/**
+ * An author name resolved to its canonical identity
+ * The author key is stored in IndexJournalAuthor.author_id; it is null when identity
+ * resolution is disabled or failed, in which case the author row is simply left unlinked.
+ */
+public class AuthorIdentity {
+    
+    private final String name;
+    private final String orcid;
+    private final String authorKey;
+    
+    public AuthorIdentity(String name, String orcid, String authorKey) {
+        this.name = name;
+        this.orcid = orcid;
+        this.authorKey = authorKey;
+    }
+    
+    /**
+     * Display name with any embedded ORCID iD removed
+     */
+    public String getName() {
+        return name;
+    }
+    
+    public String getOrcid() {
+        return orcid;
+    }
+    
+    public String getAuthorKey() {
+        return authorKey;
+    }
+    
+    @Override
+    public String toString() {
+        return "AuthorIdentity{" +
+                "name='" + name + '\'' +
+                ", orcid='" + orcid + '\'' +
+                ", authorKey='" + authorKey + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,208 @@
+package com.teckiz.journalindex.author;
+
+import com.teckiz.journalindex.dao.AuthorIdentityDao;
+import com.teckiz.journalindex.db.ShardLocal;
+import com.teckiz.journalindex.util.EntityKeyGenerator;
+import com.teckiz.journalindex.util.LruLookupCache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Index from ORCID iDs and normalized name keys to canonical author keys
+ * An author is looked up by its ORCID iD when it has one, otherwise by its full name key, and
+ * only by its initials key when the name carries nothing but initials (so "Jane Smith" is never
+ * merged into "John Smith", while "J. Smith" links to whichever of them claimed "smith j" first).
+ * Every key of a resolved author is claimed for it, so later spellings find the same identity.
+ *
+ * Lookup keys never change owner once claimed, which lets a warm container keep them in an LRU
+ * cache without invalidation. Enabled with AUTHOR_IDENTITY_ENABLED=true once the
+ * IndexAuthorIdentity table exists; resolution fails open and leaves authors unlinked.
+ */
+public class AuthorIdentityIndex {
+    
+    private static final Logger logger = LogManager.getLogger(AuthorIdentityIndex.class);
+    
+    public static final int DEFAULT_CACHE_SIZE = 50_000;
+    
+    public static final String AUTHOR_KEY_PREFIX = "AUT";
+    
+    private static final boolean ENABLED = "true".equalsIgnoreCase(System.getenv("AUTHOR_IDENTITY_ENABLED"));
+    
+    // Identities live in the shard of their articles, so each shard gets its own index
+    private static final ShardLocal<AuthorIdentityIndex> SHARED =
+            new ShardLocal<>(shard -> new AuthorIdentityIndex(ENABLED, new DaoStore(), DEFAULT_CACHE_SIZE));
+    
+    /**
+     * Persistent lookup key to author key mapping
+     */
+    public interface Store {
+        
+        Map<String, String> find(Collection<String> lookupKeys);
+        
+        /**
+         * Claim unclaimed lookup keys; keys claimed earlier keep their author
+         */
+        void claim(Map<String, String> authorKeysByLookupKey);
+    }
+    
+    private final boolean enabled;
+    private final Store store;
+    private final LruLookupCache<String, String> cache;
+    
+    public AuthorIdentityIndex(boolean enabled, Store store, int cacheSize) {
+        this.enabled = enabled;
+        this.store = store;
+        this.cache = new LruLookupCache<>(cacheSize, store::find);
+    }
+    
+    /**
+     * Index of the current shard, shared by the DAOs of this container
+     */
+    public static AuthorIdentityIndex shared() {
+        return SHARED.get();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Resolve the authors of one article, creating identities for authors seen for the first time
+     * Blank names are skipped; the result is in input order.
+     */
+    public List<AuthorIdentity> resolve(List<String> authorNames) {
+        List<Candidate> candidates = new ArrayList<>();
+        for (String authorName : authorNames) {
+            if (authorName != null && !authorName.isBlank()) {
+                candidates.add(new Candidate(authorName.trim()));
+            }
+        }
+        if (!enabled || candidates.isEmpty()) {
+            return unlinked(candidates);
+        }
+        
+        try {
+            return link(candidates);
+        } catch (RuntimeException e) {
+            logger.warn("Author identity resolution failed, saving {} authors unlinked: {}",
+                       candidates.size(), e.getMessage());
+            return unlinked(candidates);
+        }
+    }
+    
+    /**
+     * Author key of a name or ORCID iD, if that author has been seen
+     */
+    public Optional<String> findAuthorKey(String nameOrOrcid) {
+        if (!enabled || nameOrOrcid == null || nameOrOrcid.isBlank()) {
+            return Optional.empty();
+        }
+        Candidate candidate = new Candidate(nameOrOrcid.trim());
+        if (candidate.primaryKey == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.lookup(List.of(candidate.primaryKey)).get(candidate.primaryKey));
+    }
+    
+    private List<AuthorIdentity> link(List<Candidate> candidates) {
+        Set<String> lookupKeys = new LinkedHashSet<>();
+        candidates.forEach(candidate -> lookupKeys.addAll(candidate.lookupKeys));
+        Map<String, String> known = cache.lookup(lookupKeys);
+        
+        // New identities and the keys that existing identities have not claimed yet
+        Map<String, String> claims = new LinkedHashMap<>();
+        for (Candidate candidate : candidates) {
+            if (candidate.primaryKey == null) {
+                continue;
+            }
+            String authorKey = known.get(candidate.primaryKey);
+            if (authorKey == null) {
+                authorKey = EntityKeyGenerator.next(AUTHOR_KEY_PREFIX);
+            }
+            for (String lookupKey : candidate.lookupKeys) {
+                if (known.putIfAbsent(lookupKey, authorKey) == null) {
+                    claims.put(lookupKey, authorKey);
+                }
+            }
+        }
+        
+        if (!claims.isEmpty()) {
+            store.claim(claims);
+            // Another writer may have claimed a key first; its author wins
+            Map<String, String> claimed = store.find(claims.keySet());
+            known.putAll(claimed);
+            cache.putAll(claimed);
+            logger.debug("Claimed {} author lookup keys", claims.size());
+        }
+        
+        List<AuthorIdentity> identities = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            String authorKey = candidate.primaryKey != null ? known.get(candidate.primaryKey) : null;
+            identities.add(new AuthorIdentity(candidate.name, candidate.orcid, authorKey));
+        }
+        return identities;
+    }
+    
+    private static List<AuthorIdentity> unlinked(List<Candidate> candidates) {
+        List<AuthorIdentity> identities = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            identities.add(new AuthorIdentity(candidate.name, candidate.orcid, null));
+        }
+        return identities;
+    }
+    
+    /**
+     * Lookup keys of one author name
+     */
+    private static final class Candidate {
+        
+        private final String name;
+        private final String orcid;
+        private final List<String> lookupKeys = new ArrayList<>();
+        private String primaryKey;
+        
+        private Candidate(String rawName) {
+            this.orcid = Orcid.find(rawName);
+            String stripped = orcid != null ? Orcid.strip(rawName) : rawName;
+            this.name = stripped.isEmpty() ? rawName : stripped;
+            
+            if (orcid != null) {
+                lookupKeys.add("orcid:" + orcid);
+            }
+            AuthorNameKey nameKey = orcid == null || !stripped.isEmpty() ? AuthorNameKey.of(stripped) : null;
+            if (nameKey != null) {
+                String fullKey = nameKey.fullKey();
+                if (fullKey != null) {
+                    lookupKeys.add("name:" + fullKey);
+                }
+                lookupKeys.add("initials:" + nameKey.initialsKey());
+            }
+            primaryKey = lookupKeys.isEmpty() ? null : lookupKeys.get(0);
+        }
+    }
+    
+    /**
+     * Store backed by the IndexAuthorIdentity table
+     */
+    private static final class DaoStore implements Store {
+        
+        @Override
+        public Map<String, String> find(Collection<String> lookupKeys) {
+            return AuthorIdentityDao.findAuthorKeys(lookupKeys);
+        }
+        
+        @Override
+        public void claim(Map<String, String> authorKeysByLookupKey) {
+            AuthorIdentityDao.claim(authorKeysByLookupKey);
+        }
+    }
+}
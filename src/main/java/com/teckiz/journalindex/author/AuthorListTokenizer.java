@@ -0,0 +1,180 @@
+package com.teckiz.journalindex.author;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits OAI-DC creator strings into author names without regular expressions
+ * Semicolons and the words "and" / "&" always separate authors. Commas are read as
+ * "Family, Given" separators when the list alternates between single family names and given
+ * names ("Smith, John; Doe, J." or "Smith, J., Doe, A."), and as author separators otherwise
+ * ("John Smith, Jane Doe"). A trailing "et al." is dropped.
+ */
+public final class AuthorListTokenizer {
+    
+    // Given names of a "Family, Given" pair have at most this many words ("John Paul A.")
+    private static final int MAX_GIVEN_WORDS = 3;
+    
+    private AuthorListTokenizer() {
+    }
+    
+    /**
+     * Author names of a creator string, in order; null or blank input gives an empty list
+     */
+    public static List<AuthorName> tokenize(String creators) {
+        List<AuthorName> names = new ArrayList<>();
+        if (creators == null) {
+            return names;
+        }
+        for (String segment : split(creators, ';')) {
+            for (String group : splitConjunctions(dropEtAl(segment))) {
+                addGroup(names, group);
+            }
+        }
+        return names;
+    }
+    
+    /**
+     * Author names of a creator string as written in the source
+     */
+    public static List<String> tokenizeToText(String creators) {
+        List<AuthorName> names = tokenize(creators);
+        List<String> texts = new ArrayList<>(names.size());
+        for (AuthorName name : names) {
+            texts.add(name.getText());
+        }
+        return texts;
+    }
+    
+    /**
+     * Names of a comma-separated group that contains no semicolons or conjunctions
+     */
+    private static void addGroup(List<AuthorName> names, String group) {
+        List<String> parts = split(group, ',');
+        if (parts.isEmpty()) {
+            return;
+        }
+        if (isFamilyGivenPairs(parts)) {
+            for (int i = 0; i < parts.size(); i += 2) {
+                String family = parts.get(i);
+                String given = parts.get(i + 1);
+                names.add(new AuthorName(family + ", " + given, given, family));
+            }
+            return;
+        }
+        for (String part : parts) {
+            names.add(AuthorName.parse(part));
+        }
+    }
+    
+    /**
+     * Whether comma-separated parts alternate family name / given names
+     */
+    private static boolean isFamilyGivenPairs(List<String> parts) {
+        if (parts.size() % 2 != 0) {
+            return false;
+        }
+        for (int i = 0; i < parts.size(); i += 2) {
+            if (!isFamilyName(parts.get(i)) || !isGivenNames(parts.get(i + 1))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * One word, optionally preceded by particles ("Smith", "van der Berg", "Garcia-Lopez")
+     */
+    private static boolean isFamilyName(String part) {
+        List<String> words = AuthorName.words(part);
+        for (int i = 0; i < words.size() - 1; i++) {
+            if (!AuthorName.isParticle(words.get(i))) {
+                return false;
+            }
+        }
+        return !words.isEmpty() && !AuthorName.isInitial(words.get(words.size() - 1));
+    }
+    
+    /**
+     * A few given names or initials ("John", "J. A.", "Jean-Pierre"); a part with a family
+     * particle is a "Given Family" name, not given names
+     */
+    private static boolean isGivenNames(String part) {
+        List<String> words = AuthorName.words(part);
+        if (words.isEmpty() || words.size() > MAX_GIVEN_WORDS) {
+            return false;
+        }
+        for (String word : words) {
+            if (AuthorName.isParticle(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Split on " and " and " & " between words
+     */
+    private static List<String> splitConjunctions(String segment) {
+        List<String> groups = new ArrayList<>();
+        StringBuilder group = new StringBuilder();
+        for (String word : AuthorName.words(segment)) {
+            if (word.equals("&") || word.equalsIgnoreCase("and")) {
+                addTrimmed(groups, group.toString(), ',');
+                group.setLength(0);
+                continue;
+            }
+            if (group.length() > 0) {
+                group.append(' ');
+            }
+            group.append(word);
+        }
+        addTrimmed(groups, group.toString(), ',');
+        return groups;
+    }
+    
+    /**
+     * Remove a trailing "et al." (with or without the dot)
+     */
+    private static String dropEtAl(String segment) {
+        List<String> words = AuthorName.words(segment);
+        int n = words.size();
+        if (n >= 2 && words.get(n - 2).equalsIgnoreCase("et")
+                && (words.get(n - 1).equalsIgnoreCase("al.") || words.get(n - 1).equalsIgnoreCase("al"))) {
+            return String.join(" ", words.subList(0, n - 2));
+        }
+        return segment;
+    }
+    
+    /**
+     * Non-empty trimmed pieces of text between separators
+     */
+    private static List<String> split(String text, char separator) {
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || text.charAt(i) == separator || text.charAt(i) == '\n') {
+                addTrimmed(pieces, text.substring(start, i), separator);
+                start = i + 1;
+            }
+        }
+        return pieces;
+    }
+    
+    /**
+     * Add text without surrounding whitespace and dangling separators, unless nothing is left
+     */
+    private static void addTrimmed(List<String> pieces, String text, char separator) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && (Character.isWhitespace(text.charAt(start)) || text.charAt(start) == separator)) {
+            start++;
+        }
+        while (end > start && (Character.isWhitespace(text.charAt(end - 1)) || text.charAt(end - 1) == separator)) {
+            end--;
+        }
+        if (start < end) {
+            pieces.add(text.substring(start, end));
+        }
+    }
+}
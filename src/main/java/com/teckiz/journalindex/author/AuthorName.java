@@ -0,0 +1,153 @@
+package com.teckiz.journalindex.author;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * One author name split into given and family names
+ * Understands "Family, Given", "Given Family" (with particles such as "van der" kept in the
+ * family name) and "Family INITIALS" as in "Smith JA". Parsing uses no regular expressions.
+ */
+public class AuthorName {
+    
+    // Lower-case name particles that belong to the family name in "Given Family" order
+    static final Set<String> PARTICLES = Set.of(
+            "van", "von", "de", "der", "den", "del", "della", "di", "da", "dos", "das", "du",
+            "la", "le", "ter", "ten", "bin", "ibn", "al", "el");
+    
+    // Longest run of upper-case letters read as initials, e.g. "JA" in "Smith JA"
+    private static final int MAX_INITIALS = 3;
+    
+    private final String text;
+    private final String given;
+    private final String family;
+    
+    AuthorName(String text, String given, String family) {
+        this.text = text;
+        this.given = given;
+        this.family = family;
+    }
+    
+    /**
+     * Parse the name of one author
+     */
+    public static AuthorName parse(String name) {
+        String text = name.trim();
+        int comma = text.indexOf(',');
+        if (comma >= 0) {
+            return new AuthorName(text, text.substring(comma + 1).trim(), text.substring(0, comma).trim());
+        }
+        
+        List<String> tokens = words(text);
+        if (tokens.isEmpty()) {
+            return new AuthorName(text, "", "");
+        }
+        if (hasLowerCase(text) && tokens.size() > 1 && isUpperCaseInitials(tokens.get(tokens.size() - 1))) {
+            // "Smith JA": the initials follow the family name
+            return new AuthorName(text, tokens.get(tokens.size() - 1), join(tokens, 0, tokens.size() - 1));
+        }
+        int familyStart = tokens.size() - 1;
+        while (familyStart > 1 && isParticle(tokens.get(familyStart - 1))) {
+            familyStart--;
+        }
+        return new AuthorName(text, join(tokens, 0, familyStart), join(tokens, familyStart, tokens.size()));
+    }
+    
+    /**
+     * The name as written in the source
+     */
+    public String getText() {
+        return text;
+    }
+    
+    /**
+     * Given names or initials; empty when unknown
+     */
+    public String getGiven() {
+        return given;
+    }
+    
+    public String getFamily() {
+        return family;
+    }
+    
+    /**
+     * "Given Family", or the family name alone
+     */
+    public String getDisplayName() {
+        return given.isEmpty() ? family : given + " " + family;
+    }
+    
+    @Override
+    public String toString() {
+        return text;
+    }
+    
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean boundary = i == text.length() || Character.isWhitespace(text.charAt(i));
+            if (!boundary && start < 0) {
+                start = i;
+            } else if (boundary && start >= 0) {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+    
+    static boolean isParticle(String word) {
+        return PARTICLES.contains(word.toLowerCase(Locale.ROOT));
+    }
+    
+    /**
+     * Upper-case initials only stand out in names that are not written all in capitals
+     */
+    static boolean hasLowerCase(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLowerCase(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    static boolean isUpperCaseInitials(String token) {
+        if (token.isEmpty() || token.length() > MAX_INITIALS) {
+            return false;
+        }
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isUpperCase(token.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Whether a word is an initial such as "J." or "J.-P."
+     */
+    static boolean isInitial(String word) {
+        int letters = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (Character.isLetter(c)) {
+                letters++;
+                if (i + 1 < word.length() && Character.isLetter(word.charAt(i + 1))) {
+                    return false;
+                }
+            } else if (c != '.' && c != '-') {
+                return false;
+            }
+        }
+        return letters > 0;
+    }
+    
+    private static String join(List<String> tokens, int from, int to) {
+        return String.join(" ", tokens.subList(from, to));
+    }
+}
@@ -0,0 +1,124 @@
+package com.teckiz.journalindex.author;
+
+import com.teckiz.journalindex.util.TextFolding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Normalized identity keys of an author name
+ * Names are case-folded and stripped of diacritics and punctuation, then split into family
+ * and given names. "Smith, John A.", "John A. Smith" and "JOHN A SMITH" share the full key
+ * "smith john a"; "J. A. Smith", "Smith JA" and the names above share the initials key "smith ja".
+ */
+public final class AuthorNameKey {
+    
+    private final String family;
+    private final List<String> given;
+    
+    private AuthorNameKey(String family, List<String> given) {
+        this.family = family;
+        this.given = given;
+    }
+    
+    /**
+     * Parse a display name; returns null when no letters or digits remain after normalization
+     */
+    public static AuthorNameKey of(String name) {
+        return name != null ? of(AuthorName.parse(name)) : null;
+    }
+    
+    /**
+     * Keys of a name that is already split into given and family names
+     */
+    public static AuthorNameKey of(AuthorName name) {
+        String family = lettersOnly(TextFolding.fold(name.getFamily()));
+        boolean mixedCase = AuthorName.hasLowerCase(name.getText());
+        
+        List<String> given = new ArrayList<>();
+        for (String token : AuthorName.words(name.getGiven())) {
+            if (mixedCase && token.length() > 1 && AuthorName.isUpperCaseInitials(token)) {
+                // Run-together initials such as "JA"
+                for (int i = 0; i < token.length(); i++) {
+                    given.add(TextFolding.fold(token.substring(i, i + 1)));
+                }
+                continue;
+            }
+            given.addAll(splitGiven(TextFolding.fold(token)));
+        }
+        
+        if (family.isEmpty()) {
+            if (given.isEmpty()) {
+                return null;
+            }
+            // Only one usable word: treat it as the family name
+            family = given.remove(given.size() - 1);
+        }
+        return new AuthorNameKey(family, given);
+    }
+    
+    /**
+     * Key of family name plus full given names, or null when only initials are known
+     */
+    public String fullKey() {
+        boolean hasFullGivenName = false;
+        StringBuilder key = new StringBuilder(family);
+        for (String name : given) {
+            key.append(' ').append(name);
+            hasFullGivenName |= name.length() > 1;
+        }
+        return hasFullGivenName ? key.toString() : null;
+    }
+    
+    /**
+     * Key of family name plus given-name initials; "smith" alone when there is no given name
+     */
+    public String initialsKey() {
+        StringBuilder key = new StringBuilder(family);
+        if (!given.isEmpty()) {
+            key.append(' ');
+            for (String name : given) {
+                key.append(name.charAt(0));
+            }
+        }
+        return key.toString();
+    }
+    
+    public String getFamily() {
+        return family;
+    }
+    
+    public List<String> getGiven() {
+        return given;
+    }
+    
+    /**
+     * Split a folded given-name token on dots and hyphens: "j.a." gives j, a and "jean-pierre" gives jean, pierre
+     */
+    private static List<String> splitGiven(String token) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        for (int i = 0; i <= token.length(); i++) {
+            char c = i < token.length() ? token.charAt(i) : '.';
+            if (Character.isLetterOrDigit(c)) {
+                part.append(c);
+            } else if (c == '.' || c == '-') {
+                if (part.length() > 0) {
+                    parts.add(part.toString());
+                    part.setLength(0);
+                }
+            }
+        }
+        return parts;
+    }
+    
+    private static String lettersOnly(String text) {
+        StringBuilder letters = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                letters.append(text.charAt(i));
+            }
+        }
+        return letters.toString();
+    }
+}
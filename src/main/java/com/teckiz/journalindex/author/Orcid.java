@@ -0,0 +1,100 @@
+package com.teckiz.journalindex.author;
+
+import java.util.Locale;
+
+/**
+ * ORCID iDs embedded in author names
+ * Some OAI creator fields carry the iD next to the name, e.g. "Smith, John (https://orcid.org/0000-0002-1825-0097)".
+ * Only iDs with a valid ISO 7064 11,2 check digit are accepted.
+ */
+public final class Orcid {
+    
+    private static final int LENGTH = 19;
+    
+    // Prefixes dropped together with the iD when it is stripped from a name
+    private static final String[] PREFIXES = {"https://orcid.org/", "http://orcid.org/", "orcid.org/", "orcid:"};
+    
+    private Orcid() {
+    }
+    
+    /**
+     * First valid ORCID iD in the text, in its canonical 0000-0000-0000-000X form, or null
+     */
+    public static String find(String text) {
+        int start = indexOf(text);
+        return start >= 0 ? text.substring(start, start + LENGTH).toUpperCase(Locale.ROOT) : null;
+    }
+    
+    /**
+     * Text without its ORCID iD, URL prefix and surrounding brackets
+     */
+    public static String strip(String text) {
+        int start = indexOf(text);
+        if (start < 0) {
+            return text;
+        }
+        int end = start + LENGTH;
+        for (String prefix : PREFIXES) {
+            int prefixStart = start - prefix.length();
+            if (prefixStart >= 0 && text.regionMatches(true, prefixStart, prefix, 0, prefix.length())) {
+                start = prefixStart;
+                break;
+            }
+        }
+        if (start > 0 && end < text.length() && isOpeningBracket(text.charAt(start - 1))
+                && isClosingBracket(text.charAt(end))) {
+            start--;
+            end++;
+        }
+        return (text.substring(0, start) + text.substring(end)).trim();
+    }
+    
+    /**
+     * Whether the iD is in canonical form and its check digit matches
+     */
+    public static boolean isValid(String orcid) {
+        return orcid != null && orcid.length() == LENGTH && isValidAt(orcid, 0);
+    }
+    
+    private static int indexOf(String text) {
+        if (text == null) {
+            return -1;
+        }
+        for (int i = 0; i + LENGTH <= text.length(); i++) {
+            if (isValidAt(text, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Checks the dddd-dddd-dddd-dddX layout and the ISO 7064 11,2 check digit at offset
+     */
+    private static boolean isValidAt(String text, int offset) {
+        int total = 0;
+        for (int i = 0; i < LENGTH - 1; i++) {
+            char c = text.charAt(offset + i);
+            if (i % 5 == 4) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (c >= '0' && c <= '9') {
+                total = (total + (c - '0')) * 2;
+            } else {
+                return false;
+            }
+        }
+        int checkDigit = (12 - total % 11) % 11;
+        char last = Character.toUpperCase(text.charAt(offset + LENGTH - 1));
+        return checkDigit == 10 ? last == 'X' : last == (char) ('0' + checkDigit);
+    }
+    
+    private static boolean isOpeningBracket(char c) {
+        return c == '(' || c == '[' || c == '<';
+    }
+    
+    private static boolean isClosingBracket(char c) {
+        return c == ')' || c == ']' || c == '>';
+    }
+}
@@ -0,0 +1,312 @@
+package com.teckiz.journalindex.backfill;
+
+import com.teckiz.journalindex.entity.IndexJournalArticle;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import com.teckiz.journalindex.parser.ArticleStream;
+import com.teckiz.journalindex.service.JsonArticleProcessor;
+import com.teckiz.journalindex.util.EntityKeyGenerator;
+import com.teckiz.journalindex.volume.VolumeIssue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk backfill of a journal archive through LOAD DATA LOCAL INFILE
+ * Articles are normalized exactly like the SQS path and written to TSV staging files, loaded
+ * into temporary staging tables, and merged into IndexJournal, IndexJournalVolume,
+ * IndexJournalArticle and IndexJournalAuthor with a handful of set-based statements in one
+ * transaction. Articles are matched by page URL; a later copy of a page URL in the archive
+ * replaces an earlier one, and optional fields missing from the archive keep their current values.
+ */
+public class ArticleBackfill implements Closeable {
+    
+    private static final Logger logger = LogManager.getLogger(ArticleBackfill.class);
+    
+    private static final String ARTICLE_COLUMNS = "page_url, article_key, title_text, abstract_text, pages, " +
+            "keywords_text, doi, article_type, published_at, vol_number, issue_number, vol_year, has_authors";
+    private static final String AUTHOR_COLUMNS = "article_key, position, name";
+    
+    private final Connection conn;
+    private final Path articleFile;
+    private final Path authorFile;
+    private final StagingFileWriter articleWriter;
+    private final StagingFileWriter authorWriter;
+    private final JsonArticleProcessor articleMapper = new JsonArticleProcessor();
+    
+    private String publisher;
+    private long skipped;
+    
+    /**
+     * Backfill over a connection opened with allowLoadLocalInfileInPath covering workDir
+     */
+    public ArticleBackfill(Connection conn, Path workDir) throws IOException {
+        this.conn = conn;
+        this.articleFile = workDir.resolve("articles.tsv");
+        this.authorFile = workDir.resolve("authors.tsv");
+        this.articleWriter = new StagingFileWriter(articleFile);
+        this.authorWriter = new StagingFileWriter(authorFile);
+    }
+    
+    /**
+     * Normalize a stream of articles into the staging files
+     * Articles without an identifier cannot be matched by page URL and are skipped
+     */
+    public void stage(ArticleStream articles) throws IOException {
+        while (articles.hasNext()) {
+            SqsArticleMessage.ArticleData articleData = articles.next();
+            if (articleData.getIdentifier() == null || articleData.getIdentifier().isBlank()) {
+                skipped++;
+                continue;
+            }
+            if (publisher == null) {
+                publisher = articleData.getPublisher();
+            }
+            
+            IndexJournalArticle article = new IndexJournalArticle();
+            articleMapper.mapArticleFields(article, articleData);
+            String articleKey = EntityKeyGenerator.next("ART");
+            
+            List<String> authorNames = JsonArticleProcessor.splitAuthors(articleData.getCreator());
+            VolumeIssue volumeIssue = articleMapper.extractVolumeIssue(articleData);
+            articleWriter.writeRow(article.getPageURL(), articleKey, article.getTitle(), article.getAbstractText(),
+                    article.getPages(), article.getKeywords(), article.getDoi(), article.getArticleType(),
+                    article.getPublishedAt(), volumeIssue != null ? volumeIssue.getVolume() : null,
+                    volumeIssue != null ? volumeIssue.getIssue() : null,
+                    volumeIssue != null ? volumeIssue.getYear() : null, !authorNames.isEmpty());
+            for (int i = 0; i < authorNames.size(); i++) {
+                authorWriter.writeRow(articleKey, i, authorNames.get(i));
+            }
+            
+            if (articleWriter.getRows() % 10_000 == 0) {
+                logger.info("Staged {} articles", articleWriter.getRows());
+            }
+        }
+    }
+    
+    /**
+     * Load the staging files and merge them into the journal's tables
+     */
+    public Result load(String journalKey, String oaiUrl) throws IOException, SQLException {
+        articleWriter.close();
+        authorWriter.close();
+        logger.info("Staged {} articles and {} authors ({} skipped without identifier)",
+                   articleWriter.getRows(), authorWriter.getRows(), skipped);
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TEMPORARY TABLE BackfillArticleStaging (" +
+                    "page_url VARCHAR(500) NOT NULL PRIMARY KEY, article_key VARCHAR(255) NOT NULL, " +
+                    "title_text TEXT, abstract_text TEXT, pages VARCHAR(255), keywords_text TEXT, " +
+                    "doi VARCHAR(255), article_type VARCHAR(255), published_at DATETIME, vol_number VARCHAR(255), " +
+                    "issue_number VARCHAR(255), vol_year INT, " +
+                    "has_authors TINYINT NOT NULL, volume_id BIGINT, article_id BIGINT, " +
+                    "INDEX idx_backfill_article_key (article_key), INDEX idx_backfill_article_id (article_id)" +
+                    ") DEFAULT CHARSET = utf8mb4");
+            stmt.execute("CREATE TEMPORARY TABLE BackfillAuthorStaging (" +
+                    "article_key VARCHAR(255) NOT NULL, position INT NOT NULL, name VARCHAR(500), " +
+                    "PRIMARY KEY (article_key, position)) DEFAULT CHARSET = utf8mb4");
+            
+            long start = System.currentTimeMillis();
+            // REPLACE keeps the last copy of a page URL; its authors are joined by article_key
+            stmt.execute(loadDataSql(articleFile, "REPLACE", "BackfillArticleStaging", ARTICLE_COLUMNS));
+            stmt.execute(loadDataSql(authorFile, "IGNORE", "BackfillAuthorStaging", AUTHOR_COLUMNS));
+            logger.info("Loaded staging tables in {} ms", System.currentTimeMillis() - start);
+        }
+        
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            Result result = merge(journalKey, oaiUrl);
+            conn.commit();
+            return result;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TEMPORARY TABLE IF EXISTS BackfillArticleStaging, BackfillAuthorStaging");
+            }
+        }
+    }
+    
+    /**
+     * Set-based merge of the staging tables, run inside the caller's transaction
+     */
+    private Result merge(String journalKey, String oaiUrl) throws SQLException {
+        long start = System.currentTimeMillis();
+        Result result = new Result();
+        result.skipped = skipped;
+        
+        // Journal
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO IndexJournal (journal_key, website, publisher, status, created_at, updated_at) " +
+                "SELECT ?, ?, ?, 'received', NOW(), NOW() FROM DUAL " +
+                "WHERE NOT EXISTS (SELECT 1 FROM IndexJournal WHERE journal_key = ?)")) {
+            stmt.setString(1, journalKey);
+            stmt.setString(2, oaiUrl);
+            stmt.setString(3, publisher);
+            stmt.setString(4, journalKey);
+            stmt.executeUpdate();
+        }
+        long journalId;
+        Long companyId = null;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT id, company_id FROM IndexJournal WHERE journal_key = ? LIMIT 1")) {
+            stmt.setString(1, journalKey);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Journal not found after insert: " + journalKey);
+                }
+                journalId = rs.getLong("id");
+                long company = rs.getLong("company_id");
+                if (!rs.wasNull() && company > 0) {
+                    companyId = company;
+                }
+            }
+        }
+        
+        // Volume issues: create the missing ones, then resolve every staged volume/issue pair
+        // (a pair without an issue only matches volume rows without one, like VolumeDao.findOrCreateAll)
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO IndexJournalVolume (index_journal_id, vol_number, issue_number, published_at, " +
+                "created_at, updated_at) " +
+                "SELECT ?, s.vol_number, s.issue_number, MAKEDATE(s.vol_year, 1), NOW(), NOW() " +
+                "FROM (SELECT vol_number, issue_number, MIN(vol_year) AS vol_year FROM BackfillArticleStaging " +
+                "WHERE vol_number IS NOT NULL GROUP BY vol_number, issue_number) s " +
+                "WHERE NOT EXISTS (SELECT 1 FROM IndexJournalVolume v " +
+                "WHERE v.index_journal_id = ? AND v.vol_number = s.vol_number AND v.issue_number <=> s.issue_number)")) {
+            stmt.setLong(1, journalId);
+            stmt.setLong(2, journalId);
+            result.volumesCreated = stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE BackfillArticleStaging s SET s.volume_id = (SELECT MIN(v.id) FROM IndexJournalVolume v " +
+                "WHERE v.index_journal_id = ? AND v.vol_number = s.vol_number AND v.issue_number <=> s.issue_number) " +
+                "WHERE s.vol_number IS NOT NULL")) {
+            stmt.setLong(1, journalId);
+            stmt.executeUpdate();
+        }
+        
+        // Existing articles, matched by page URL (first by id, like ArticleDao.findByPageURL)
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE BackfillArticleStaging s SET s.article_id = " +
+                    "(SELECT MIN(a.id) FROM IndexJournalArticle a WHERE a.page_url = s.page_url)");
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "UPDATE IndexJournalArticle a JOIN BackfillArticleStaging s ON a.id = s.article_id SET " +
+                "a.title_text = s.title_text, a.abstract_text = s.abstract_text, a.page_url = s.page_url, " +
+                "a.pages = COALESCE(s.pages, a.pages), a.keywords_text = COALESCE(s.keywords_text, a.keywords_text), " +
+                "a.doi = COALESCE(s.doi, a.doi), a.article_type = COALESCE(s.article_type, a.article_type), " +
+                "a.published_at = COALESCE(s.published_at, a.published_at), " +
+                "a.index_journal_volume_id = COALESCE(s.volume_id, a.index_journal_volume_id), " +
+                "a.company_id = COALESCE(?, a.company_id), a.updated_at = NOW()")) {
+            setCompany(stmt, 1, companyId);
+            result.articlesUpdated = stmt.executeUpdate();
+        }
+        
+        // New articles, then their generated ids by client-side article_key
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO IndexJournalArticle (article_key, title_text, abstract_text, page_url, pages, " +
+                "keywords_text, doi, article_type, published_at, received_at, updated_at, " +
+                "index_journal_volume_id, company_id) " +
+                "SELECT s.article_key, s.title_text, s.abstract_text, s.page_url, s.pages, s.keywords_text, " +
+                "s.doi, s.article_type, s.published_at, NOW(), NOW(), s.volume_id, ? " +
+                "FROM BackfillArticleStaging s WHERE s.article_id IS NULL")) {
+            setCompany(stmt, 1, companyId);
+            result.articlesCreated = stmt.executeUpdate();
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE BackfillArticleStaging s JOIN IndexJournalArticle a ON a.article_key = s.article_key " +
+                    "SET s.article_id = a.id WHERE s.article_id IS NULL");
+            
+            // Authors replace the existing ones of every article that has authors in the archive
+            stmt.executeUpdate("DELETE au FROM IndexJournalAuthor au JOIN BackfillArticleStaging s " +
+                    "ON au.index_journal_article_id = s.article_id WHERE s.has_authors = 1");
+            result.authorsWritten = stmt.executeUpdate("INSERT INTO IndexJournalAuthor (index_journal_article_id, name) " +
+                    "SELECT s.article_id, t.name FROM BackfillAuthorStaging t " +
+                    "JOIN BackfillArticleStaging s ON s.article_key = t.article_key " +
+                    "ORDER BY s.article_id, t.position");
+            
+            try (ResultSet rs = stmt.executeQuery("SELECT article_id FROM BackfillArticleStaging")) {
+                while (rs.next()) {
+                    result.articleIds.add(rs.getLong("article_id"));
+                }
+            }
+        }
+        
+        logger.info("Merged staging tables into journal {} (ID: {}) in {} ms", journalKey, journalId,
+                   System.currentTimeMillis() - start);
+        return result;
+    }
+    
+    /**
+     * Delete the staging files
+     */
+    @Override
+    public void close() throws IOException {
+        articleWriter.close();
+        authorWriter.close();
+        Files.deleteIfExists(articleFile);
+        Files.deleteIfExists(authorFile);
+    }
+    
+    private static void setCompany(PreparedStatement stmt, int index, Long companyId) throws SQLException {
+        if (companyId != null) {
+            stmt.setLong(index, companyId);
+        } else {
+            stmt.setNull(index, Types.BIGINT);
+        }
+    }
+    
+    static String loadDataSql(Path file, String duplicates, String table, String columns) {
+        String path = file.toAbsolutePath().toString().replace("\\", "\\\\").replace("'", "\\'");
+        return "LOAD DATA LOCAL INFILE '" + path + "' " + duplicates + " INTO TABLE " + table +
+               " CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' " +
+               "LINES TERMINATED BY '\\n' (" + columns + ")";
+    }
+    
+    /**
+     * Row counts of one backfill run
+     */
+    public static class Result {
+        
+        private long skipped;
+        private int volumesCreated;
+        private int articlesCreated;
+        private int articlesUpdated;
+        private int authorsWritten;
+        private final List<Long> articleIds = new ArrayList<>();
+        
+        public int getArticlesCreated() {
+            return articlesCreated;
+        }
+        
+        public int getArticlesUpdated() {
+            return articlesUpdated;
+        }
+        
+        public int getAuthorsWritten() {
+            return authorsWritten;
+        }
+        
+        /**
+         * Ids of every created or updated article
+         */
+        public List<Long> getArticleIds() {
+            return articleIds;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Backfill complete: %d articles created, %d updated, %d authors, %d volumes created, %d skipped",
+                    articlesCreated, articlesUpdated, authorsWritten, volumesCreated, skipped);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.teckiz.journalindex.backfill;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.teckiz.journalindex.blob.LocalFileBlobSource;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import com.teckiz.journalindex.parser.ArticleStream;
+import com.teckiz.journalindex.search.ArticleSearch;
+import com.teckiz.journalindex.search.MySqlFullTextIndex;
+import com.teckiz.journalindex.service.ClaimCheckLoader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line entry point for the LOAD DATA backfill of a journal archive
+ *
+ * java -cp journal-index-integration.jar com.teckiz.journalindex.backfill.BackfillCli \
+ *     --journal-key KEY [--oai-url URL] [--jdbc-url URL] FILE...
+ *
+ * FILE is an ArticleBatch JSON message, a JSON array of articles or an OAI-PMH ListRecords
+ * document, optionally gzipped. The JDBC URL defaults to BACKFILL_JDBC_URL (or DB_URL when it
+ * is a jdbc: URL); credentials come from DB_USERNAME and DB_PASSWORD. The server must allow
+ * local_infile.
+ */
+public class BackfillCli {
+    
+    private static final Logger logger = LogManager.getLogger(BackfillCli.class);
+    
+    private static final String USAGE = "Usage: BackfillCli --journal-key KEY [--oai-url URL] [--jdbc-url URL] FILE...";
+    
+    public static void main(String[] args) {
+        String journalKey = null;
+        String oaiUrl = null;
+        String jdbcUrl = System.getenv("BACKFILL_JDBC_URL");
+        if (jdbcUrl == null || jdbcUrl.isBlank()) {
+            String dbUrl = System.getenv("DB_URL");
+            jdbcUrl = dbUrl != null && dbUrl.startsWith("jdbc:") ? dbUrl : null;
+        }
+        List<Path> files = new ArrayList<>();
+        
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--journal-key":
+                    journalKey = valueOf(args, ++i);
+                    break;
+                case "--oai-url":
+                    oaiUrl = valueOf(args, ++i);
+                    break;
+                case "--jdbc-url":
+                    jdbcUrl = valueOf(args, ++i);
+                    break;
+                default:
+                    files.add(Paths.get(args[i]));
+            }
+        }
+        if (journalKey == null || jdbcUrl == null || files.isEmpty()) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        
+        try {
+            System.out.println(run(journalKey, oaiUrl, jdbcUrl, files));
+        } catch (Exception e) {
+            logger.error("Backfill failed for journal {}", journalKey, e);
+            System.err.println("Backfill failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Stage every file and merge them in one load
+     */
+    static ArticleBackfill.Result run(String journalKey, String oaiUrl, String jdbcUrl, List<Path> files) throws Exception {
+        Path workDir = Files.createTempDirectory("journal-backfill");
+        ObjectReader reader = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .readerFor(SqsArticleMessage.class);
+        
+        String username = System.getenv("DB_USERNAME");
+        String password = System.getenv("DB_PASSWORD");
+        ArticleBackfill.Result result;
+        
+        try (Connection conn = DriverManager.getConnection(withLocalInfile(jdbcUrl, workDir), username, password);
+             ArticleBackfill backfill = new ArticleBackfill(conn, workDir)) {
+            
+            for (Path file : files) {
+                logger.info("Staging {}", file);
+                SqsArticleMessage message = new SqsArticleMessage();
+                message.setJournalKey(journalKey);
+                message.setS3Key(file.getFileName().toString());
+                
+                Path directory = file.toAbsolutePath().getParent();
+                ClaimCheckLoader loader = new ClaimCheckLoader(new LocalFileBlobSource(directory));
+                try (ArticleStream articles = loader.openArticles(message, reader)) {
+                    backfill.stage(articles);
+                }
+            }
+            result = backfill.load(journalKey, oaiUrl);
+            
+        } finally {
+            Files.deleteIfExists(workDir);
+        }
+        
+        if (ArticleSearch.isEnabled()) {
+            new MySqlFullTextIndex(() -> DriverManager.getConnection(jdbcUrl, username, password))
+                    .reindex(result.getArticleIds());
+        }
+        return result;
+    }
+    
+    /**
+     * Allow LOAD DATA LOCAL only for files under the staging directory
+     */
+    static String withLocalInfile(String jdbcUrl, Path workDir) {
+        String separator = jdbcUrl.contains("?") ? "&" : "?";
+        return jdbcUrl + separator + "allowLoadLocalInfileInPath=" + workDir.toAbsolutePath();
+    }
+    
+    private static String valueOf(String[] args, int index) {
+        if (index >= args.length) {
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        return args[index];
+    }
+}
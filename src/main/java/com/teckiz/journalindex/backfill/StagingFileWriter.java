@@ -0,0 +1,89 @@
+package com.teckiz.journalindex.backfill;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes rows in the default LOAD DATA text format: tab-separated fields, newline-terminated
+ * lines, backslash escapes and \N for NULL. The file is UTF-8 and is loaded with
+ * CHARACTER SET utf8mb4.
+ */
+public class StagingFileWriter implements Closeable {
+    
+    private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private final Writer writer;
+    private long rows;
+    
+    public StagingFileWriter(Path file) throws IOException {
+        this(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+    }
+    
+    StagingFileWriter(Writer writer) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+    }
+    
+    /**
+     * Write one row; values may be null, String, Number, Boolean or LocalDateTime
+     */
+    public void writeRow(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write('\t');
+            }
+            writeField(values[i]);
+        }
+        writer.write('\n');
+        rows++;
+    }
+    
+    public long getRows() {
+        return rows;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+    
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            writer.write("\\N");
+        } else if (value instanceof Boolean) {
+            writer.write((Boolean) value ? '1' : '0');
+        } else if (value instanceof LocalDateTime) {
+            writer.write(DATETIME_FORMAT.format((LocalDateTime) value));
+        } else {
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\':
+                        writer.write("\\\\");
+                        break;
+                    case '\t':
+                        writer.write("\\t");
+                        break;
+                    case '\n':
+                        writer.write("\\n");
+                        break;
+                    case '\r':
+                        writer.write("\\r");
+                        break;
+                    case '\0':
+                        writer.write("\\0");
+                        break;
+                    default:
+                        writer.write(c);
+                }
+            }
+        }
+    }
+}
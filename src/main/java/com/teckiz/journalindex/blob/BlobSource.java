@@ -0,0 +1,31 @@
+package com.teckiz.journalindex.blob;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Source of claim-check payloads referenced by SQS messages (s3Key / s3Url)
+ * Implementations return the raw stored bytes; gzip decoding and format detection
+ * are left to the caller so payloads are never fully buffered in memory.
+ */
+public interface BlobSource {
+    
+    /**
+     * Open a stream over the blob stored at the given key or URL
+     */
+    InputStream open(String location) throws IOException;
+    
+    /**
+     * Create the blob source configured through environment variables
+     * BLOB_SOURCE=local reads from BLOB_LOCAL_ROOT, anything else reads over HTTP from
+     * BLOB_ENDPOINT (an S3-compatible endpoint such as MinIO) and the S3_BUCKET_NAME bucket
+     */
+    static BlobSource fromEnvironment() {
+        String type = System.getenv("BLOB_SOURCE");
+        if ("local".equalsIgnoreCase(type)) {
+            String root = System.getenv("BLOB_LOCAL_ROOT");
+            return new LocalFileBlobSource(java.nio.file.Paths.get(root != null && !root.isBlank() ? root : "."));
+        }
+        return new HttpBlobSource(System.getenv("BLOB_ENDPOINT"), System.getenv("S3_BUCKET_NAME"));
+    }
+}
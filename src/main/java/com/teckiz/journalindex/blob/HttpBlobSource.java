@@ -0,0 +1,81 @@
+package com.teckiz.journalindex.blob;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Blob source reading over HTTP from an S3-compatible endpoint (e.g. MinIO)
+ * Absolute http(s) URLs such as pre-signed s3Url values are fetched as-is; plain keys
+ * are fetched path-style from endpoint/bucket/key. The response body is streamed.
+ */
+public class HttpBlobSource implements BlobSource {
+    
+    private static final Logger logger = LogManager.getLogger(HttpBlobSource.class);
+    
+    private final String endpoint;
+    private final String bucket;
+    private final HttpClient httpClient;
+    
+    public HttpBlobSource(String endpoint, String bucket) {
+        this.endpoint = endpoint != null ? endpoint.replaceAll("/+$", "") : null;
+        this.bucket = bucket;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+    
+    @Override
+    public InputStream open(String location) throws IOException {
+        URI uri = resolve(location);
+        logger.debug("Fetching blob: {}", uri);
+        
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching blob: " + location, e);
+        }
+        
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Failed to fetch blob " + location + ": HTTP " + response.statusCode());
+        }
+        return response.body();
+    }
+    
+    private URI resolve(String location) throws IOException {
+        if (location.startsWith("http://") || location.startsWith("https://")) {
+            return URI.create(location);
+        }
+        String blobBucket = bucket;
+        String key = location;
+        if (location.startsWith("s3://")) {
+            URI s3Uri = URI.create(location);
+            blobBucket = s3Uri.getHost();
+            key = s3Uri.getPath();
+        }
+        if (endpoint == null || endpoint.isBlank() || blobBucket == null || blobBucket.isBlank()) {
+            throw new IOException("BLOB_ENDPOINT and S3_BUCKET_NAME are required to fetch blob key: " + location);
+        }
+        
+        while (key.startsWith("/")) {
+            key = key.substring(1);
+        }
+        return URI.create(endpoint + "/" + blobBucket + "/" + key);
+    }
+}
@@ -0,0 +1,48 @@
+package com.teckiz.journalindex.blob;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+/**
+ * Blob source backed by a local directory
+ * Keys resolve relative to the root; for s3:// or http(s):// URLs the URL path is used as the key
+ */
+public class LocalFileBlobSource implements BlobSource {
+    
+    private static final Logger logger = LogManager.getLogger(LocalFileBlobSource.class);
+    
+    private final Path root;
+    
+    public LocalFileBlobSource(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+    
+    @Override
+    public InputStream open(String location) throws IOException {
+        String key = location;
+        if (location.contains("://")) {
+            key = URI.create(location).getPath();
+        }
+        while (key.startsWith("/")) {
+            key = key.substring(1);
+        }
+        
+        Path file = root.resolve(key).normalize();
+        if (!file.startsWith(root)) {
+            throw new IOException("Blob key escapes the blob root: " + location);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchFileException(file.toString());
+        }
+        
+        logger.debug("Opening local blob: {}", file);
+        return Files.newInputStream(file);
+    }
+}
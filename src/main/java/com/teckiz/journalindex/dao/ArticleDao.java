@@ -1,14 +1,25 @@
 package com.teckiz.journalindex.dao;
 
 import com.teckiz.journalindex.db.DatabaseManager;
+import com.teckiz.journalindex.db.ReadConsistency;
 import com.teckiz.journalindex.entity.IndexJournalArticle;
+import com.teckiz.journalindex.reference.ReferenceDataCache;
+import com.teckiz.journalindex.search.ArticleSearch;
+import com.teckiz.journalindex.util.EntityKeyGenerator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Lightweight DAO for Article operations using plain JDBC
@@ -17,14 +28,43 @@ public class ArticleDao {
     
     private static final Logger logger = LogManager.getLogger(ArticleDao.class);
     
+    // Page URLs per IN (...) lookup
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+    
+    // Rows per multi-row INSERT; abstracts are large, so this stays well below max_allowed_packet
+    private static final int INSERT_CHUNK_SIZE = 100;
+    
+    // index_language_id and index_country_id exist only once added by hand (REFERENCE_TAGGING_ENABLED)
+    private static final boolean REFERENCE_COLUMNS = ReferenceDataCache.isTaggingEnabled();
+    
+    private static final String INSERT_COLUMNS = "INSERT INTO IndexJournalArticle " +
+            "(article_key, title_text, abstract_text, page_url, pages, keywords_text, " +
+            "doi, publisher_record_id, article_type, published_at, received_at, updated_at, " +
+            "index_journal_volume_id, company_id" +
+            (REFERENCE_COLUMNS ? ", index_language_id, index_country_id" : "") + ") VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW(), ?, ?" +
+            (REFERENCE_COLUMNS ? ", ?, ?" : "") + ")";
+    private static final int INSERT_PARAMETERS = REFERENCE_COLUMNS ? 14 : 12;
+    
+    private static final String UPDATE_SQL = "UPDATE IndexJournalArticle SET " +
+            "title_text = ?, abstract_text = ?, page_url = ?, pages = ?, keywords_text = ?, " +
+            "doi = ?, publisher_record_id = ?, article_type = ?, published_at = ?, updated_at = NOW(), " +
+            "index_journal_volume_id = ?, company_id = ?" +
+            (REFERENCE_COLUMNS ? ", index_language_id = ?, index_country_id = ?" : "") + " WHERE id = ?";
+    
+    private static final String ARTICLE_COLUMNS = "id, article_key, title_text, abstract_text, page_url, pages, keywords_text, " +
+            "doi, publisher_record_id, article_type, published_at, received_at, updated_at, " +
+            "index_journal_volume_id, company_id" + (REFERENCE_COLUMNS ? ", index_language_id, index_country_id" : "");
+    
+    private static final String SELECT_COLUMNS = "SELECT " + ARTICLE_COLUMNS + " FROM IndexJournalArticle";
+    
+    public static final int MAX_PAGE_SIZE = 500;
+    
     /**
      * Find article by page URL (returns first if multiple exist)
      */
     public static Optional<IndexJournalArticle> findByPageURL(String pageURL) {
-        String sql = "SELECT id, article_key, title_text, abstract_text, page_url, pages, keywords_text, " +
-                     "doi, publisher_record_id, article_type, published_at, received_at, updated_at, " +
-                     "index_journal_volume_id, company_id " +
-                     "FROM IndexJournalArticle WHERE page_url = ? ORDER BY id ASC LIMIT 1";
+        String sql = SELECT_COLUMNS + " WHERE page_url = ? ORDER BY id ASC LIMIT 1";
         
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -48,64 +88,211 @@ public class ArticleDao {
     }
     
     /**
-     * Save article (insert or update)
+     * Find articles by page URL in one query per chunk of URLs
+     * Returns the first article (lowest ID) per URL; URLs without an article are absent from the map
+     * Always reads the primary: writers call it right before deciding between insert and update.
      */
-    public static IndexJournalArticle save(IndexJournalArticle article) {
-        if (article.getId() == null) {
-            return insert(article);
-        } else {
-            return update(article);
+    public static Map<String, IndexJournalArticle> findByPageURLs(Collection<String> pageURLs) {
+        Map<String, IndexJournalArticle> articles = new HashMap<>();
+        List<String> urls = new ArrayList<>(new LinkedHashSet<>(pageURLs));
+        
+        for (int from = 0; from < urls.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = urls.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, urls.size()));
+            String sql = SELECT_COLUMNS + " WHERE page_url IN (" + placeholders(chunk.size()) + ") ORDER BY id ASC";
+            
+            try (Connection conn = DatabaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setString(i + 1, chunk.get(i));
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        IndexJournalArticle article = mapResultSetToArticle(rs);
+                        articles.putIfAbsent(article.getPageURL(), article);
+                    }
+                }
+                
+            } catch (SQLException e) {
+                logger.error("Error finding {} articles by page URL", chunk.size(), e);
+                throw new RuntimeException("Failed to find articles: " + e.getMessage(), e);
+            }
         }
+        
+        logger.debug("Found {} of {} articles by page URL", articles.size(), urls.size());
+        return articles;
     }
     
     /**
-     * Insert new article
+     * Articles of a company, one keyset page at a time (ordered by id)
+     * Pass null as cursor for the first page, then the returned page's next cursor.
      */
-    private static IndexJournalArticle insert(IndexJournalArticle article) {
-        String sql = "INSERT INTO IndexJournalArticle " +
-                     "(article_key, title_text, abstract_text, page_url, pages, keywords_text, " +
-                     "doi, publisher_record_id, article_type, published_at, received_at, updated_at, " +
-                     "index_journal_volume_id, company_id) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW(), ?, ?)";
+    public static KeysetPage<IndexJournalArticle> findPageByCompanyId(Long companyId, String cursor, int pageSize) {
+        return findPage("company_id = ?", List.of(companyId), cursor, pageSize);
+    }
+    
+    /**
+     * Articles published after a date, one keyset page at a time (ordered by published_at, then id)
+     */
+    public static KeysetPage<IndexJournalArticle> findPageByPublishedAtAfter(LocalDateTime publishedAt, String cursor, int pageSize) {
+        return findPageByPublishedAt("published_at > ?", List.of(Timestamp.valueOf(publishedAt)), cursor, pageSize);
+    }
+    
+    /**
+     * Articles published between two dates (inclusive), one keyset page at a time
+     * (ordered by published_at, then id)
+     */
+    public static KeysetPage<IndexJournalArticle> findPageByPublishedAtBetween(LocalDateTime startDate, LocalDateTime endDate,
+                                                                               String cursor, int pageSize) {
+        return findPageByPublishedAt("published_at BETWEEN ? AND ?",
+                List.of(Timestamp.valueOf(startDate), Timestamp.valueOf(endDate)), cursor, pageSize);
+    }
+    
+    /**
+     * One keyset page filtered by predicate and ordered by id
+     */
+    private static KeysetPage<IndexJournalArticle> findPage(String predicate, List<Object> parameters, String cursor, int pageSize) {
+        List<Object> keysetParameters = new ArrayList<>(parameters);
+        keysetParameters.add(KeysetPage.decodeCursor(cursor));
+        return readPage(predicate + " AND id > ?", keysetParameters, "id ASC", pageSize,
+                last -> KeysetPage.encodeCursor(last.getId()));
+    }
+    
+    /**
+     * One keyset page filtered by a published_at range and ordered by (published_at, id)
+     * The range and the keyset continue on the same (published_at, id) index, so a page never
+     * sorts or skips the rows of earlier pages.
+     */
+    private static KeysetPage<IndexJournalArticle> findPageByPublishedAt(String range, List<Object> parameters, String cursor,
+                                                                         int pageSize) {
+        KeysetPage.Position after = KeysetPage.decodeTimeCursor(cursor);
+        List<Object> keysetParameters = new ArrayList<>(parameters);
+        String predicate = range;
+        if (after != null) {
+            predicate += " AND (published_at, id) > (?, ?)";
+            keysetParameters.add(Timestamp.valueOf(after.getValue()));
+            keysetParameters.add(after.getId());
+        }
+        return readPage(predicate, keysetParameters, "published_at ASC, id ASC", pageSize,
+                last -> KeysetPage.encodeCursor(last.getPublishedAt(), last.getId()));
+    }
+    
+    /**
+     * Run one keyset page of SELECT_COLUMNS; one extra row tells whether another page follows
+     */
+    private static KeysetPage<IndexJournalArticle> readPage(String predicate, List<Object> parameters, String orderBy,
+                                                            int pageSize, Function<IndexJournalArticle, String> cursorOf) {
+        int limit = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        String sql = SELECT_COLUMNS + " WHERE " + predicate + " ORDER BY " + orderBy + " LIMIT ?";
+        
+        List<IndexJournalArticle> articles = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection(ReadConsistency.EVENTUAL);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            for (Object parameter : parameters) {
+                stmt.setObject(index++, parameter);
+            }
+            stmt.setInt(index, limit + 1);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    articles.add(mapResultSetToArticle(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error reading article page ({})", predicate, e);
+            throw new RuntimeException("Failed to read articles: " + e.getMessage(), e);
+        }
+        
+        String nextCursor = null;
+        if (articles.size() > limit) {
+            articles.remove(limit);
+            nextCursor = cursorOf.apply(articles.get(limit - 1));
+        }
+        return new KeysetPage<>(articles, nextCursor);
+    }
+    
+    /**
+     * Update existing articles with one JDBC batch in a single transaction
+     * Rolls back and throws when any row was not found, as the single-row update does
+     */
+    public static void updateAll(List<IndexJournalArticle> articles) {
+        if (articles.isEmpty()) {
+            return;
+        }
         
         try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
             
             conn.setAutoCommit(false);
             
             try {
-                // Generate article key if not set
-                if (article.getArticleKey() == null || article.getArticleKey().isEmpty()) {
-                    article.setArticleKey("ART_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000));
+                for (IndexJournalArticle article : articles) {
+                    bindUpdate(stmt, article);
+                    stmt.addBatch();
                 }
-                
-                stmt.setString(1, article.getArticleKey());
-                stmt.setString(2, article.getTitle());
-                stmt.setString(3, article.getAbstractText());
-                stmt.setString(4, article.getPageURL());
-                stmt.setString(5, article.getPages());
-                stmt.setString(6, article.getKeywords());
-                stmt.setString(7, article.getDoi());
-                stmt.setString(8, article.getPublisherRecordId());
-                stmt.setString(9, article.getArticleType());
-                
-                if (article.getPublishedAt() != null) {
-                    stmt.setTimestamp(10, Timestamp.valueOf(article.getPublishedAt()));
-                } else {
-                    stmt.setNull(10, Types.TIMESTAMP);
+                // A row deleted or re-keyed since the prefetch updates nothing; like update(), treat that as
+                // an error so the caller falls back to saving one by one and the missing row fails on its own
+                int[] counts = stmt.executeBatch();
+                List<Long> missing = new ArrayList<>();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        missing.add(articles.get(i).getId());
+                    }
                 }
-                
-                if (article.getIndexJournalVolume() != null && article.getIndexJournalVolume().getId() != null) {
-                    stmt.setLong(11, article.getIndexJournalVolume().getId());
-                } else {
-                    stmt.setNull(11, Types.BIGINT);
+                if (!missing.isEmpty()) {
+                    throw new SQLException("Updating articles failed, no rows affected for ids " + missing);
                 }
+                conn.commit();
                 
-                if (article.getCompany() != null && article.getCompany().getId() != null) {
-                    stmt.setLong(12, article.getCompany().getId());
-                } else {
-                    stmt.setNull(12, Types.BIGINT);
+                LocalDateTime now = LocalDateTime.now();
+                for (IndexJournalArticle article : articles) {
+                    article.setUpdatedAt(now);
                 }
+                logger.info("Updated {} articles in one batch", articles.size());
+                ArticleSearch.index().articlesSaved(articles);
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error updating {} articles", articles.size(), e);
+            throw new RuntimeException("Failed to update articles: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Save article (insert or update)
+     */
+    public static IndexJournalArticle save(IndexJournalArticle article) {
+        IndexJournalArticle saved;
+        if (article.getId() == null) {
+            saved = insert(article);
+        } else {
+            saved = update(article);
+        }
+        ArticleSearch.index().articlesSaved(Collections.singletonList(saved));
+        return saved;
+    }
+    
+    /**
+     * Insert new article
+     */
+    private static IndexJournalArticle insert(IndexJournalArticle article) {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_COLUMNS + INSERT_ROW, Statement.RETURN_GENERATED_KEYS)) {
+            
+            conn.setAutoCommit(false);
+            
+            try {
+                bindInsert(stmt, 0, article);
                 
                 int rowsAffected = stmt.executeUpdate();
                 if (rowsAffected == 0) {
@@ -144,49 +331,106 @@ public class ArticleDao {
     }
     
     /**
-     * Update existing article
+     * Insert many new articles with one multi-row INSERT per chunk, in a single transaction
+     * Generated ids are mapped back by position, or re-selected by article_key when the driver
+     * result cannot be mapped one to one. On failure nothing is inserted and no ids are set.
      */
-    private static IndexJournalArticle update(IndexJournalArticle article) {
-        String sql = "UPDATE IndexJournalArticle SET " +
-                     "title_text = ?, abstract_text = ?, page_url = ?, pages = ?, keywords_text = ?, " +
-                     "doi = ?, publisher_record_id = ?, article_type = ?, published_at = ?, updated_at = NOW(), " +
-                     "index_journal_volume_id = ?, company_id = ? " +
-                     "WHERE id = ?";
+    public static void insertAll(List<IndexJournalArticle> articles) {
+        if (articles.isEmpty()) {
+            return;
+        }
         
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseManager.getConnection()) {
             
             conn.setAutoCommit(false);
             
             try {
-                stmt.setString(1, article.getTitle());
-                stmt.setString(2, article.getAbstractText());
-                stmt.setString(3, article.getPageURL());
-                stmt.setString(4, article.getPages());
-                stmt.setString(5, article.getKeywords());
-                stmt.setString(6, article.getDoi());
-                stmt.setString(7, article.getPublisherRecordId());
-                stmt.setString(8, article.getArticleType());
-                
-                if (article.getPublishedAt() != null) {
-                    stmt.setTimestamp(9, Timestamp.valueOf(article.getPublishedAt()));
-                } else {
-                    stmt.setNull(9, Types.TIMESTAMP);
+                for (int from = 0; from < articles.size(); from += INSERT_CHUNK_SIZE) {
+                    insertChunk(conn, articles.subList(from, Math.min(from + INSERT_CHUNK_SIZE, articles.size())));
                 }
-                
-                if (article.getIndexJournalVolume() != null && article.getIndexJournalVolume().getId() != null) {
-                    stmt.setLong(10, article.getIndexJournalVolume().getId());
-                } else {
-                    stmt.setNull(10, Types.BIGINT);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                articles.forEach(article -> article.setId(null));
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            
+            LocalDateTime now = LocalDateTime.now();
+            for (IndexJournalArticle article : articles) {
+                article.setReceivedAt(now);
+                article.setUpdatedAt(now);
+            }
+            logger.info("Created {} articles in {} statements", articles.size(),
+                       (articles.size() + INSERT_CHUNK_SIZE - 1) / INSERT_CHUNK_SIZE);
+            ArticleSearch.index().articlesSaved(articles);
+            
+        } catch (SQLException e) {
+            logger.error("Error creating {} articles", articles.size(), e);
+            throw new RuntimeException("Failed to create articles: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Insert one chunk of articles and assign their generated ids
+     */
+    private static void insertChunk(Connection conn, List<IndexJournalArticle> chunk) throws SQLException {
+        String sql = INSERT_COLUMNS + GeneratedKeys.values(INSERT_ROW, chunk.size());
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < chunk.size(); i++) {
+                bindInsert(stmt, i * INSERT_PARAMETERS, chunk.get(i));
+            }
+            
+            int rowsAffected = stmt.executeUpdate();
+            List<Long> ids = GeneratedKeys.read(stmt, rowsAffected, chunk.size());
+            if (ids != null) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    chunk.get(i).setId(ids.get(i));
                 }
-                
-                if (article.getCompany() != null && article.getCompany().getId() != null) {
-                    stmt.setLong(11, article.getCompany().getId());
-                } else {
-                    stmt.setNull(11, Types.BIGINT);
+                return;
+            }
+        }
+        
+        logger.warn("Generated ids of {} inserted articles could not be mapped by position, re-selecting by key", chunk.size());
+        Map<String, IndexJournalArticle> byKey = new HashMap<>();
+        chunk.forEach(article -> byKey.put(article.getArticleKey(), article));
+        
+        String selectSql = "SELECT id, article_key FROM IndexJournalArticle WHERE article_key IN (" + placeholders(byKey.size()) + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+            int index = 1;
+            for (String articleKey : byKey.keySet()) {
+                stmt.setString(index++, articleKey);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    IndexJournalArticle article = byKey.get(rs.getString("article_key"));
+                    if (article != null) {
+                        article.setId(rs.getLong("id"));
+                    }
                 }
-                
-                stmt.setLong(12, article.getId());
+            }
+        }
+        
+        for (IndexJournalArticle article : chunk) {
+            if (article.getId() == null) {
+                throw new SQLException("Creating article failed, no ID obtained for key " + article.getArticleKey());
+            }
+        }
+    }
+    
+    /**
+     * Update existing article
+     */
+    private static IndexJournalArticle update(IndexJournalArticle article) {
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
+            
+            conn.setAutoCommit(false);
+            
+            try {
+                bindUpdate(stmt, article);
                 
                 int rowsAffected = stmt.executeUpdate();
                 if (rowsAffected == 0) {
@@ -212,6 +456,100 @@ public class ArticleDao {
         }
     }
     
+    /**
+     * Bind the INSERT_ROW parameters of an article after offset parameters
+     * Articles without a key get one here, so every inserted row has a client-side key
+     */
+    private static void bindInsert(PreparedStatement stmt, int offset, IndexJournalArticle article) throws SQLException {
+        if (article.getArticleKey() == null || article.getArticleKey().isEmpty()) {
+            article.setArticleKey(EntityKeyGenerator.next("ART"));
+        }
+        
+        stmt.setString(offset + 1, article.getArticleKey());
+        stmt.setString(offset + 2, article.getTitle());
+        stmt.setString(offset + 3, article.getAbstractText());
+        stmt.setString(offset + 4, article.getPageURL());
+        stmt.setString(offset + 5, article.getPages());
+        stmt.setString(offset + 6, article.getKeywords());
+        stmt.setString(offset + 7, article.getDoi());
+        stmt.setString(offset + 8, article.getPublisherRecordId());
+        stmt.setString(offset + 9, article.getArticleType());
+        
+        if (article.getPublishedAt() != null) {
+            stmt.setTimestamp(offset + 10, Timestamp.valueOf(article.getPublishedAt()));
+        } else {
+            stmt.setNull(offset + 10, Types.TIMESTAMP);
+        }
+        
+        if (article.getIndexJournalVolume() != null && article.getIndexJournalVolume().getId() != null) {
+            stmt.setLong(offset + 11, article.getIndexJournalVolume().getId());
+        } else {
+            stmt.setNull(offset + 11, Types.BIGINT);
+        }
+        
+        if (article.getCompany() != null && article.getCompany().getId() != null) {
+            stmt.setLong(offset + 12, article.getCompany().getId());
+        } else {
+            stmt.setNull(offset + 12, Types.BIGINT);
+        }
+        
+        if (REFERENCE_COLUMNS) {
+            setNullableLong(stmt, offset + 13, article.getLanguageId());
+            setNullableLong(stmt, offset + 14, article.getCountryId());
+        }
+    }
+    
+    /**
+     * Bind the UPDATE_SQL parameters of an article
+     */
+    private static void bindUpdate(PreparedStatement stmt, IndexJournalArticle article) throws SQLException {
+        stmt.setString(1, article.getTitle());
+        stmt.setString(2, article.getAbstractText());
+        stmt.setString(3, article.getPageURL());
+        stmt.setString(4, article.getPages());
+        stmt.setString(5, article.getKeywords());
+        stmt.setString(6, article.getDoi());
+        stmt.setString(7, article.getPublisherRecordId());
+        stmt.setString(8, article.getArticleType());
+        
+        if (article.getPublishedAt() != null) {
+            stmt.setTimestamp(9, Timestamp.valueOf(article.getPublishedAt()));
+        } else {
+            stmt.setNull(9, Types.TIMESTAMP);
+        }
+        
+        if (article.getIndexJournalVolume() != null && article.getIndexJournalVolume().getId() != null) {
+            stmt.setLong(10, article.getIndexJournalVolume().getId());
+        } else {
+            stmt.setNull(10, Types.BIGINT);
+        }
+        
+        if (article.getCompany() != null && article.getCompany().getId() != null) {
+            stmt.setLong(11, article.getCompany().getId());
+        } else {
+            stmt.setNull(11, Types.BIGINT);
+        }
+        
+        int index = 12;
+        if (REFERENCE_COLUMNS) {
+            setNullableLong(stmt, index++, article.getLanguageId());
+            setNullableLong(stmt, index++, article.getCountryId());
+        }
+        stmt.setLong(index, article.getId());
+    }
+    
+    private static void setNullableLong(PreparedStatement stmt, int index, Long value) throws SQLException {
+        if (value != null) {
+            stmt.setLong(index, value);
+        } else {
+            stmt.setNull(index, Types.BIGINT);
+        }
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
     /**
      * Map ResultSet to IndexJournalArticle entity
      */
@@ -228,6 +566,13 @@ public class ArticleDao {
         article.setPublisherRecordId(rs.getString("publisher_record_id"));
         article.setArticleType(rs.getString("article_type"));
         
+        if (REFERENCE_COLUMNS) {
+            long languageId = rs.getLong("index_language_id");
+            article.setLanguageId(rs.wasNull() ? null : languageId);
+            long countryId = rs.getLong("index_country_id");
+            article.setCountryId(rs.wasNull() ? null : countryId);
+        }
+        
         Timestamp publishedAt = rs.getTimestamp("published_at");
         if (publishedAt != null) {
             article.setPublishedAt(publishedAt.toLocalDateTime());
@@ -1,7 +1,11 @@
 package com.teckiz.journalindex.dao;
 
+import com.teckiz.journalindex.author.AuthorIdentity;
+import com.teckiz.journalindex.author.AuthorIdentityIndex;
 import com.teckiz.journalindex.db.DatabaseManager;
+import com.teckiz.journalindex.db.ReadConsistency;
 import com.teckiz.journalindex.entity.IndexJournalAuthor;
+import com.teckiz.journalindex.search.ArticleSearch;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -49,17 +53,20 @@ public class AuthorDao {
     
     /**
      * Save multiple authors for an article
+     * Each author is linked to its canonical identity (author_id) through the AuthorIdentityIndex
      */
     public static void saveAuthors(Long articleId, List<String> authorNames) {
         if (authorNames == null || authorNames.isEmpty()) {
             return;
         }
         
+        List<AuthorIdentity> identities = AuthorIdentityIndex.shared().resolve(authorNames);
+        
         // Delete existing authors first
         deleteByArticleId(articleId);
         
         // Insert new authors
-        String sql = "INSERT INTO IndexJournalAuthor (index_journal_article_id, name) VALUES (?, ?)";
+        String sql = "INSERT INTO IndexJournalAuthor (index_journal_article_id, name, orcid, author_id) VALUES (?, ?, ?, ?)";
         
         try (Connection conn = DatabaseManager.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -67,18 +74,21 @@ public class AuthorDao {
             conn.setAutoCommit(false);
             
             try {
-                for (String authorName : authorNames) {
-                    if (authorName != null && !authorName.trim().isEmpty()) {
-                        stmt.setLong(1, articleId);
-                        stmt.setString(2, authorName.trim());
-                        stmt.addBatch();
-                    }
+                List<String> savedNames = new ArrayList<>(identities.size());
+                for (AuthorIdentity identity : identities) {
+                    stmt.setLong(1, articleId);
+                    stmt.setString(2, identity.getName());
+                    stmt.setString(3, identity.getOrcid());
+                    stmt.setString(4, identity.getAuthorKey());
+                    stmt.addBatch();
+                    savedNames.add(identity.getName());
                 }
                 
                 int[] results = stmt.executeBatch();
                 conn.commit();
                 
                 logger.info("Saved {} authors for article ID: {}", results.length, articleId);
+                ArticleSearch.index().authorsSaved(articleId, savedNames);
                 
             } catch (SQLException e) {
                 conn.rollback();
@@ -93,11 +103,40 @@ public class AuthorDao {
         }
     }
     
+    /**
+     * Ids of the articles linked to a canonical author key (IndexJournalAuthor.author_id), in id order
+     * Resolve a name or ORCID iD to its key with AuthorIdentityIndex.findAuthorKey.
+     */
+    public static List<Long> findArticleIdsByAuthorKey(String authorKey) {
+        String sql = "SELECT DISTINCT index_journal_article_id FROM IndexJournalAuthor " +
+                     "WHERE author_id = ? ORDER BY index_journal_article_id";
+        
+        List<Long> articleIds = new ArrayList<>();
+        
+        try (Connection conn = DatabaseManager.getConnection(ReadConsistency.EVENTUAL);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, authorKey);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    articleIds.add(rs.getLong(1));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error finding articles of author: {}", authorKey, e);
+            throw new RuntimeException("Failed to find articles of author: " + e.getMessage(), e);
+        }
+        
+        return articleIds;
+    }
+    
     /**
      * Get all authors for an article
      */
     public static List<IndexJournalAuthor> findByArticleId(Long articleId) {
-        String sql = "SELECT id, index_journal_article_id, name, email, country, affiliation, orcid " +
+        String sql = "SELECT id, index_journal_article_id, author_id, name, email, country, affiliation, orcid " +
                      "FROM IndexJournalAuthor WHERE index_journal_article_id = ?";
         
         List<IndexJournalAuthor> authors = new ArrayList<>();
@@ -128,6 +167,7 @@ public class AuthorDao {
     private static IndexJournalAuthor mapResultSetToAuthor(ResultSet rs) throws SQLException {
         IndexJournalAuthor author = new IndexJournalAuthor();
         author.setId(rs.getLong("id"));
+        author.setAuthorId(rs.getString("author_id"));
         author.setName(rs.getString("name"));
         author.setEmail(rs.getString("email"));
         author.setCountry(rs.getString("country"));
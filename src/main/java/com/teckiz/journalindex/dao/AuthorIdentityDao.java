@@ -0,0 +1,95 @@
+package com.teckiz.journalindex.dao;
+
+import com.teckiz.journalindex.db.DatabaseManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight DAO for the IndexAuthorIdentity table using plain JDBC
+ * One row per lookup key ("orcid:...", "name:...", "initials:...") pointing at the canonical
+ * author key stored in IndexJournalAuthor.author_id. Rows are never updated: the first author
+ * to claim a lookup key keeps it.
+ */
+public class AuthorIdentityDao {
+    
+    private static final Logger logger = LogManager.getLogger(AuthorIdentityDao.class);
+    
+    // Lookup keys per IN (...) query or multi-row INSERT
+    private static final int CHUNK_SIZE = 500;
+    
+    /**
+     * Author keys of the lookup keys that are already claimed; unclaimed keys are absent from the map
+     */
+    public static Map<String, String> findAuthorKeys(Collection<String> lookupKeys) {
+        Map<String, String> authorKeys = new HashMap<>();
+        List<String> keys = new ArrayList<>(new LinkedHashSet<>(lookupKeys));
+        
+        for (int from = 0; from < keys.size(); from += CHUNK_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(from + CHUNK_SIZE, keys.size()));
+            String sql = "SELECT lookup_key, author_key FROM IndexAuthorIdentity WHERE lookup_key IN (" +
+                         placeholders(chunk.size()) + ")";
+            
+            try (Connection conn = DatabaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setString(i + 1, chunk.get(i));
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        authorKeys.put(rs.getString("lookup_key"), rs.getString("author_key"));
+                    }
+                }
+                
+            } catch (SQLException e) {
+                logger.error("Error finding {} author identities", chunk.size(), e);
+                throw new RuntimeException("Failed to find author identities: " + e.getMessage(), e);
+            }
+        }
+        
+        return authorKeys;
+    }
+    
+    /**
+     * Claim lookup keys for author keys; keys that are already claimed keep their author
+     */
+    public static void claim(Map<String, String> authorKeysByLookupKey) {
+        List<Map.Entry<String, String>> entries = new ArrayList<>(authorKeysByLookupKey.entrySet());
+        
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<Map.Entry<String, String>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+            String sql = "INSERT IGNORE INTO IndexAuthorIdentity (lookup_key, author_key, created_at) VALUES " +
+                         GeneratedKeys.values("(?, ?, NOW())", chunk.size());
+            
+            try (Connection conn = DatabaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                int index = 1;
+                for (Map.Entry<String, String> entry : chunk) {
+                    stmt.setString(index++, entry.getKey());
+                    stmt.setString(index++, entry.getValue());
+                }
+                int claimed = stmt.executeUpdate();
+                logger.debug("Claimed {} of {} author lookup keys", claimed, chunk.size());
+                
+            } catch (SQLException e) {
+                logger.error("Error claiming {} author lookup keys", chunk.size(), e);
+                throw new RuntimeException("Failed to claim author identities: " + e.getMessage(), e);
+            }
+        }
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.teckiz.journalindex.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helpers for multi-row INSERT statements
+ * MySQL assigns the auto-increment ids of a single multi-row INSERT with a known row count as
+ * one consecutive range, and Connector/J reports them in row order. When the statement did not
+ * insert exactly one row per input (or the driver returned a different number of keys) the ids
+ * cannot be mapped by position, and callers re-select the rows by their client-side key instead.
+ */
+final class GeneratedKeys {
+    
+    private GeneratedKeys() {
+    }
+    
+    /**
+     * VALUES clause with one row template per input row, e.g. values("(?, ?, NOW())", 3)
+     */
+    static String values(String rowTemplate, int rows) {
+        return String.join(", ", Collections.nCopies(rows, rowTemplate));
+    }
+    
+    /**
+     * Ids generated for the rows of a multi-row insert in row order, or null if they cannot be
+     * mapped one to one
+     */
+    static List<Long> read(PreparedStatement stmt, int rowsAffected, int rows) throws SQLException {
+        if (rowsAffected != rows) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>(rows);
+        try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+            while (generatedKeys.next()) {
+                ids.add(generatedKeys.getLong(1));
+            }
+        }
+        if (ids.size() != rows) {
+            return null;
+        }
+        for (int i = 1; i < ids.size(); i++) {
+            if (ids.get(i) <= ids.get(i - 1)) {
+                return null;
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,87 @@
+package com.teckiz.journalindex.dao;
+
+import com.teckiz.journalindex.db.DatabaseManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+
+/**
+ * Lightweight DAO for the IngestionLedger idempotency table using plain JDBC
+ * One row per processed message, keyed by its idempotency key; rows expire after a TTL
+ */
+public class IdempotencyDao {
+    
+    private static final Logger logger = LogManager.getLogger(IdempotencyDao.class);
+    
+    /**
+     * Check whether an unexpired ledger entry exists (primary key lookup)
+     */
+    public static boolean exists(String idempotencyKey) {
+        String sql = "SELECT 1 FROM IngestionLedger WHERE idempotency_key = ? AND expires_at > NOW()";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, idempotencyKey);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error checking ledger entry: {}", idempotencyKey, e);
+            throw new RuntimeException("Failed to check ledger entry: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Record a processed message; an existing (possibly expired) entry is refreshed
+     */
+    public static void record(String idempotencyKey, String messageId, String journalKey, String result, long ttlSeconds) {
+        String sql = "INSERT INTO IngestionLedger " +
+                     "(idempotency_key, message_id, journal_key, result, processed_at, expires_at) " +
+                     "VALUES (?, ?, ?, ?, NOW(), NOW() + INTERVAL ? SECOND) " +
+                     "ON DUPLICATE KEY UPDATE message_id = VALUES(message_id), result = VALUES(result), " +
+                     "processed_at = VALUES(processed_at), expires_at = VALUES(expires_at)";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setString(1, idempotencyKey);
+            stmt.setString(2, messageId);
+            stmt.setString(3, journalKey);
+            stmt.setString(4, result != null && result.length() > 500 ? result.substring(0, 500) : result);
+            stmt.setLong(5, ttlSeconds);
+            stmt.executeUpdate();
+            
+            logger.debug("Recorded ledger entry: {} (message: {})", idempotencyKey, messageId);
+            
+        } catch (SQLException e) {
+            logger.error("Error recording ledger entry: {}", idempotencyKey, e);
+            throw new RuntimeException("Failed to record ledger entry: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Delete up to limit expired entries
+     */
+    public static int deleteExpired(int limit) {
+        String sql = "DELETE FROM IngestionLedger WHERE expires_at <= NOW() LIMIT ?";
+        
+        try (Connection conn = DatabaseManager.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, limit);
+            int deleted = stmt.executeUpdate();
+            if (deleted > 0) {
+                logger.info("Purged {} expired ledger entries", deleted);
+            }
+            return deleted;
+            
+        } catch (SQLException e) {
+            logger.error("Error purging expired ledger entries", e);
+            throw new RuntimeException("Failed to purge ledger entries: " + e.getMessage(), e);
+        }
+    }
+}
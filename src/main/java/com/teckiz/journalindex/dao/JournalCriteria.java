@@ -0,0 +1,80 @@
+package com.teckiz.journalindex.dao;
+
+/**
+ * Optional filters of a journal search; only the criteria that are set become predicates
+ * Name and publisher match as prefixes so the B-tree indexes can serve them; text matches
+ * whole words of name, publisher and keywords through the journal FULLTEXT index.
+ */
+public class JournalCriteria {
+    
+    private String namePrefix;
+    private String publisherPrefix;
+    private String text;
+    private String country;
+    private String status;
+    private Long subjectId;
+    private Long companyId;
+    
+    public JournalCriteria namePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+        return this;
+    }
+    
+    public JournalCriteria publisherPrefix(String publisherPrefix) {
+        this.publisherPrefix = publisherPrefix;
+        return this;
+    }
+    
+    public JournalCriteria text(String text) {
+        this.text = text;
+        return this;
+    }
+    
+    public JournalCriteria country(String country) {
+        this.country = country;
+        return this;
+    }
+    
+    public JournalCriteria status(String status) {
+        this.status = status;
+        return this;
+    }
+    
+    public JournalCriteria subjectId(Long subjectId) {
+        this.subjectId = subjectId;
+        return this;
+    }
+    
+    public JournalCriteria companyId(Long companyId) {
+        this.companyId = companyId;
+        return this;
+    }
+    
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+    
+    public String getPublisherPrefix() {
+        return publisherPrefix;
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    public String getCountry() {
+        return country;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public Long getSubjectId() {
+        return subjectId;
+    }
+    
+    public Long getCompanyId() {
+        return companyId;
+    }
+}
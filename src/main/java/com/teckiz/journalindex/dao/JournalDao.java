@@ -1,13 +1,20 @@
 package com.teckiz.journalindex.dao;
 
 import com.teckiz.journalindex.db.DatabaseManager;
+import com.teckiz.journalindex.db.ReadConsistency;
 import com.teckiz.journalindex.entity.Company;
 import com.teckiz.journalindex.entity.IndexJournal;
+import com.teckiz.journalindex.search.MySqlFullTextIndex;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -17,6 +24,18 @@ public class JournalDao {
     
     private static final Logger logger = LogManager.getLogger(JournalDao.class);
     
+    // Rows per multi-row INSERT
+    private static final int INSERT_CHUNK_SIZE = 500;
+    
+    private static final String INSERT_COLUMNS =
+            "INSERT INTO IndexJournal (journal_key, website, publisher, status, created_at, updated_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, 'received', NOW(), NOW())";
+    
+    private static final String SELECT_COLUMNS = "SELECT id, journal_key, name, website, publisher, status, country, " +
+            "email, phone, contact_person, keywords, eissn, created_at, company_id FROM IndexJournal";
+    
+    public static final int MAX_PAGE_SIZE = 500;
+    
     /**
      * Find journal by journal key, or create if not exists
      */
@@ -59,6 +78,91 @@ public class JournalDao {
         return Optional.empty();
     }
     
+    /**
+     * Search journals by the criteria that are set, one keyset page at a time (ordered by id)
+     * Pass null as cursor for the first page, then the returned page's next cursor.
+     */
+    public static KeysetPage<IndexJournal> search(JournalCriteria criteria, String cursor, int pageSize) {
+        int limit = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append(" WHERE id > ?");
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(KeysetPage.decodeCursor(cursor));
+        
+        if (hasText(criteria.getNamePrefix())) {
+            sql.append(" AND name LIKE ?");
+            parameters.add(likePrefix(criteria.getNamePrefix()));
+        }
+        if (hasText(criteria.getPublisherPrefix())) {
+            sql.append(" AND publisher LIKE ?");
+            parameters.add(likePrefix(criteria.getPublisherPrefix()));
+        }
+        if (hasText(criteria.getText())) {
+            String booleanQuery = MySqlFullTextIndex.toBooleanQuery(criteria.getText());
+            if (booleanQuery.isEmpty()) {
+                return new KeysetPage<>(new ArrayList<>(), null);
+            }
+            sql.append(" AND MATCH(name, publisher, keywords) AGAINST (? IN BOOLEAN MODE)");
+            parameters.add(booleanQuery);
+        }
+        if (hasText(criteria.getCountry())) {
+            sql.append(" AND country = ?");
+            parameters.add(criteria.getCountry());
+        }
+        if (hasText(criteria.getStatus())) {
+            sql.append(" AND status = ?");
+            parameters.add(criteria.getStatus());
+        }
+        if (criteria.getSubjectId() != null) {
+            sql.append(" AND subject_id = ?");
+            parameters.add(criteria.getSubjectId());
+        }
+        if (criteria.getCompanyId() != null) {
+            sql.append(" AND company_id = ?");
+            parameters.add(criteria.getCompanyId());
+        }
+        // One extra row tells whether another page follows
+        sql.append(" ORDER BY id ASC LIMIT ?");
+        parameters.add(limit + 1);
+        
+        List<IndexJournal> journals = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection(ReadConsistency.EVENTUAL);
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            
+            for (int i = 0; i < parameters.size(); i++) {
+                stmt.setObject(i + 1, parameters.get(i));
+            }
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    journals.add(mapResultSetToJournal(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error searching journals", e);
+            throw new RuntimeException("Failed to search journals: " + e.getMessage(), e);
+        }
+        
+        String nextCursor = null;
+        if (journals.size() > limit) {
+            journals.remove(limit);
+            nextCursor = KeysetPage.encodeCursor(journals.get(limit - 1).getId());
+        }
+        logger.debug("Journal search returned {} journals (more: {})", journals.size(), nextCursor != null);
+        return new KeysetPage<>(journals, nextCursor);
+    }
+    
+    /**
+     * LIKE pattern matching values that start with prefix, with wildcards in prefix escaped
+     */
+    static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+    
     /**
      * Create a new journal
      */
@@ -116,6 +220,98 @@ public class JournalDao {
         }
     }
     
+    /**
+     * Create many journals with one multi-row INSERT per chunk, in a single transaction
+     * Generated ids are mapped back by position, or re-selected by journal_key when the driver
+     * result cannot be mapped one to one. The journal keys must not exist yet.
+     */
+    public static void insertAll(List<IndexJournal> journals) {
+        if (journals.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = DatabaseManager.getConnection()) {
+            
+            conn.setAutoCommit(false);
+            
+            try {
+                for (int from = 0; from < journals.size(); from += INSERT_CHUNK_SIZE) {
+                    insertChunk(conn, journals.subList(from, Math.min(from + INSERT_CHUNK_SIZE, journals.size())));
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                journals.forEach(journal -> journal.setId(null));
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            
+            LocalDateTime now = LocalDateTime.now();
+            for (IndexJournal journal : journals) {
+                journal.setStatus("received");
+                journal.setCreatedAt(now);
+            }
+            logger.info("Created {} journals", journals.size());
+            
+        } catch (SQLException e) {
+            logger.error("Error creating {} journals", journals.size(), e);
+            throw new RuntimeException("Failed to create journals: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Insert one chunk of journals and assign their generated ids
+     */
+    private static void insertChunk(Connection conn, List<IndexJournal> chunk) throws SQLException {
+        String sql = INSERT_COLUMNS + GeneratedKeys.values(INSERT_ROW, chunk.size());
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            int index = 1;
+            for (IndexJournal journal : chunk) {
+                stmt.setString(index++, journal.getJournalKey());
+                stmt.setString(index++, journal.getWebsite());
+                stmt.setString(index++, journal.getPublisher());
+            }
+            
+            int rowsAffected = stmt.executeUpdate();
+            List<Long> ids = GeneratedKeys.read(stmt, rowsAffected, chunk.size());
+            if (ids != null) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    chunk.get(i).setId(ids.get(i));
+                }
+                return;
+            }
+        }
+        
+        logger.warn("Generated ids of {} inserted journals could not be mapped by position, re-selecting by key", chunk.size());
+        Map<String, IndexJournal> byKey = new HashMap<>();
+        chunk.forEach(journal -> byKey.put(journal.getJournalKey(), journal));
+        
+        String selectSql = "SELECT id, journal_key FROM IndexJournal WHERE journal_key IN (" +
+                     String.join(", ", Collections.nCopies(byKey.size(), "?")) + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+            int index = 1;
+            for (String journalKey : byKey.keySet()) {
+                stmt.setString(index++, journalKey);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    IndexJournal journal = byKey.get(rs.getString("journal_key"));
+                    if (journal != null) {
+                        journal.setId(rs.getLong("id"));
+                    }
+                }
+            }
+        }
+        
+        for (IndexJournal journal : chunk) {
+            if (journal.getId() == null) {
+                throw new SQLException("Creating journal failed, no ID obtained for key " + journal.getJournalKey());
+            }
+        }
+    }
+    
     /**
      * Map ResultSet to IndexJournal entity
      */
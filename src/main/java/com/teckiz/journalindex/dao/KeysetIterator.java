@@ -0,0 +1,58 @@
+package com.teckiz.journalindex.dao;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over every row of a keyset-paginated query, fetching the next page only once the
+ * current one is used up. At most one page is held in memory and no connection stays open
+ * between pages, so exports and reindexing jobs can walk tables of any size.
+ *
+ * Example: KeysetIterator.stream(cursor -> ArticleDao.findPageByCompanyId(companyId, cursor, 500))
+ */
+public class KeysetIterator<T> implements Iterator<T> {
+    
+    private final Function<String, KeysetPage<T>> pageLoader;
+    private Iterator<T> current;
+    private String nextCursor;
+    private boolean lastPageLoaded;
+    
+    public KeysetIterator(Function<String, KeysetPage<T>> pageLoader) {
+        this.pageLoader = pageLoader;
+    }
+    
+    /**
+     * Sequential stream over every row; pages are loaded lazily as the stream is consumed
+     */
+    public static <T> Stream<T> stream(Function<String, KeysetPage<T>> pageLoader) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new KeysetIterator<>(pageLoader), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+    
+    @Override
+    public boolean hasNext() {
+        while (current == null || !current.hasNext()) {
+            if (lastPageLoaded) {
+                return false;
+            }
+            KeysetPage<T> page = pageLoader.apply(nextCursor);
+            current = page.getItems().iterator();
+            nextCursor = page.getNextCursor();
+            lastPageLoaded = !page.hasNext();
+        }
+        return true;
+    }
+    
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+}
@@ -0,0 +1,116 @@
+package com.teckiz.journalindex.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated query, ordered by id or by a timestamp and then id
+ * The cursor is opaque to callers: pass getNextCursor() back to fetch the following slice.
+ * Because slices continue after the last key instead of skipping an OFFSET, every page costs
+ * the same index range scan no matter how deep it is, provided an index leads with the keyset
+ * columns in order (the filter column, then id).
+ */
+public class KeysetPage<T> {
+    
+    private static final String CURSOR_PREFIX = "id:";
+    private static final String TIME_CURSOR_PREFIX = "at:";
+    
+    private final List<T> items;
+    private final String nextCursor;
+    
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    public List<T> getItems() {
+        return items;
+    }
+    
+    /**
+     * Cursor of the next slice, or null on the last one
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+    
+    public static String encodeCursor(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    /**
+     * Last id of the previous slice; a null or empty cursor starts from the beginning
+     */
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Falls through to the error below; NumberFormatException is an IllegalArgumentException
+        }
+        throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+    }
+    
+    /**
+     * Cursor after the last row of a slice ordered by a timestamp and then id
+     */
+    public static String encodeCursor(LocalDateTime lastValue, long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((TIME_CURSOR_PREFIX + lastValue + "|" + lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+    
+    /**
+     * Timestamp and id of the last row of the previous slice; null for a null or empty cursor
+     */
+    public static Position decodeTimeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = decoded.lastIndexOf('|');
+            if (decoded.startsWith(TIME_CURSOR_PREFIX) && separator > TIME_CURSOR_PREFIX.length()) {
+                return new Position(LocalDateTime.parse(decoded.substring(TIME_CURSOR_PREFIX.length(), separator)),
+                        Long.parseLong(decoded.substring(separator + 1)));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Falls through to the error below
+        }
+        throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+    }
+    
+    /**
+     * Keyset position of a slice ordered by a timestamp and then id
+     */
+    public static final class Position {
+        
+        private final LocalDateTime value;
+        private final long id;
+        
+        public Position(LocalDateTime value, long id) {
+            this.value = value;
+            this.id = id;
+        }
+        
+        public LocalDateTime getValue() {
+            return value;
+        }
+        
+        public long getId() {
+            return id;
+        }
+    }
+}
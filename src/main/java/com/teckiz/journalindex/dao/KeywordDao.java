@@ -0,0 +1,237 @@
+package com.teckiz.journalindex.dao;
+
+import com.teckiz.journalindex.db.DatabaseManager;
+import com.teckiz.journalindex.db.ReadConsistency;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight DAO for the IndexKeyword dictionary and the IndexJournalArticleKeyword join table
+ * using plain JDBC
+ * Each distinct keyword (by its folded key) is stored once; articles reference keywords through
+ * the join table, whose primary key (article, keyword) and reverse index (keyword, article) make
+ * per-article, per-keyword and facet queries index lookups.
+ */
+public class KeywordDao {
+    
+    private static final Logger logger = LogManager.getLogger(KeywordDao.class);
+    
+    // Keys or ids per IN (...) query, and rows per multi-row INSERT
+    private static final int CHUNK_SIZE = 500;
+    
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    /**
+     * Ids of the keyword keys that exist; missing keys are absent from the map
+     */
+    public static Map<String, Long> findIdsByKeys(Collection<String> keywordKeys) {
+        Map<String, Long> ids = new HashMap<>();
+        List<String> keys = new ArrayList<>(new LinkedHashSet<>(keywordKeys));
+        
+        for (int from = 0; from < keys.size(); from += CHUNK_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(from + CHUNK_SIZE, keys.size()));
+            String sql = "SELECT id, keyword_key FROM IndexKeyword WHERE keyword_key IN (" + placeholders(chunk.size()) + ")";
+            
+            try (Connection conn = DatabaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setString(i + 1, chunk.get(i));
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ids.put(rs.getString("keyword_key"), rs.getLong("id"));
+                    }
+                }
+                
+            } catch (SQLException e) {
+                logger.error("Error finding {} keywords", chunk.size(), e);
+                throw new RuntimeException("Failed to find keywords: " + e.getMessage(), e);
+            }
+        }
+        
+        return ids;
+    }
+    
+    /**
+     * Insert keywords by key and display name with multi-row INSERT IGNORE; existing keys are left alone
+     */
+    public static void insertMissing(Map<String, String> namesByKey) {
+        List<Map.Entry<String, String>> entries = new ArrayList<>(namesByKey.entrySet());
+        
+        for (int from = 0; from < entries.size(); from += CHUNK_SIZE) {
+            List<Map.Entry<String, String>> chunk = entries.subList(from, Math.min(from + CHUNK_SIZE, entries.size()));
+            String sql = "INSERT IGNORE INTO IndexKeyword (keyword_key, name, created_at) VALUES " +
+                         GeneratedKeys.values("(?, ?, NOW())", chunk.size());
+            
+            try (Connection conn = DatabaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                int index = 1;
+                for (Map.Entry<String, String> entry : chunk) {
+                    stmt.setString(index++, entry.getKey());
+                    stmt.setString(index++, entry.getValue());
+                }
+                int inserted = stmt.executeUpdate();
+                logger.debug("Inserted {} of {} keywords", inserted, chunk.size());
+                
+            } catch (SQLException e) {
+                logger.error("Error inserting {} keywords", chunk.size(), e);
+                throw new RuntimeException("Failed to insert keywords: " + e.getMessage(), e);
+            }
+        }
+    }
+    
+    /**
+     * Replace the keywords of many articles in one transaction: one DELETE per chunk of articles
+     * and multi-row INSERTs of (article, keyword, position)
+     */
+    public static void replaceArticleKeywords(Map<Long, List<Long>> keywordIdsByArticle) {
+        if (keywordIdsByArticle.isEmpty()) {
+            return;
+        }
+        List<Long> articleIds = new ArrayList<>(keywordIdsByArticle.keySet());
+        List<long[]> rows = new ArrayList<>();
+        keywordIdsByArticle.forEach((articleId, keywordIds) -> {
+            for (int position = 0; position < keywordIds.size(); position++) {
+                rows.add(new long[] {articleId, keywordIds.get(position), position});
+            }
+        });
+        
+        try (Connection conn = DatabaseManager.getConnection()) {
+            
+            conn.setAutoCommit(false);
+            
+            try {
+                for (int from = 0; from < articleIds.size(); from += CHUNK_SIZE) {
+                    List<Long> chunk = articleIds.subList(from, Math.min(from + CHUNK_SIZE, articleIds.size()));
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "DELETE FROM IndexJournalArticleKeyword WHERE index_journal_article_id IN (" +
+                            placeholders(chunk.size()) + ")")) {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            stmt.setLong(i + 1, chunk.get(i));
+                        }
+                        stmt.executeUpdate();
+                    }
+                }
+                
+                for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+                    List<long[]> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "INSERT IGNORE INTO IndexJournalArticleKeyword " +
+                            "(index_journal_article_id, index_keyword_id, position) VALUES " +
+                            GeneratedKeys.values("(?, ?, ?)", chunk.size()))) {
+                        int index = 1;
+                        for (long[] row : chunk) {
+                            stmt.setLong(index++, row[0]);
+                            stmt.setLong(index++, row[1]);
+                            stmt.setInt(index++, (int) row[2]);
+                        }
+                        stmt.executeUpdate();
+                    }
+                }
+                
+                conn.commit();
+                logger.debug("Linked {} keywords to {} articles", rows.size(), articleIds.size());
+                
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error linking keywords of {} articles", articleIds.size(), e);
+            throw new RuntimeException("Failed to link keywords: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Ids of the articles tagged with a keyword, one keyset page at a time (ordered by article id)
+     */
+    public static KeysetPage<Long> findArticleIdsByKeywordId(long keywordId, String cursor, int pageSize) {
+        int limit = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        String sql = "SELECT index_journal_article_id FROM IndexJournalArticleKeyword " +
+                     "WHERE index_keyword_id = ? AND index_journal_article_id > ? " +
+                     "ORDER BY index_journal_article_id ASC LIMIT ?";
+        
+        List<Long> articleIds = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection(ReadConsistency.EVENTUAL);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, keywordId);
+            stmt.setLong(2, KeysetPage.decodeCursor(cursor));
+            stmt.setInt(3, limit + 1);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    articleIds.add(rs.getLong(1));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error finding articles of keyword ID: {}", keywordId, e);
+            throw new RuntimeException("Failed to find articles of keyword: " + e.getMessage(), e);
+        }
+        
+        String nextCursor = null;
+        if (articleIds.size() > limit) {
+            articleIds.remove(limit);
+            nextCursor = KeysetPage.encodeCursor(articleIds.get(limit - 1));
+        }
+        return new KeysetPage<>(articleIds, nextCursor);
+    }
+    
+    /**
+     * Keyword facet of a set of articles: display name to number of articles, most frequent first
+     */
+    public static Map<String, Long> countByKeyword(Collection<Long> articleIds, int limit) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        if (articleIds.isEmpty()) {
+            return counts;
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(articleIds));
+        String sql = "SELECT k.name, COUNT(*) AS articles FROM IndexJournalArticleKeyword ak " +
+                     "JOIN IndexKeyword k ON k.id = ak.index_keyword_id " +
+                     "WHERE ak.index_journal_article_id IN (" + placeholders(ids.size()) + ") " +
+                     "GROUP BY k.id, k.name ORDER BY articles DESC, k.name ASC LIMIT ?";
+        
+        try (Connection conn = DatabaseManager.getConnection(ReadConsistency.EVENTUAL);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            for (Long id : ids) {
+                stmt.setLong(index++, id);
+            }
+            stmt.setInt(index, limit);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    counts.put(rs.getString("name"), rs.getLong("articles"));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error counting keywords of {} articles", ids.size(), e);
+            throw new RuntimeException("Failed to count keywords: " + e.getMessage(), e);
+        }
+        
+        return counts;
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.teckiz.journalindex.dao;
+
+import com.teckiz.journalindex.db.DatabaseManager;
+import com.teckiz.journalindex.db.ReadConsistency;
+import com.teckiz.journalindex.entity.IndexCountry;
+import com.teckiz.journalindex.entity.IndexJournal;
+import com.teckiz.journalindex.entity.IndexJournalLanguage;
+import com.teckiz.journalindex.entity.IndexLanguage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lightweight DAO for the IndexLanguage, IndexJournalLanguage and IndexCountry reference tables
+ * using plain JDBC
+ * These tables are small, so each is read in full (ordered by id) and cached by the caller.
+ */
+public class ReferenceDataDao {
+    
+    private static final Logger logger = LogManager.getLogger(ReferenceDataDao.class);
+    
+    /**
+     * All languages, ordered by id
+     */
+    public static List<IndexLanguage> findAllLanguages() {
+        String sql = "SELECT id, language_key, name, code_a, code_b FROM IndexLanguage ORDER BY id ASC";
+        List<IndexLanguage> languages = new ArrayList<>();
+        
+        try (Connection conn = DatabaseManager.getConnection(ReadConsistency.EVENTUAL);
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                IndexLanguage language = new IndexLanguage();
+                language.setId(rs.getLong("id"));
+                language.setLanguageKey(rs.getString("language_key"));
+                language.setName(rs.getString("name"));
+                language.setCodeA(rs.getString("code_a"));
+                language.setCodeB(rs.getString("code_b"));
+                languages.add(language);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error loading languages", e);
+            throw new RuntimeException("Failed to load languages: " + e.getMessage(), e);
+        }
+        
+        return languages;
+    }
+    
+    /**
+     * All journal languages, ordered by id; each carries only the id of its journal
+     */
+    public static List<IndexJournalLanguage> findAllJournalLanguages() {
+        String sql = "SELECT id, name, code_a, code_b, index_journal_id FROM IndexJournalLanguage ORDER BY id ASC";
+        List<IndexJournalLanguage> journalLanguages = new ArrayList<>();
+        
+        try (Connection conn = DatabaseManager.getConnection(ReadConsistency.EVENTUAL);
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                IndexJournalLanguage journalLanguage = new IndexJournalLanguage();
+                journalLanguage.setId(rs.getLong("id"));
+                journalLanguage.setName(rs.getString("name"));
+                journalLanguage.setCodeA(rs.getString("code_a"));
+                journalLanguage.setCodeB(rs.getString("code_b"));
+                
+                long journalId = rs.getLong("index_journal_id");
+                if (!rs.wasNull()) {
+                    IndexJournal journal = new IndexJournal();
+                    journal.setId(journalId);
+                    journalLanguage.setIndexJournal(journal);
+                }
+                journalLanguages.add(journalLanguage);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error loading journal languages", e);
+            throw new RuntimeException("Failed to load journal languages: " + e.getMessage(), e);
+        }
+        
+        return journalLanguages;
+    }
+    
+    /**
+     * All countries, ordered by id
+     */
+    public static List<IndexCountry> findAllCountries() {
+        String sql = "SELECT id, country_key, name, code FROM IndexCountry ORDER BY id ASC";
+        List<IndexCountry> countries = new ArrayList<>();
+        
+        try (Connection conn = DatabaseManager.getConnection(ReadConsistency.EVENTUAL);
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                IndexCountry country = new IndexCountry();
+                country.setId(rs.getLong("id"));
+                country.setCountryKey(rs.getString("country_key"));
+                country.setName(rs.getString("name"));
+                country.setCode(rs.getString("code"));
+                countries.add(country);
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error loading countries", e);
+            throw new RuntimeException("Failed to load countries: " + e.getMessage(), e);
+        }
+        
+        return countries;
+    }
+}
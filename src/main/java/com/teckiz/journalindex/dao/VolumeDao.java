@@ -1,14 +1,26 @@
 package com.teckiz.journalindex.dao;
 
 import com.teckiz.journalindex.db.DatabaseManager;
+import com.teckiz.journalindex.db.ReadConsistency;
 import com.teckiz.journalindex.entity.IndexJournal;
 import com.teckiz.journalindex.entity.IndexJournalVolume;
+import com.teckiz.journalindex.util.EntityKeyGenerator;
+import com.teckiz.journalindex.volume.VolumeIssue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Lightweight DAO for Journal Volume operations using plain JDBC
@@ -17,9 +29,23 @@ public class VolumeDao {
     
     private static final Logger logger = LogManager.getLogger(VolumeDao.class);
     
+    // Rows per multi-row INSERT
+    private static final int INSERT_CHUNK_SIZE = 500;
+    
+    // Volume numbers per IN (...) lookup
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+    
+    private static final String INSERT_COLUMNS = "INSERT INTO IndexJournalVolume " +
+            "(volume_key, index_journal_id, vol_number, issue_number, published_at, created_at, updated_at) VALUES ";
+    private static final String INSERT_ROW = "(?, ?, ?, ?, ?, NOW(), NOW())";
+    
+    public static final int MAX_PAGE_SIZE = 500;
+    
     /**
      * Find volume by journal ID and volume number, or create if not exists
+     * @deprecated ignores the issue, so every issue of a volume shares one row; use findOrCreateAll
      */
+    @Deprecated
     public static IndexJournalVolume findOrCreateByJournalIdAndVolumeNumber(Long journalId, String volumeNumber) {
         Optional<IndexJournalVolume> existing = findByJournalIdAndVolumeNumber(journalId, volumeNumber);
         if (existing.isPresent()) {
@@ -60,6 +86,116 @@ public class VolumeDao {
         return Optional.empty();
     }
     
+    /**
+     * Volumes of a journal for many volume/issue pairs, creating the missing ones
+     * One lookup query per 500 volume numbers and one multi-row INSERT for all missing pairs;
+     * new volumes are dated by the year of their first pair.
+     */
+    public static Map<VolumeIssue, IndexJournalVolume> findOrCreateAll(Long journalId, Collection<VolumeIssue> volumeIssues) {
+        Map<VolumeIssue, IndexJournalVolume> volumes = findByJournalIdAndVolumeIssues(journalId, volumeIssues);
+        
+        Map<VolumeIssue, IndexJournalVolume> missing = new LinkedHashMap<>();
+        for (VolumeIssue volumeIssue : volumeIssues) {
+            if (!volumes.containsKey(volumeIssue) && !missing.containsKey(volumeIssue)) {
+                IndexJournalVolume volume = new IndexJournalVolume();
+                volume.setVolumeNumber(volumeIssue.getVolume());
+                volume.setIssueNumber(volumeIssue.getIssue());
+                volume.setPublishedAt(volumeIssue.getPublishedAt());
+                IndexJournal journal = new IndexJournal();
+                journal.setId(journalId);
+                volume.setIndexJournal(journal);
+                missing.put(volumeIssue, volume);
+            }
+        }
+        if (!missing.isEmpty()) {
+            insertAll(new ArrayList<>(missing.values()));
+            volumes.putAll(missing);
+        }
+        return volumes;
+    }
+    
+    /**
+     * Existing volumes of a journal for many volume/issue pairs (the lowest id wins among duplicates)
+     * A pair without an issue matches only volume rows without an issue number.
+     */
+    public static Map<VolumeIssue, IndexJournalVolume> findByJournalIdAndVolumeIssues(Long journalId,
+                                                                                      Collection<VolumeIssue> volumeIssues) {
+        Map<VolumeIssue, IndexJournalVolume> volumes = new HashMap<>();
+        Set<VolumeIssue> wanted = new LinkedHashSet<>(volumeIssues);
+        List<String> volumeNumbers = new ArrayList<>(new LinkedHashSet<>(
+                wanted.stream().map(VolumeIssue::getVolume).toList()));
+        
+        for (int from = 0; from < volumeNumbers.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = volumeNumbers.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, volumeNumbers.size()));
+            String sql = "SELECT id, index_journal_id, vol_number, issue_number, published_at, created_at " +
+                         "FROM IndexJournalVolume WHERE index_journal_id = ? AND vol_number IN (" +
+                         String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") ORDER BY id ASC";
+            
+            try (Connection conn = DatabaseManager.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                
+                int index = 1;
+                stmt.setLong(index++, journalId);
+                for (String volumeNumber : chunk) {
+                    stmt.setString(index++, volumeNumber);
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        IndexJournalVolume volume = mapResultSetToVolume(rs);
+                        VolumeIssue volumeIssue = VolumeIssue.of(volume.getVolumeNumber(), volume.getIssueNumber(), null);
+                        if (wanted.contains(volumeIssue)) {
+                            volumes.putIfAbsent(volumeIssue, volume);
+                        }
+                    }
+                }
+                
+            } catch (SQLException e) {
+                logger.error("Error finding {} volumes for journal ID {}", chunk.size(), journalId, e);
+                throw new RuntimeException("Failed to find volumes: " + e.getMessage(), e);
+            }
+        }
+        
+        logger.debug("Found {} of {} volumes for journal ID: {}", volumes.size(), wanted.size(), journalId);
+        return volumes;
+    }
+    
+    /**
+     * Volumes of a journal, one keyset page at a time (ordered by id)
+     * Pass null as cursor for the first page, then the returned page's next cursor.
+     */
+    public static KeysetPage<IndexJournalVolume> findPageByJournalId(Long journalId, String cursor, int pageSize) {
+        int limit = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        String sql = "SELECT id, index_journal_id, vol_number, issue_number, published_at, created_at " +
+                     "FROM IndexJournalVolume WHERE index_journal_id = ? AND id > ? ORDER BY id ASC LIMIT ?";
+        
+        List<IndexJournalVolume> volumes = new ArrayList<>();
+        try (Connection conn = DatabaseManager.getConnection(ReadConsistency.EVENTUAL);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, journalId);
+            stmt.setLong(2, KeysetPage.decodeCursor(cursor));
+            stmt.setInt(3, limit + 1);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    volumes.add(mapResultSetToVolume(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error reading volume page for journal ID {}", journalId, e);
+            throw new RuntimeException("Failed to read volumes: " + e.getMessage(), e);
+        }
+        
+        String nextCursor = null;
+        if (volumes.size() > limit) {
+            volumes.remove(limit);
+            nextCursor = KeysetPage.encodeCursor(volumes.get(limit - 1).getId());
+        }
+        return new KeysetPage<>(volumes, nextCursor);
+    }
+    
     /**
      * Create a new volume
      */
@@ -120,6 +256,107 @@ public class VolumeDao {
         }
     }
     
+    /**
+     * Create many volumes with one multi-row INSERT per chunk, in a single transaction
+     * Every volume needs its journal set. Generated ids are mapped back by position, or re-selected
+     * by volume_key when the driver result cannot be mapped one to one.
+     */
+    public static void insertAll(List<IndexJournalVolume> volumes) {
+        if (volumes.isEmpty()) {
+            return;
+        }
+        
+        try (Connection conn = DatabaseManager.getConnection()) {
+            
+            conn.setAutoCommit(false);
+            
+            try {
+                for (int from = 0; from < volumes.size(); from += INSERT_CHUNK_SIZE) {
+                    insertChunk(conn, volumes.subList(from, Math.min(from + INSERT_CHUNK_SIZE, volumes.size())));
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                volumes.forEach(volume -> volume.setId(null));
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            
+            LocalDateTime now = LocalDateTime.now();
+            for (IndexJournalVolume volume : volumes) {
+                volume.setCreatedAt(now);
+                volume.setUpdatedAt(now);
+            }
+            logger.info("Created {} volumes", volumes.size());
+            
+        } catch (SQLException e) {
+            logger.error("Error creating {} volumes", volumes.size(), e);
+            throw new RuntimeException("Failed to create volumes: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Insert one chunk of volumes and assign their generated ids
+     */
+    private static void insertChunk(Connection conn, List<IndexJournalVolume> chunk) throws SQLException {
+        String sql = INSERT_COLUMNS + GeneratedKeys.values(INSERT_ROW, chunk.size());
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            int index = 1;
+            for (IndexJournalVolume volume : chunk) {
+                if (volume.getVolumeKey() == null || volume.getVolumeKey().isEmpty()) {
+                    volume.setVolumeKey(EntityKeyGenerator.next("VOL"));
+                }
+                stmt.setString(index++, volume.getVolumeKey());
+                stmt.setLong(index++, volume.getIndexJournal().getId());
+                stmt.setString(index++, volume.getVolumeNumber());
+                stmt.setString(index++, volume.getIssueNumber());
+                if (volume.getPublishedAt() != null) {
+                    stmt.setTimestamp(index++, Timestamp.valueOf(volume.getPublishedAt()));
+                } else {
+                    stmt.setNull(index++, Types.TIMESTAMP);
+                }
+            }
+            
+            int rowsAffected = stmt.executeUpdate();
+            List<Long> ids = GeneratedKeys.read(stmt, rowsAffected, chunk.size());
+            if (ids != null) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    chunk.get(i).setId(ids.get(i));
+                }
+                return;
+            }
+        }
+        
+        logger.warn("Generated ids of {} inserted volumes could not be mapped by position, re-selecting by key", chunk.size());
+        Map<String, IndexJournalVolume> byKey = new HashMap<>();
+        chunk.forEach(volume -> byKey.put(volume.getVolumeKey(), volume));
+        
+        String selectSql = "SELECT id, volume_key FROM IndexJournalVolume WHERE volume_key IN (" +
+                     String.join(", ", Collections.nCopies(byKey.size(), "?")) + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+            int index = 1;
+            for (String volumeKey : byKey.keySet()) {
+                stmt.setString(index++, volumeKey);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    IndexJournalVolume volume = byKey.get(rs.getString("volume_key"));
+                    if (volume != null) {
+                        volume.setId(rs.getLong("id"));
+                    }
+                }
+            }
+        }
+        
+        for (IndexJournalVolume volume : chunk) {
+            if (volume.getId() == null) {
+                throw new SQLException("Creating volume failed, no ID obtained for key " + volume.getVolumeKey());
+            }
+        }
+    }
+    
     /**
      * Map ResultSet to IndexJournalVolume entity
      */
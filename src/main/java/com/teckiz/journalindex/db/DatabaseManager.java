@@ -1,5 +1,6 @@
 package com.teckiz.journalindex.db;
 
+import com.teckiz.journalindex.metrics.IngestionMetrics;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.apache.logging.log4j.LogManager;
@@ -8,10 +9,18 @@ import org.apache.logging.log4j.Logger;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Lightweight database connection manager using HikariCP
  * No Spring Framework dependencies
+ * Tenants can be split over several databases: units of work enter the shard of their journal
+ * (see ShardRouter and ShardContext) and getConnection() hands out connections of that shard's pool.
+ * Each shard may have a read replica; queries asking for ReadConsistency.EVENTUAL are served
+ * from it while ReplicaLagGuard finds it within the lag limit.
  */
 public class DatabaseManager {
     
@@ -19,10 +28,29 @@ public class DatabaseManager {
     private static volatile HikariDataSource dataSource;
     private static final Object initLock = new Object();
     
+    // Pools of the shards other than the default one, built on first use
+    private static final Map<String, HikariDataSource> shardPools = new ConcurrentHashMap<>();
+    
+    private static volatile ShardRouter shardRouter = ShardRoutingTable.fromEnvironment();
+    
+    // Read replica of each shard, or empty when the shard has none configured
+    private static final Map<String, Optional<Replica>> replicas = new ConcurrentHashMap<>();
+    
     /**
-     * Initialize database connection pool lazily
+     * Connection pool of the current shard
      */
     public static DataSource getDataSource() {
+        return getDataSource(ShardContext.current());
+    }
+    
+    /**
+     * Connection pool of a shard; shards other than the default one are configured by
+     * DB_SHARD_<NAME>_URL with optional DB_SHARD_<NAME>_USERNAME and DB_SHARD_<NAME>_PASSWORD
+     */
+    public static DataSource getDataSource(String shard) {
+        if (!ShardRouter.DEFAULT_SHARD.equals(shard)) {
+            return shardPools.computeIfAbsent(shard, DatabaseManager::createShardPool);
+        }
         if (dataSource == null) {
             synchronized (initLock) {
                 if (dataSource == null) {
@@ -104,24 +132,7 @@ public class DatabaseManager {
                         
                         logger.info("Connecting to database: {} (host: {})", mysqlDatabase, hostToUse);
                         
-                        // Configure HikariCP
-                        HikariConfig config = new HikariConfig();
-                        config.setJdbcUrl(finalUrl);
-                        config.setUsername(dbUsername);
-                        config.setPassword(dbPassword);
-                        config.setDriverClassName("com.mysql.cj.jdbc.Driver");
-                        
-                        // Optimized for Lambda
-                        config.setMinimumIdle(0);  // Don't create connections during initialization
-                        config.setMaximumPoolSize(5);
-                        config.setConnectionTimeout(5000);  // 5 seconds
-                        config.setIdleTimeout(300000);  // 5 minutes
-                        config.setMaxLifetime(600000);  // 10 minutes
-                        config.setConnectionTestQuery("SELECT 1");
-                        config.setInitializationFailTimeout(-1);  // Don't fail if pool can't initialize immediately
-                        config.setRegisterMbeans(false);  // Disable JMX
-                        
-                        dataSource = new HikariDataSource(config);
+                        dataSource = createPool(finalUrl, dbUsername, dbPassword);
                         logger.info("✅ Database connection pool initialized successfully");
                         
                     } catch (Exception e) {
@@ -135,20 +146,175 @@ public class DatabaseManager {
     }
     
     /**
-     * Get a connection from the pool
+     * Replace the shard router, e.g. with one backed by a routing table in the database
+     */
+    public static void setShardRouter(ShardRouter router) {
+        shardRouter = router;
+    }
+    
+    public static ShardRouter getShardRouter() {
+        return shardRouter;
+    }
+    
+    /**
+     * Route this thread to the shard of a journal until the returned scope is closed
+     */
+    public static ShardContext useJournalShard(String journalKey) {
+        return ShardContext.enter(shardRouter.shardForJournal(journalKey));
+    }
+    
+    /**
+     * Get a connection from the primary pool of the current shard
+     * Pool wait time and round trips are recorded into the current invocation's metrics
      */
     public static Connection getConnection() throws SQLException {
-        return getDataSource().getConnection();
+        return getConnection(ReadConsistency.STRONG);
+    }
+    
+    /**
+     * Get a connection for queries of the given consistency from the current shard
+     * EVENTUAL reads use the shard's replica when it has one and the replica is within the lag
+     * limit; otherwise, and when the replica cannot hand out a connection, they use the primary.
+     */
+    public static Connection getConnection(ReadConsistency consistency) throws SQLException {
+        if (consistency == ReadConsistency.EVENTUAL) {
+            Replica replica = getReplica(ShardContext.current()).orElse(null);
+            if (replica != null && replica.guard.isUsable()) {
+                try {
+                    return open(replica.pool);
+                } catch (SQLException e) {
+                    logger.warn("Replica of shard {} unavailable, reading from the primary: {}",
+                               ShardContext.current(), e.getMessage());
+                    replica.guard.markUnusable();
+                }
+            }
+        }
+        return open(getDataSource());
+    }
+    
+    private static Connection open(DataSource pool) throws SQLException {
+        IngestionMetrics metrics = IngestionMetrics.current();
+        if (!metrics.isActive()) {
+            return pool.getConnection();
+        }
+        
+        long waitStart = System.nanoTime();
+        Connection connection = pool.getConnection();
+        metrics.recordConnectionWait(System.nanoTime() - waitStart);
+        return RoundTripCountingConnection.wrap(connection, metrics);
     }
     
     /**
-     * Close the connection pool (for cleanup if needed)
+     * Close the connection pools (for cleanup if needed)
      */
     public static void close() {
         if (dataSource != null) {
             dataSource.close();
             dataSource = null;
         }
+        shardPools.values().forEach(HikariDataSource::close);
+        shardPools.clear();
+        replicas.values().forEach(replica -> replica.ifPresent(r -> r.pool.close()));
+        replicas.clear();
+    }
+    
+    private static Optional<Replica> getReplica(String shard) {
+        return replicas.computeIfAbsent(shard, DatabaseManager::createReplica);
+    }
+    
+    /**
+     * Replica pool of a shard, configured by DB_REPLICA_URL for the default shard and
+     * DB_SHARD_<NAME>_REPLICA_URL for the others; credentials fall back to the primary's
+     */
+    private static Optional<Replica> createReplica(String shard) {
+        String prefix = ShardRouter.DEFAULT_SHARD.equals(shard)
+                ? "DB_"
+                : "DB_SHARD_" + shard.toUpperCase(Locale.ROOT).replace('-', '_') + "_";
+        String url = System.getenv(prefix + "REPLICA_URL");
+        if (url == null || url.isBlank()) {
+            return Optional.empty();
+        }
+        String username = firstSet(System.getenv(prefix + "REPLICA_USERNAME"), System.getenv(prefix + "USERNAME"),
+                System.getenv("DB_USERNAME"));
+        String password = firstSet(System.getenv(prefix + "REPLICA_PASSWORD"), System.getenv(prefix + "PASSWORD"),
+                System.getenv("DB_PASSWORD"));
+        
+        logger.info("=== INITIALIZING REPLICA CONNECTION POOL OF SHARD {} ===", shard);
+        HikariDataSource pool = createPool(url, username, password);
+        ReplicaLagGuard guard = new ReplicaLagGuard(
+                longFromEnvironment("DB_REPLICA_MAX_LAG_SECONDS", ReplicaLagGuard.DEFAULT_MAX_LAG_SECONDS),
+                longFromEnvironment("DB_REPLICA_LAG_CHECK_SECONDS", ReplicaLagGuard.DEFAULT_CHECK_INTERVAL_SECONDS),
+                ReplicaLagGuard.statusProbe(pool), System::nanoTime);
+        return Optional.of(new Replica(pool, guard));
+    }
+    
+    private static String firstSet(String... values) {
+        for (String value : values) {
+            if (value != null && !value.isBlank()) {
+                return value;
+            }
+        }
+        return null;
+    }
+    
+    private static long longFromEnvironment(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid {} '{}', using {}", name, value, defaultValue);
+            return defaultValue;
+        }
+    }
+    
+    private static HikariDataSource createShardPool(String shard) {
+        String prefix = "DB_SHARD_" + shard.toUpperCase(Locale.ROOT).replace('-', '_') + "_";
+        String url = System.getenv(prefix + "URL");
+        if (url == null || url.isBlank()) {
+            logger.error("No JDBC URL configured for shard {}", shard);
+            throw new RuntimeException("Failed to initialize connection pool of shard " + shard + ": " + prefix + "URL is not set");
+        }
+        String username = System.getenv(prefix + "USERNAME");
+        String password = System.getenv(prefix + "PASSWORD");
+        
+        logger.info("=== INITIALIZING CONNECTION POOL OF SHARD {} ===", shard);
+        return createPool(url,
+                username != null ? username : System.getenv("DB_USERNAME"),
+                password != null ? password : System.getenv("DB_PASSWORD"));
+    }
+    
+    private static HikariDataSource createPool(String jdbcUrl, String username, String password) {
+        // Configure HikariCP
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setDriverClassName("com.mysql.cj.jdbc.Driver");
+        
+        // Optimized for Lambda
+        config.setMinimumIdle(0);  // Don't create connections during initialization
+        config.setMaximumPoolSize(5);
+        config.setConnectionTimeout(5000);  // 5 seconds
+        config.setIdleTimeout(300000);  // 5 minutes
+        config.setMaxLifetime(600000);  // 10 minutes
+        config.setConnectionTestQuery("SELECT 1");
+        config.setInitializationFailTimeout(-1);  // Don't fail if pool can't initialize immediately
+        config.setRegisterMbeans(false);  // Disable JMX
+        
+        return new HikariDataSource(config);
+    }
+    
+    private static final class Replica {
+        
+        final HikariDataSource pool;
+        final ReplicaLagGuard guard;
+        
+        Replica(HikariDataSource pool, ReplicaLagGuard guard) {
+            this.pool = pool;
+            this.guard = guard;
+        }
     }
 }
-
@@ -0,0 +1,19 @@
+package com.teckiz.journalindex.db;
+
+/**
+ * Consistency a query needs, passed to DatabaseManager.getConnection(ReadConsistency)
+ */
+public enum ReadConsistency {
+    
+    /**
+     * Read from the primary; required for writes and for lookups that must see earlier
+     * writes, such as the existence check right before an insert
+     */
+    STRONG,
+    
+    /**
+     * Read from the shard's replica when one is configured and within the lag limit,
+     * otherwise from the primary; for reference data, searches and exports
+     */
+    EVENTUAL
+}
@@ -0,0 +1,122 @@
+package com.teckiz.journalindex.db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether a read replica is close enough to its primary to serve EVENTUAL reads
+ * The replica's lag is probed at most once per check interval, and the answer is reused
+ * in between, so a read costs no extra round trip. A replica whose lag is above the limit,
+ * unknown (replication stopped) or cannot be probed is skipped until the next check.
+ */
+public class ReplicaLagGuard {
+    
+    private static final Logger logger = LogManager.getLogger(ReplicaLagGuard.class);
+    
+    public static final long DEFAULT_MAX_LAG_SECONDS = 5;
+    public static final long DEFAULT_CHECK_INTERVAL_SECONDS = 10;
+    
+    /**
+     * Current replication lag of a replica
+     */
+    public interface LagProbe {
+        
+        /**
+         * Lag in seconds; null when replication is not running
+         */
+        Long lagSeconds() throws SQLException;
+    }
+    
+    private final long maxLagSeconds;
+    private final long checkIntervalNanos;
+    private final LagProbe probe;
+    private final LongSupplier nanoClock;
+    
+    private volatile boolean usable;
+    private volatile boolean checked;
+    private volatile long nextCheckNanos;
+    
+    public ReplicaLagGuard(long maxLagSeconds, long checkIntervalSeconds, LagProbe probe, LongSupplier nanoClock) {
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkIntervalNanos = TimeUnit.SECONDS.toNanos(checkIntervalSeconds);
+        this.probe = probe;
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * Whether the replica may serve reads, probing its lag when the last check has expired
+     */
+    public boolean isUsable() {
+        if (checked && nanoClock.getAsLong() - nextCheckNanos < 0) {
+            return usable;
+        }
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            if (checked && now - nextCheckNanos < 0) {
+                return usable;
+            }
+            boolean wasUsable = usable;
+            try {
+                Long lag = probe.lagSeconds();
+                usable = lag != null && lag <= maxLagSeconds;
+                if (usable != wasUsable || !checked) {
+                    logger.info("Replica lag is {} seconds (limit {}), {} replica reads", lag != null ? lag : "unknown",
+                               maxLagSeconds, usable ? "using" : "suspending");
+                }
+            } catch (SQLException | RuntimeException e) {
+                usable = false;
+                if (wasUsable || !checked) {
+                    logger.warn("Could not probe replica lag, reading from the primary: {}", e.getMessage());
+                }
+            }
+            checked = true;
+            nextCheckNanos = now + checkIntervalNanos;
+            return usable;
+        }
+    }
+    
+    /**
+     * Skip the replica until the next check, e.g. after it failed to hand out a connection
+     */
+    public synchronized void markUnusable() {
+        usable = false;
+        checked = true;
+        nextCheckNanos = nanoClock.getAsLong() + checkIntervalNanos;
+    }
+    
+    /**
+     * Probe reading Seconds_Behind_Source from SHOW REPLICA STATUS (SHOW SLAVE STATUS before
+     * MySQL 8.0.22). A server that reports no replication status, such as a replica kept in
+     * sync by storage rather than binlog, counts as not lagging.
+     */
+    public static LagProbe statusProbe(DataSource replica) {
+        return () -> {
+            try (Connection conn = replica.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                try (ResultSet rs = stmt.executeQuery("SHOW REPLICA STATUS")) {
+                    return readLag(rs, "Seconds_Behind_Source");
+                } catch (SQLException e) {
+                    try (ResultSet rs = stmt.executeQuery("SHOW SLAVE STATUS")) {
+                        return readLag(rs, "Seconds_Behind_Master");
+                    }
+                }
+            }
+        };
+    }
+    
+    private static Long readLag(ResultSet rs, String column) throws SQLException {
+        if (!rs.next()) {
+            return 0L;
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? null : lag;
+    }
+}
@@ -0,0 +1,57 @@
+package com.teckiz.journalindex.db;
+
+import com.teckiz.journalindex.metrics.IngestionMetrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Connection wrapper counting database round trips into IngestionMetrics
+ * Statement executions, commits and rollbacks are counted; everything else is passed through.
+ * Applied by DatabaseManager, so DAOs keep using plain JDBC and stay unaware of metrics.
+ */
+final class RoundTripCountingConnection implements InvocationHandler {
+    
+    private final Object target;
+    private final IngestionMetrics metrics;
+    
+    private RoundTripCountingConnection(Object target, IngestionMetrics metrics) {
+        this.target = target;
+        this.metrics = metrics;
+    }
+    
+    static Connection wrap(Connection connection, IngestionMetrics metrics) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new RoundTripCountingConnection(connection, metrics));
+    }
+    
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.startsWith("execute") || "commit".equals(name) || "rollback".equals(name)) {
+            metrics.dbRoundTrip();
+        }
+        
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+        return result instanceof Statement ? wrapStatement((Statement) result) : result;
+    }
+    
+    private Statement wrapStatement(Statement statement) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {type}, new RoundTripCountingConnection(statement, metrics));
+    }
+}
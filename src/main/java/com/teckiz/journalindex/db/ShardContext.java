@@ -0,0 +1,54 @@
+package com.teckiz.journalindex.db;
+
+/**
+ * Shard used by the unit of work running on this thread
+ * Entered with try-with-resources around a message, flush group or import; closing it
+ * restores the shard that was current before. Work outside any scope uses the default shard.
+ */
+public final class ShardContext implements AutoCloseable {
+    
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+    
+    private final String shard;
+    private final String previous;
+    private boolean closed;
+    
+    private ShardContext(String shard, String previous) {
+        this.shard = shard;
+        this.previous = previous;
+    }
+    
+    /**
+     * Route this thread's connections to a shard until the returned scope is closed
+     */
+    public static ShardContext enter(String shard) {
+        ShardContext context = new ShardContext(shard != null ? shard : ShardRouter.DEFAULT_SHARD, CURRENT.get());
+        CURRENT.set(context.shard);
+        return context;
+    }
+    
+    /**
+     * Shard of the current scope, or the default shard when none was entered
+     */
+    public static String current() {
+        String shard = CURRENT.get();
+        return shard != null ? shard : ShardRouter.DEFAULT_SHARD;
+    }
+    
+    public String getShard() {
+        return shard;
+    }
+    
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
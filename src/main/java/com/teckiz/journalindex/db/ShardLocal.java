@@ -0,0 +1,27 @@
+package com.teckiz.journalindex.db;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * One instance of a container-wide cache per database shard
+ * Ids and keys are assigned per shard, so caches of them must not be shared across shards;
+ * get() returns the instance of the current ShardContext, creating it on first use.
+ */
+public final class ShardLocal<T> {
+    
+    private final Map<String, T> instances = new ConcurrentHashMap<>();
+    private final Function<String, T> factory;
+    
+    public ShardLocal(Function<String, T> factory) {
+        this.factory = factory;
+    }
+    
+    /**
+     * Instance of the current shard
+     */
+    public T get() {
+        return instances.computeIfAbsent(ShardContext.current(), factory);
+    }
+}
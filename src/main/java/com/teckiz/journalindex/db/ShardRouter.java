@@ -0,0 +1,19 @@
+package com.teckiz.journalindex.db;
+
+/**
+ * Picks the database shard that holds the rows of a journal
+ * DatabaseManager uses the router when a unit of work enters a shard, so DAOs keep
+ * calling DatabaseManager.getConnection() and stay unaware of routing.
+ */
+public interface ShardRouter {
+    
+    /**
+     * Shard configured by the DB_* / MYSQL_* variables
+     */
+    String DEFAULT_SHARD = "default";
+    
+    /**
+     * Shard of the journal with this key
+     */
+    String shardForJournal(String journalKey);
+}
@@ -0,0 +1,124 @@
+package com.teckiz.journalindex.db;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routing table from journal keys to shards
+ * Explicit routes come first; journals without one are spread over the hash shards by
+ * rendezvous hashing, and everything else stays on the default shard. Adding a hash shard
+ * moves only about 1/N of the hashed journals (all to the new shard), removing one moves only
+ * its own; those journals' rows must be copied before the change. Parsed from
+ * DB_SHARD_ROUTES ("journal:KEY=shard") and DB_SHARD_HASH ("default,s2"). Routing is by journal
+ * only, because ingestion knows a message's journal key before it knows the journal's company.
+ */
+public final class ShardRoutingTable implements ShardRouter {
+    
+    private static final Logger logger = LogManager.getLogger(ShardRoutingTable.class);
+    
+    public static final ShardRoutingTable SINGLE = new ShardRoutingTable(Map.of(), List.of());
+    
+    private static final String JOURNAL_PREFIX = "journal:";
+    
+    private final Map<String, String> shardsByJournal;
+    private final List<String> hashShards;
+    
+    public ShardRoutingTable(Map<String, String> shardsByJournal, List<String> hashShards) {
+        this.shardsByJournal = Map.copyOf(shardsByJournal);
+        this.hashShards = List.copyOf(hashShards);
+    }
+    
+    /**
+     * Table configured by DB_SHARD_ROUTES and DB_SHARD_HASH; a single default shard when both are unset
+     */
+    public static ShardRoutingTable fromEnvironment() {
+        return parse(System.getenv("DB_SHARD_ROUTES"), System.getenv("DB_SHARD_HASH"));
+    }
+    
+    /**
+     * Parse comma-separated routes and hash shards; malformed routes are skipped with a warning
+     */
+    public static ShardRoutingTable parse(String routes, String hashShards) {
+        Map<String, String> shardsByJournal = new HashMap<>();
+        for (String route : split(routes)) {
+            int equals = route.lastIndexOf('=');
+            String key = equals > 0 ? route.substring(0, equals).trim() : "";
+            String shard = equals > 0 ? route.substring(equals + 1).trim() : "";
+            try {
+                if (shard.isEmpty()) {
+                    throw new IllegalArgumentException("missing shard");
+                } else if (key.startsWith(JOURNAL_PREFIX) && key.length() > JOURNAL_PREFIX.length()) {
+                    shardsByJournal.put(key.substring(JOURNAL_PREFIX.length()), shard);
+                } else if (key.startsWith("company:")) {
+                    throw new IllegalArgumentException("company routes are not supported, route the company's journals with journal:KEY");
+                } else {
+                    throw new IllegalArgumentException("expected journal:KEY");
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring shard route '{}': {}", route, e.getMessage());
+            }
+        }
+        return new ShardRoutingTable(shardsByJournal, split(hashShards));
+    }
+    
+    @Override
+    public String shardForJournal(String journalKey) {
+        if (journalKey == null) {
+            return DEFAULT_SHARD;
+        }
+        String shard = shardsByJournal.get(journalKey);
+        if (shard != null) {
+            return shard;
+        }
+        if (hashShards.isEmpty()) {
+            return DEFAULT_SHARD;
+        }
+        // Highest score wins; a score depends only on the shard name and the key, not on the list
+        String best = null;
+        long bestScore = 0;
+        for (String candidate : hashShards) {
+            long score = score(candidate, journalKey);
+            if (best == null || Long.compareUnsigned(score, bestScore) > 0) {
+                best = candidate;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Stable 64-bit score of a shard for a key: FNV-1a over both, finished with the SplitMix64 mixer
+     */
+    static long score(String shard, String journalKey) {
+        long hash = 0xcbf29ce484222325L;
+        hash = fnv(hash, shard.getBytes(StandardCharsets.UTF_8));
+        hash = fnv(hash, new byte[] {0});
+        hash = fnv(hash, journalKey.getBytes(StandardCharsets.UTF_8));
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+    
+    private static long fnv(long hash, byte[] bytes) {
+        for (byte b : bytes) {
+            hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+    
+    private static List<String> split(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(part -> !part.isEmpty())
+                .toList();
+    }
+}
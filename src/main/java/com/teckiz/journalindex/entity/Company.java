@@ -1,5 +1,6 @@
 package com.teckiz.journalindex.entity;
 
+import com.teckiz.journalindex.util.EntityKeyGenerator;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -100,7 +101,7 @@ public class Company {
 
     // Utility method to generate entity key
     private String generateEntityKey() {
-        return "COMP_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return EntityKeyGenerator.next("COMP");
     }
 
     // Getters and Setters
@@ -1,5 +1,6 @@
 package com.teckiz.journalindex.entity;
 
+import com.teckiz.journalindex.util.EntityKeyGenerator;
 import jakarta.persistence.*;
 
 /**
@@ -34,7 +35,7 @@ public class IndexCountry {
 
     // Utility method to generate entity key
     private String generateEntityKey() {
-        return "COUNTRY_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return EntityKeyGenerator.next("COUNTRY");
     }
 
     // Getters and Setters
@@ -1,5 +1,6 @@
 package com.teckiz.journalindex.entity;
 
+import com.teckiz.journalindex.util.EntityKeyGenerator;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -26,7 +27,7 @@ public class IndexJournal {
     @Column(name = "id")
     private Long id;
     
-    @Column(name = "journal_key", length = 20, unique = true)
+    @Column(name = "journal_key", length = 255, unique = true)
     private String journalKey;
     
     @Column(name = "name", length = 255)
@@ -107,7 +108,7 @@ public class IndexJournal {
     
     // Utility method to generate entity key
     private String generateEntityKey() {
-        return "JRNL_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return EntityKeyGenerator.next("JRNL");
     }
     
     // Getters and Setters
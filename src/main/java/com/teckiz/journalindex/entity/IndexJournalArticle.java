@@ -1,5 +1,6 @@
 package com.teckiz.journalindex.entity;
 
+import com.teckiz.journalindex.util.EntityKeyGenerator;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -11,7 +12,9 @@ import java.util.List;
 @Entity
 @Table(name = "IndexJournalArticle", indexes = {
     @Index(name = "indexed_article_page_index", columnList = "article_key, doi, publisher_record_id"),
-    @Index(name = "indexed_article_publish_at_index", columnList = "published_at")
+    @Index(name = "indexed_article_publish_at_index", columnList = "published_at, id"),
+    @Index(name = "indexed_article_language_index", columnList = "index_language_id"),
+    @Index(name = "indexed_article_country_index", columnList = "index_country_id")
 })
 @Cacheable
 public class IndexJournalArticle {
@@ -60,6 +63,13 @@ public class IndexJournalArticle {
     @Column(name = "references_text", columnDefinition = "TEXT")
     private String references;
 
+    // Ids into IndexLanguage and IndexCountry, resolved from the ReferenceDataCache
+    @Column(name = "index_language_id")
+    private Long languageId;
+
+    @Column(name = "index_country_id")
+    private Long countryId;
+
     @OneToMany(mappedBy = "indexJournalArticle", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<IndexJournalAuthor> authors = new ArrayList<>();
 
@@ -80,7 +90,7 @@ public class IndexJournalArticle {
 
     // Utility method to generate entity key
     private String generateEntityKey() {
-        return "ART_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return EntityKeyGenerator.next("ART");
     }
 
     // Getters and Setters
@@ -196,6 +206,22 @@ public class IndexJournalArticle {
         this.references = references;
     }
 
+    public Long getLanguageId() {
+        return languageId;
+    }
+
+    public void setLanguageId(Long languageId) {
+        this.languageId = languageId;
+    }
+
+    public Long getCountryId() {
+        return countryId;
+    }
+
+    public void setCountryId(Long countryId) {
+        this.countryId = countryId;
+    }
+
     public List<IndexJournalAuthor> getAuthors() {
         return authors;
     }
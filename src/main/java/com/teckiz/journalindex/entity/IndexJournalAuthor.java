@@ -7,7 +7,9 @@ import jakarta.persistence.*;
  */
 @Entity
 @Table(name = "IndexJournalAuthor", indexes = {
-    @Index(name = "indexed_article_author_name_index", columnList = "name")
+    @Index(name = "indexed_article_author_name_index", columnList = "name"),
+    @Index(name = "indexed_article_author_author_id_index", columnList = "author_id"),
+    @Index(name = "indexed_article_author_orcid_index", columnList = "orcid")
 })
 public class IndexJournalAuthor {
 
@@ -16,6 +18,7 @@ public class IndexJournalAuthor {
     @Column(name = "id")
     private Long id;
 
+    // Canonical author key shared by every row of the same person (see AuthorIdentityIndex)
     @Column(name = "author_id", length = 255)
     private String authorId;
 
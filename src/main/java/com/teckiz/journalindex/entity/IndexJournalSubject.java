@@ -1,5 +1,6 @@
 package com.teckiz.journalindex.entity;
 
+import com.teckiz.journalindex.util.EntityKeyGenerator;
 import jakarta.persistence.*;
 
 /**
@@ -16,7 +17,7 @@ public class IndexJournalSubject {
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "subject_key", length = 20)
+    @Column(name = "subject_key", length = 50)
     private String subjectKey;
 
     @Column(name = "name", length = 255)
@@ -33,7 +34,7 @@ public class IndexJournalSubject {
 
     // Utility method to generate entity key
     private String generateEntityKey() {
-        return "SUBJ_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return EntityKeyGenerator.next("SUBJ");
     }
 
     // Getters and Setters
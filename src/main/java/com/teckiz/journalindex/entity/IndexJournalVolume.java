@@ -1,5 +1,6 @@
 package com.teckiz.journalindex.entity;
 
+import com.teckiz.journalindex.util.EntityKeyGenerator;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
@@ -9,7 +10,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "IndexJournalVolume", indexes = {
     @Index(name = "indexed_journal_volume_key_index", columnList = "volume_key"),
-    @Index(name = "indexed_journal_volume_publish_date_index", columnList = "published_at")
+    @Index(name = "indexed_journal_volume_publish_date_index", columnList = "published_at"),
+    @Index(name = "idx_volume_journal_number", columnList = "index_journal_id, vol_number")
 })
 public class IndexJournalVolume {
 
@@ -62,7 +64,7 @@ public class IndexJournalVolume {
 
     // Utility method to generate entity key
     private String generateEntityKey() {
-        return "VOL_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return EntityKeyGenerator.next("VOL");
     }
 
     // Getters and Setters
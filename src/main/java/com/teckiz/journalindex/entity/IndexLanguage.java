@@ -1,5 +1,6 @@
 package com.teckiz.journalindex.entity;
 
+import com.teckiz.journalindex.util.EntityKeyGenerator;
 import jakarta.persistence.*;
 
 /**
@@ -37,7 +38,7 @@ public class IndexLanguage {
 
     // Utility method to generate entity key
     private String generateEntityKey() {
-        return "LANG_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        return EntityKeyGenerator.next("LANG");
     }
 
     // Getters and Setters
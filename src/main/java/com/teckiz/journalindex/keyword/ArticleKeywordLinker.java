@@ -0,0 +1,80 @@
+package com.teckiz.journalindex.keyword;
+
+import com.teckiz.journalindex.dao.KeywordDao;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the keywords of the articles saved in one write unit (an ArticleBatch or a
+ * coalesced flush) and links them with one dictionary resolve and one join-table write
+ * Linking fails open: keywords_text is always written with the article, so a failure here
+ * only leaves the join table behind until the article is saved again.
+ */
+public class ArticleKeywordLinker {
+    
+    private static final Logger logger = LogManager.getLogger(ArticleKeywordLinker.class);
+    
+    private final KeywordDictionary dictionary;
+    private final Map<Long, Map<String, String>> keywordsByArticle = new LinkedHashMap<>();
+    
+    public ArticleKeywordLinker() {
+        this(KeywordDictionary.shared());
+    }
+    
+    public ArticleKeywordLinker(KeywordDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+    
+    /**
+     * Queue the subjects of a saved article; a later call for the same article replaces them
+     * Articles without subjects keep their current links, as they keep their keywords_text
+     */
+    public void add(Long articleId, List<String> subjects) {
+        if (!dictionary.isEnabled() || articleId == null || subjects == null || subjects.isEmpty()) {
+            return;
+        }
+        keywordsByArticle.put(articleId, Keywords.normalize(subjects));
+    }
+    
+    public int size() {
+        return keywordsByArticle.size();
+    }
+    
+    /**
+     * Link every queued article to its keywords and clear the queue
+     */
+    public void flush() {
+        if (keywordsByArticle.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, String> namesByKey = new LinkedHashMap<>();
+            keywordsByArticle.values().forEach(keywords -> keywords.forEach(namesByKey::putIfAbsent));
+            Map<String, Long> ids = dictionary.resolve(namesByKey);
+            
+            Map<Long, List<Long>> keywordIdsByArticle = new LinkedHashMap<>();
+            keywordsByArticle.forEach((articleId, keywords) -> {
+                List<Long> keywordIds = new ArrayList<>(keywords.size());
+                for (String key : keywords.keySet()) {
+                    Long id = ids.get(key);
+                    if (id != null) {
+                        keywordIds.add(id);
+                    }
+                }
+                keywordIdsByArticle.put(articleId, keywordIds);
+            });
+            KeywordDao.replaceArticleKeywords(keywordIdsByArticle);
+            logger.debug("Linked {} distinct keywords to {} articles", namesByKey.size(), keywordIdsByArticle.size());
+            
+        } catch (RuntimeException e) {
+            logger.warn("Failed to link keywords of {} articles: {}", keywordsByArticle.size(), e.getMessage());
+        } finally {
+            keywordsByArticle.clear();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.teckiz.journalindex.keyword;
+
+import com.teckiz.journalindex.dao.KeywordDao;
+import com.teckiz.journalindex.db.ShardLocal;
+import com.teckiz.journalindex.util.LruLookupCache;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory view of the IndexKeyword dictionary (keyword key to id)
+ * Keyword ids never change once assigned, so a warm container keeps them in an LRU cache
+ * without invalidation; only keys missing from the cache are looked up, and keys missing from
+ * the table are inserted with one multi-row INSERT IGNORE and read back. Enabled with
+ * KEYWORD_INDEX_ENABLED=true once the keyword tables exist.
+ */
+public class KeywordDictionary {
+    
+    private static final Logger logger = LogManager.getLogger(KeywordDictionary.class);
+    
+    public static final int DEFAULT_CACHE_SIZE = 100_000;
+    
+    private static final boolean ENABLED = "true".equalsIgnoreCase(System.getenv("KEYWORD_INDEX_ENABLED"));
+    
+    // Keyword ids are assigned per database shard, so each shard gets its own dictionary
+    private static final ShardLocal<KeywordDictionary> SHARED =
+            new ShardLocal<>(shard -> new KeywordDictionary(ENABLED, new DaoStore(), DEFAULT_CACHE_SIZE));
+    
+    /**
+     * Persistent keyword dictionary
+     */
+    public interface Store {
+        
+        Map<String, Long> find(Collection<String> keywordKeys);
+        
+        /**
+         * Insert keywords whose keys do not exist yet
+         */
+        void insert(Map<String, String> namesByKey);
+    }
+    
+    private final boolean enabled;
+    private final Store store;
+    private final LruLookupCache<String, Long> cache;
+    
+    public KeywordDictionary(boolean enabled, Store store, int cacheSize) {
+        this.enabled = enabled;
+        this.store = store;
+        this.cache = new LruLookupCache<>(cacheSize, store::find);
+    }
+    
+    /**
+     * Dictionary of the current shard, shared by the writers of this container
+     */
+    public static KeywordDictionary shared() {
+        return SHARED.get();
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Ids of keywords given as key to display name, inserting the ones that are new
+     */
+    public Map<String, Long> resolve(Map<String, String> namesByKey) {
+        Map<String, Long> ids = cache.lookup(namesByKey.keySet());
+        
+        Map<String, String> missing = new LinkedHashMap<>();
+        namesByKey.forEach((key, name) -> {
+            if (!ids.containsKey(key)) {
+                missing.put(key, name);
+            }
+        });
+        if (!missing.isEmpty()) {
+            store.insert(missing);
+            Map<String, Long> inserted = store.find(missing.keySet());
+            ids.putAll(inserted);
+            cache.putAll(inserted);
+            logger.debug("Added {} keywords to the dictionary", missing.size());
+        }
+        return ids;
+    }
+    
+    /**
+     * Id of a keyword, if it is in the dictionary
+     */
+    public Optional<Long> findKeywordId(String keyword) {
+        if (!enabled || keyword == null || keyword.isBlank()) {
+            return Optional.empty();
+        }
+        String key = Keywords.keyOf(keyword);
+        return Optional.ofNullable(cache.lookup(List.of(key)).get(key));
+    }
+    
+    /**
+     * Store backed by the IndexKeyword table
+     */
+    private static final class DaoStore implements Store {
+        
+        @Override
+        public Map<String, Long> find(Collection<String> keywordKeys) {
+            return KeywordDao.findIdsByKeys(keywordKeys);
+        }
+        
+        @Override
+        public void insert(Map<String, String> namesByKey) {
+            KeywordDao.insertMissing(namesByKey);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.teckiz.journalindex.keyword;
+
+import com.teckiz.journalindex.util.TextFolding;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyword normalization shared by every writer of keywords_text and the keyword dictionary
+ * Subjects are joined with "; " everywhere (keywords often contain commas, e.g. "Education,
+ * Higher"). A keyword's dictionary key is its text folded to lower case without diacritics
+ * and with whitespace collapsed, so "Machine  Learning" and "machine learning" are one keyword.
+ */
+public final class Keywords {
+    
+    public static final String SEPARATOR = "; ";
+    
+    // Longest keyword name and key stored in IndexKeyword
+    public static final int MAX_LENGTH = 255;
+    
+    private Keywords() {
+    }
+    
+    /**
+     * keywords_text of a subject list, or null when there are no keywords
+     */
+    public static String join(Collection<String> subjects) {
+        Map<String, String> keywords = normalize(subjects);
+        return keywords.isEmpty() ? null : String.join(SEPARATOR, keywords.values());
+    }
+    
+    /**
+     * Distinct keywords of a subject list as key to display name, in order of first appearance
+     * A subject holding several keywords separated by semicolons is split; blank ones are dropped.
+     */
+    public static Map<String, String> normalize(Collection<String> subjects) {
+        Map<String, String> keywords = new LinkedHashMap<>();
+        if (subjects == null) {
+            return keywords;
+        }
+        for (String subject : subjects) {
+            if (subject == null) {
+                continue;
+            }
+            for (String keyword : split(subject)) {
+                keywords.putIfAbsent(keyOf(keyword), keyword);
+            }
+        }
+        return keywords;
+    }
+    
+    /**
+     * Dictionary key of a keyword
+     */
+    public static String keyOf(String keyword) {
+        return truncate(TextFolding.foldKey(keyword));
+    }
+    
+    /**
+     * Non-blank keywords of a semicolon-separated text, with whitespace collapsed
+     */
+    static List<String> split(String text) {
+        List<String> keywords = new ArrayList<>();
+        StringBuilder keyword = new StringBuilder();
+        boolean pendingSpace = false;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ';';
+            if (c == ';') {
+                if (keyword.length() > 0) {
+                    keywords.add(truncate(keyword.toString()));
+                }
+                keyword.setLength(0);
+                pendingSpace = false;
+            } else if (Character.isWhitespace(c)) {
+                pendingSpace = keyword.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    keyword.append(' ');
+                    pendingSpace = false;
+                }
+                keyword.append(c);
+            }
+        }
+        return keywords;
+    }
+    
+    private static String truncate(String text) {
+        return text.length() > MAX_LENGTH ? text.substring(0, MAX_LENGTH) : text;
+    }
+}
@@ -0,0 +1,111 @@
+package com.teckiz.journalindex.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.PrintStream;
+
+/**
+ * Writes IngestionMetrics as one CloudWatch Embedded Metric Format (EMF) log line
+ * Lambda forwards stdout to CloudWatch Logs, which extracts the metrics from the JSON;
+ * the line is written to stdout directly because the log4j pattern would prefix it.
+ * Latencies are emitted as EMF histograms (Values/Counts) in milliseconds.
+ */
+public class EmfMetricsEmitter {
+    
+    private static final Logger logger = LogManager.getLogger(EmfMetricsEmitter.class);
+    
+    public static final String DEFAULT_NAMESPACE = "JournalIndex/Ingestion";
+    
+    private static final String DIMENSION_FUNCTION_NAME = "FunctionName";
+    private static final String UNIT_COUNT = "Count";
+    private static final String UNIT_MILLISECONDS = "Milliseconds";
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PrintStream out;
+    private final String namespace;
+    
+    public EmfMetricsEmitter(PrintStream out, String namespace) {
+        this.out = out;
+        this.namespace = namespace;
+    }
+    
+    /**
+     * Emitter writing to stdout, namespace from METRICS_NAMESPACE
+     */
+    public static EmfMetricsEmitter fromEnvironment() {
+        String namespace = System.getenv("METRICS_NAMESPACE");
+        return new EmfMetricsEmitter(System.out,
+                namespace == null || namespace.isBlank() ? DEFAULT_NAMESPACE : namespace);
+    }
+    
+    /**
+     * Write the metrics of one invocation; failures are logged and never fail the invocation
+     */
+    public void emit(IngestionMetrics metrics, String functionName) {
+        try {
+            out.println(toEmf(metrics, functionName, System.currentTimeMillis()));
+            out.flush();
+        } catch (Exception e) {
+            logger.warn("Failed to emit metrics: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Build the EMF document for the metrics
+     */
+    public String toEmf(IngestionMetrics metrics, String functionName, long timestamp) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode aws = root.putObject("_aws");
+        aws.put("Timestamp", timestamp);
+        ObjectNode directive = aws.putArray("CloudWatchMetrics").addObject();
+        directive.put("Namespace", namespace);
+        directive.putArray("Dimensions").addArray().add(DIMENSION_FUNCTION_NAME);
+        ArrayNode definitions = directive.putArray("Metrics");
+        
+        root.put(DIMENSION_FUNCTION_NAME, functionName != null ? functionName : "unknown");
+        
+        putCount(root, definitions, "ArticlesCreated", metrics.getArticlesCreated());
+        putCount(root, definitions, "ArticlesUpdated", metrics.getArticlesUpdated());
+        putCount(root, definitions, "ArticlesSkipped", metrics.getArticlesSkipped());
+        putCount(root, definitions, "DbRoundTrips", metrics.getDbRoundTrips());
+        putCount(root, definitions, "MessagesDeferred", metrics.getMessagesDeferred());
+        putCount(root, definitions, "MessagesDuplicate", metrics.getMessagesDuplicate());
+        
+        for (IngestionMetrics.Stage stage : IngestionMetrics.Stage.values()) {
+            putHistogram(root, definitions, stage.getMetricName() + "Latency", metrics.getStageLatency(stage));
+        }
+        putHistogram(root, definitions, "HikariWaitTime", metrics.getConnectionWait());
+        
+        return root.toString();
+    }
+    
+    private static void putCount(ObjectNode root, ArrayNode definitions, String name, long value) {
+        definitions.addObject().put("Name", name).put("Unit", UNIT_COUNT);
+        root.put(name, value);
+    }
+    
+    /**
+     * Histograms without samples are left out; EMF rejects empty Values arrays
+     */
+    private static void putHistogram(ObjectNode root, ArrayNode definitions, String name, LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        definitions.addObject().put("Name", name).put("Unit", UNIT_MILLISECONDS);
+        
+        ObjectNode value = root.putObject(name);
+        ArrayNode values = value.putArray("Values");
+        ArrayNode counts = value.putArray("Counts");
+        for (int i = 0; i < histogram.getNumberOfBuckets(); i++) {
+            long count = histogram.getCountInBucket(i);
+            if (count > 0) {
+                values.add(Math.round(histogram.getBucketMeanMillis(i) * 1000) / 1000.0);
+                counts.add(count);
+            }
+        }
+    }
+}
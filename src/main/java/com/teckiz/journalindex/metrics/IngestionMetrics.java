@@ -0,0 +1,187 @@
+package com.teckiz.journalindex.metrics;
+
+/**
+ * Per-invocation ingestion metrics
+ * LambdaHandler starts one instance per invocation; the processor and DatabaseManager record
+ * into it through current(). Outside an invocation current() returns an inactive instance
+ * that ignores every record, so code paths used by tests and tools need no metrics wiring.
+ */
+public final class IngestionMetrics {
+    
+    /**
+     * Processing stages with a latency histogram each
+     */
+    public enum Stage {
+        PARSE("Parse"),
+        JOURNAL_RESOLVE("JournalResolve"),
+        VOLUME_RESOLVE("VolumeResolve"),
+        ARTICLE_LOOKUP("ArticleLookup"),
+        ARTICLE_WRITE("ArticleWrite"),
+        AUTHOR_WRITE("AuthorWrite");
+        
+        private final String metricName;
+        
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+        
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+    
+    private static final ThreadLocal<IngestionMetrics> CURRENT = new ThreadLocal<>();
+    private static final IngestionMetrics INACTIVE = new IngestionMetrics(false);
+    
+    private final boolean active;
+    private final LatencyHistogram[] stageLatencies = new LatencyHistogram[Stage.values().length];
+    private final LatencyHistogram connectionWait = new LatencyHistogram();
+    
+    private long articlesCreated;
+    private long articlesUpdated;
+    private long articlesSkipped;
+    private long dbRoundTrips;
+    private long messagesDeferred;
+    private long messagesDuplicate;
+    
+    private IngestionMetrics(boolean active) {
+        this.active = active;
+        for (int i = 0; i < stageLatencies.length; i++) {
+            stageLatencies[i] = new LatencyHistogram();
+        }
+    }
+    
+    /**
+     * Start collecting metrics for the invocation running on this thread
+     */
+    public static IngestionMetrics start() {
+        IngestionMetrics metrics = new IngestionMetrics(true);
+        CURRENT.set(metrics);
+        return metrics;
+    }
+    
+    /**
+     * Metrics of the current invocation, or an inactive instance when none was started
+     */
+    public static IngestionMetrics current() {
+        IngestionMetrics metrics = CURRENT.get();
+        return metrics != null ? metrics : INACTIVE;
+    }
+    
+    /**
+     * Stop collecting on this thread; the instance keeps its values for emission
+     */
+    public void finish() {
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+    
+    public boolean isActive() {
+        return active;
+    }
+    
+    public void recordStage(Stage stage, long nanos) {
+        if (active) {
+            stageLatencies[stage.ordinal()].record(nanos);
+        }
+    }
+    
+    /**
+     * Start a timer whose laps are recorded as consecutive stages
+     */
+    public StageTimer startTimer() {
+        return new StageTimer(this);
+    }
+    
+    public void recordConnectionWait(long nanos) {
+        if (active) {
+            connectionWait.record(nanos);
+        }
+    }
+    
+    public void articleCreated() {
+        if (active) {
+            articlesCreated++;
+        }
+    }
+    
+    public void articleUpdated() {
+        if (active) {
+            articlesUpdated++;
+        }
+    }
+    
+    public void articleSkipped() {
+        if (active) {
+            articlesSkipped++;
+        }
+    }
+    
+    public void dbRoundTrip() {
+        if (active) {
+            dbRoundTrips++;
+        }
+    }
+    
+    public void messageDeferred() {
+        if (active) {
+            messagesDeferred++;
+        }
+    }
+    
+    public void messageDuplicate() {
+        if (active) {
+            messagesDuplicate++;
+        }
+    }
+    
+    public LatencyHistogram getStageLatency(Stage stage) {
+        return stageLatencies[stage.ordinal()];
+    }
+    
+    public LatencyHistogram getConnectionWait() {
+        return connectionWait;
+    }
+    
+    public long getArticlesCreated() {
+        return articlesCreated;
+    }
+    
+    public long getArticlesUpdated() {
+        return articlesUpdated;
+    }
+    
+    public long getArticlesSkipped() {
+        return articlesSkipped;
+    }
+    
+    public long getDbRoundTrips() {
+        return dbRoundTrips;
+    }
+    
+    public long getMessagesDeferred() {
+        return messagesDeferred;
+    }
+    
+    public long getMessagesDuplicate() {
+        return messagesDuplicate;
+    }
+    
+    /**
+     * Percentile summary of every stage with samples, one stage per line
+     */
+    public String getLatencySummary() {
+        StringBuilder summary = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = getStageLatency(stage);
+            if (histogram.getCount() > 0) {
+                summary.append(String.format("%n  %-14s %s", stage.getMetricName(), histogram.summarize()));
+            }
+        }
+        if (connectionWait.getCount() > 0) {
+            summary.append(String.format("%n  %-14s %s", "HikariWait", connectionWait.summarize()));
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.teckiz.journalindex.metrics;
+
+/**
+ * Fixed-bucket latency histogram backed by primitive arrays
+ * Buckets follow a 1-2-5 series from 50 µs to 60 s plus an overflow bucket, so recording
+ * is allocation free and the bucket layout maps directly onto EMF Values/Counts arrays.
+ */
+public final class LatencyHistogram {
+    
+    // Inclusive upper bound of each bucket, in microseconds
+    private static final long[] BUCKET_BOUNDS_MICROS = {
+            50, 100, 200, 500,
+            1_000, 2_000, 5_000, 10_000, 20_000, 50_000, 100_000, 200_000, 500_000,
+            1_000_000, 2_000_000, 5_000_000, 10_000_000, 30_000_000, 60_000_000
+    };
+    
+    private final long[] counts = new long[BUCKET_BOUNDS_MICROS.length + 1];
+    private final long[] sumsNanos = new long[BUCKET_BOUNDS_MICROS.length + 1];
+    
+    private long count;
+    private long totalNanos;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos;
+    
+    /**
+     * Record one duration measured with System.nanoTime()
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        int bucket = bucketOf(nanos / 1_000);
+        counts[bucket]++;
+        sumsNanos[bucket] += nanos;
+        count++;
+        totalNanos += nanos;
+        minNanos = Math.min(minNanos, nanos);
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+    
+    public long getMinNanos() {
+        return count == 0 ? 0 : minNanos;
+    }
+    
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+    
+    /**
+     * Number of buckets, including the overflow bucket
+     */
+    public int getNumberOfBuckets() {
+        return counts.length;
+    }
+    
+    public long getCountInBucket(int bucket) {
+        return counts[bucket];
+    }
+    
+    /**
+     * Mean of the durations recorded in a bucket, in milliseconds (0 for an empty bucket)
+     */
+    public double getBucketMeanMillis(int bucket) {
+        return counts[bucket] == 0 ? 0 : sumsNanos[bucket] / (double) counts[bucket] / 1_000_000.0;
+    }
+    
+    /**
+     * Estimated percentile (0-100) in nanoseconds
+     * Reports the upper bound of the bucket holding the percentile, clamped to the observed min/max
+     */
+    public long getPercentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                long upperBound = i < BUCKET_BOUNDS_MICROS.length ? BUCKET_BOUNDS_MICROS[i] * 1_000 : maxNanos;
+                return Math.max(minNanos, Math.min(upperBound, maxNanos));
+            }
+        }
+        return maxNanos;
+    }
+    
+    /**
+     * One line summary: count, p50/p90/p99 and max in milliseconds
+     */
+    public String summarize() {
+        return String.format("n=%d p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms",
+                count,
+                getPercentileNanos(50) / 1_000_000.0,
+                getPercentileNanos(90) / 1_000_000.0,
+                getPercentileNanos(99) / 1_000_000.0,
+                maxNanos / 1_000_000.0);
+    }
+    
+    private static int bucketOf(long micros) {
+        for (int i = 0; i < BUCKET_BOUNDS_MICROS.length; i++) {
+            if (micros <= BUCKET_BOUNDS_MICROS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MICROS.length;
+    }
+}
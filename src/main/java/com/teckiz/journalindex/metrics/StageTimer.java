@@ -0,0 +1,35 @@
+package com.teckiz.journalindex.metrics;
+
+/**
+ * nanoTime based span timer for consecutive processing stages
+ * Each lap records the time since the previous lap (or the start) as the given stage,
+ * so a sequence of stages is timed with one clock read per boundary and no allocation.
+ */
+public final class StageTimer {
+    
+    private final IngestionMetrics metrics;
+    private long lapStart;
+    
+    StageTimer(IngestionMetrics metrics) {
+        this.metrics = metrics;
+        this.lapStart = System.nanoTime();
+    }
+    
+    /**
+     * Record the time since the last lap as the stage and start the next span
+     */
+    public long lap(IngestionMetrics.Stage stage) {
+        long now = System.nanoTime();
+        long elapsed = now - lapStart;
+        metrics.recordStage(stage, elapsed);
+        lapStart = now;
+        return elapsed;
+    }
+    
+    /**
+     * Start the next span without recording the time since the last lap
+     */
+    public void reset() {
+        lapStart = System.nanoTime();
+    }
+}
@@ -7,6 +7,8 @@ package com.teckiz.journalindex.model;
 public class ArticleAuthorModel {
     
     private String name;
+    private String givenName;
+    private String familyName;
     
     public ArticleAuthorModel() {
     }
@@ -15,6 +17,12 @@ public class ArticleAuthorModel {
         this.name = name;
     }
     
+    public ArticleAuthorModel(String name, String givenName, String familyName) {
+        this.name = name;
+        this.givenName = givenName;
+        this.familyName = familyName;
+    }
+    
     public String getName() {
         return name;
     }
@@ -23,10 +31,28 @@ public class ArticleAuthorModel {
         this.name = name;
     }
     
+    public String getGivenName() {
+        return givenName;
+    }
+    
+    public void setGivenName(String givenName) {
+        this.givenName = givenName;
+    }
+    
+    public String getFamilyName() {
+        return familyName;
+    }
+    
+    public void setFamilyName(String familyName) {
+        this.familyName = familyName;
+    }
+    
     @Override
     public String toString() {
         return "ArticleAuthorModel{" +
                 "name='" + name + '\'' +
+                ", givenName='" + givenName + '\'' +
+                ", familyName='" + familyName + '\'' +
                 '}';
     }
 }
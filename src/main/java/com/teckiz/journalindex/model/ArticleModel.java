@@ -1,5 +1,7 @@
 package com.teckiz.journalindex.model;
 
+import com.teckiz.journalindex.volume.VolumeIssue;
+
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,6 +20,7 @@ public class ArticleModel {
     private String pageUrl;
     private List<ArticleAuthorModel> authors = new ArrayList<>();
     private String volumeNumber;
+    private VolumeIssue volumeIssue;
     private LocalDateTime publishedAt;
     private String pages;
     
@@ -86,6 +89,14 @@ public class ArticleModel {
         this.volumeNumber = volumeNumber;
     }
     
+    public VolumeIssue getVolumeIssue() {
+        return volumeIssue;
+    }
+    
+    public void setVolumeIssue(VolumeIssue volumeIssue) {
+        this.volumeIssue = volumeIssue;
+    }
+    
     public LocalDateTime getPublishedAt() {
         return publishedAt;
     }
@@ -0,0 +1,105 @@
+package com.teckiz.journalindex.model;
+
+import com.teckiz.journalindex.entity.Company;
+import com.teckiz.journalindex.entity.IndexJournal;
+import com.teckiz.journalindex.entity.IndexJournalSetting;
+
+/**
+ * Immutable snapshot of the journal metadata needed while importing records
+ * Built once per import so the record loop does not re-fetch the journal
+ * or trigger lazy loads of its setting and company for every record
+ */
+public final class JournalContext {
+
+    private final Long journalId;
+    private final String journalKey;
+    private final Long companyId;
+    private final Company company;
+    private final String status;
+    private final boolean hasSetting;
+    private final boolean articleIndex;
+    private final String system;
+
+    private JournalContext(IndexJournal journal, IndexJournalSetting setting, Company company) {
+        this.journalId = journal.getId();
+        this.journalKey = journal.getJournalKey();
+        this.status = journal.getStatus();
+        this.company = company;
+        this.companyId = company != null ? company.getId() : null;
+        this.hasSetting = setting != null;
+        this.articleIndex = setting != null && Boolean.TRUE.equals(setting.getArticleIndex());
+        this.system = setting != null ? setting.getSystem() : null;
+    }
+
+    /**
+     * Build the snapshot, touching the lazy setting and company associations exactly once
+     */
+    public static JournalContext of(IndexJournal journal) {
+        return new JournalContext(journal, journal.getSetting(), journal.getCompany());
+    }
+
+    /**
+     * Check whether records may be imported for this journal
+     * Returns the reason the journal is rejected, or null when it is valid
+     */
+    public String getRejectionReason() {
+        if (!isApproved()) {
+            return "Journal is not approved, status: " + status;
+        }
+        if (!hasSetting) {
+            return "Journal setting not found for journal: " + journalKey;
+        }
+        if (company == null) {
+            return "Company not found for journal: " + journalKey;
+        }
+        return null;
+    }
+
+    public boolean isApproved() {
+        return IndexJournal.RJ_APPROVED.equals(status);
+    }
+
+    public Long getJournalId() {
+        return journalId;
+    }
+
+    public String getJournalKey() {
+        return journalKey;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public Company getCompany() {
+        return company;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public boolean hasSetting() {
+        return hasSetting;
+    }
+
+    public boolean isArticleIndex() {
+        return articleIndex;
+    }
+
+    public String getSystem() {
+        return system;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalContext{" +
+                "journalId=" + journalId +
+                ", journalKey='" + journalKey + '\'' +
+                ", companyId=" + companyId +
+                ", status='" + status + '\'' +
+                ", articleIndex=" + articleIndex +
+                ", system='" + system + '\'' +
+                '}';
+    }
+}
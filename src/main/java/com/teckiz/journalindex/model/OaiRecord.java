@@ -0,0 +1,66 @@
+package com.teckiz.journalindex.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/**
+ * Immutable record parsed from an OAI-PMH ListRecords response
+ * Field names are fixed components instead of per-record HashMap keys;
+ * repeated Dublin Core elements (creator, subject) keep every value.
+ * Serializes to the same JSON keys as the former Map based result.
+ */
+@JsonPropertyOrder({
+        "identifier", "datestamp", "setSpec", "status",
+        "title", "creator", "subject", "description", "publisher", "date",
+        "type", "format", "language", "rights", "metadataIdentifier",
+        "creators", "subjects"
+})
+public record OaiRecord(
+        @JsonProperty("identifier") String identifier,
+        @JsonProperty("datestamp") String datestamp,
+        @JsonProperty("setSpec") String setSpec,
+        @JsonProperty("status") String status,
+        @JsonProperty("title") String title,
+        @JsonProperty("creators") List<String> creators,
+        @JsonProperty("subjects") List<String> subjects,
+        @JsonProperty("description") String description,
+        @JsonProperty("publisher") String publisher,
+        @JsonProperty("date") String date,
+        @JsonProperty("type") String type,
+        @JsonProperty("format") String format,
+        @JsonProperty("language") String language,
+        @JsonProperty("rights") String rights,
+        @JsonProperty("metadataIdentifier") String metadataIdentifier) {
+
+    public OaiRecord {
+        creators = creators == null ? List.of() : List.copyOf(creators);
+        subjects = subjects == null ? List.of() : List.copyOf(subjects);
+    }
+
+    /**
+     * First creator, as exposed by the former "creator" map entry
+     */
+    @JsonProperty("creator")
+    public String creator() {
+        return creators.isEmpty() ? null : creators.get(0);
+    }
+
+    /**
+     * First subject, as exposed by the former "subject" map entry
+     */
+    @JsonProperty("subject")
+    public String subject() {
+        return subjects.isEmpty() ? null : subjects.get(0);
+    }
+
+    /**
+     * Whether the header marks this record as deleted
+     */
+    @JsonIgnore
+    public boolean isDeleted() {
+        return "deleted".equals(status);
+    }
+}
@@ -1,6 +1,8 @@
 package com.teckiz.journalindex.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.teckiz.journalindex.util.PooledStringDeserializer;
 import java.util.List;
 
 /**
@@ -9,9 +11,11 @@ import java.util.List;
 public class SqsArticleMessage {
     
     @JsonProperty("journalKey")
+    @JsonDeserialize(using = PooledStringDeserializer.class)
     private String journalKey;
     
     @JsonProperty("oaiUrl")
+    @JsonDeserialize(using = PooledStringDeserializer.class)
     private String oaiUrl;
     
     @JsonProperty("s3Url")
@@ -27,9 +31,11 @@ public class SqsArticleMessage {
     private String s3FileName;
     
     @JsonProperty("messageType")
+    @JsonDeserialize(using = PooledStringDeserializer.class)
     private String messageType;
     
     @JsonProperty("source")
+    @JsonDeserialize(using = PooledStringDeserializer.class)
     private String source;
     
     @JsonProperty("pageNumber")
@@ -135,18 +141,21 @@ public class SqsArticleMessage {
     public static class ArticleData {
         
         @JsonProperty("journal_key")
+        @JsonDeserialize(using = PooledStringDeserializer.class)
         private String journalKey;
         
         @JsonProperty("created_at")
         private String createdAt;
         
         @JsonProperty("type")
+        @JsonDeserialize(using = PooledStringDeserializer.class)
         private String type;
         
         @JsonProperty("title")
         private String title;
         
         @JsonProperty("title_lang")
+        @JsonDeserialize(using = PooledStringDeserializer.class)
         private String titleLang;
         
         @JsonProperty("creator")
@@ -159,21 +168,26 @@ public class SqsArticleMessage {
         private String description;
         
         @JsonProperty("description_lang")
+        @JsonDeserialize(using = PooledStringDeserializer.class)
         private String descriptionLang;
         
         @JsonProperty("publisher")
+        @JsonDeserialize(using = PooledStringDeserializer.class)
         private String publisher;
         
         @JsonProperty("publisher_lang")
+        @JsonDeserialize(using = PooledStringDeserializer.class)
         private String publisherLang;
         
         @JsonProperty("date")
         private String date;
         
         @JsonProperty("types")
+        @JsonDeserialize(contentUsing = PooledStringDeserializer.class)
         private List<String> types;
         
         @JsonProperty("format")
+        @JsonDeserialize(using = PooledStringDeserializer.class)
         private String format;
         
         @JsonProperty("identifier")
@@ -183,6 +197,7 @@ public class SqsArticleMessage {
         private List<String> sources;
         
         @JsonProperty("language")
+        @JsonDeserialize(using = PooledStringDeserializer.class)
         private String language;
         
         @JsonProperty("relation")
@@ -192,6 +207,7 @@ public class SqsArticleMessage {
         private String datestamp;
         
         @JsonProperty("setSpec")
+        @JsonDeserialize(using = PooledStringDeserializer.class)
         private String setSpec;
         
         // Getters and Setters
@@ -0,0 +1,236 @@
+package com.teckiz.journalindex.parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Streaming reader for SQS article messages
+ * Reads the batch envelope (journalKey, messageType, oaiUrl, batchNumber, ...) and then
+ * yields the entries of the "articles" array one ArticleData at a time, so a large
+ * ArticleBatch never has all of its article graphs live at once.
+ *
+ * Articles are streamed straight from the parser when journalKey and messageType
+ * precede the array; for SQS message bodies (openMessage) oaiUrl and batchNumber must
+ * precede it as well, since the journal and the idempotency key depend on them. When
+ * they only appear after it, the array is buffered as tokens until the envelope is
+ * complete. Envelope fields that follow a streamed array are merged into the envelope
+ * once the last article has been read.
+ * A top-level JSON array is read as a bare list of articles with an empty envelope.
+ */
+public class ArticleBatchReader implements ArticleStream {
+    
+    private static final Logger logger = LogManager.getLogger(ArticleBatchReader.class);
+    
+    private static final String ARTICLES_FIELD = "articles";
+    private static final String ARTICLE_FIELD = "article";
+    
+    // Envelope fields that must be known before articles are streamed
+    private static final Set<String> PAYLOAD_FIELDS = Set.of("journalKey", "messageType");
+    private static final Set<String> MESSAGE_FIELDS = Set.of("journalKey", "messageType", "oaiUrl", "batchNumber");
+    
+    private final ObjectReader envelopeReader;
+    private final ObjectReader articleReader;
+    private final JsonParser parser;
+    private final Set<String> streamingFields;
+    private final SqsArticleMessage envelope;
+    
+    // Parser positioned inside the articles array (the main parser or a buffered copy), null when exhausted
+    private JsonParser articlesParser;
+    private SqsArticleMessage.ArticleData nextArticle;
+    private int articlesRead;
+    private boolean inlineArticles;
+    
+    private ArticleBatchReader(ObjectReader reader, JsonParser parser, Set<String> streamingFields) throws IOException {
+        this.envelopeReader = reader.forType(SqsArticleMessage.class);
+        this.articleReader = reader.forType(SqsArticleMessage.ArticleData.class);
+        this.parser = parser;
+        this.streamingFields = streamingFields;
+        this.envelope = readEnvelope();
+    }
+    
+    /**
+     * Open a reader over a claim-check payload or other article document
+     * The ObjectReader's attributes (e.g. the invocation StringPool) apply to every value read
+     */
+    public static ArticleBatchReader open(ObjectReader reader, String json) throws IOException {
+        return new ArticleBatchReader(reader, reader.createParser(json), PAYLOAD_FIELDS);
+    }
+    
+    /**
+     * Open a reader over a payload stream; the stream is closed with the reader
+     */
+    public static ArticleBatchReader open(ObjectReader reader, InputStream input) throws IOException {
+        return new ArticleBatchReader(reader, reader.createParser(input), PAYLOAD_FIELDS);
+    }
+    
+    /**
+     * Open a reader over an SQS message body, whose envelope must be complete before articles are processed
+     */
+    public static ArticleBatchReader openMessage(ObjectReader reader, String json) throws IOException {
+        return new ArticleBatchReader(reader, reader.createParser(json), MESSAGE_FIELDS);
+    }
+    
+    /**
+     * Open a reader over a decoded SQS message body stream; the stream is closed with the reader
+     */
+    public static ArticleBatchReader openMessage(ObjectReader reader, InputStream input) throws IOException {
+        return new ArticleBatchReader(reader, reader.createParser(input), MESSAGE_FIELDS);
+    }
+    
+    /**
+     * Envelope fields of the message; the articles list is never populated
+     */
+    public SqsArticleMessage getEnvelope() {
+        return envelope;
+    }
+    
+    /**
+     * Whether the message carries an "article" object or an "articles" array of its own
+     * The envelope never holds the streamed array, so claim-check routing must ask the reader.
+     */
+    public boolean hasInlineArticles() {
+        return inlineArticles;
+    }
+    
+    /**
+     * Number of articles returned so far
+     */
+    public int getArticlesRead() {
+        return articlesRead;
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (nextArticle == null && articlesParser != null) {
+            nextArticle = readNextArticle();
+        }
+        return nextArticle != null;
+    }
+    
+    @Override
+    public SqsArticleMessage.ArticleData next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more articles in message");
+        }
+        SqsArticleMessage.ArticleData article = nextArticle;
+        nextArticle = null;
+        articlesRead++;
+        return article;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (articlesParser != null && articlesParser != parser) {
+            articlesParser.close();
+        }
+        parser.close();
+    }
+    
+    /**
+     * Read envelope fields up to the articles array (or to the end of the message when the
+     * array has to be buffered) and leave articlesParser positioned inside the array
+     */
+    private SqsArticleMessage readEnvelope() throws IOException {
+        JsonToken first = parser.nextToken();
+        if (first == JsonToken.START_ARRAY) {
+            inlineArticles = true;
+            articlesParser = parser;
+            return new SqsArticleMessage();
+        }
+        if (first != JsonToken.START_OBJECT) {
+            throw new IOException("Message body is not a JSON object or array");
+        }
+        
+        TokenBuffer envelopeTokens = new TokenBuffer(parser);
+        envelopeTokens.writeStartObject();
+        TokenBuffer bufferedArticles = null;
+        Set<String> missingFields = new HashSet<>(streamingFields);
+        
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            
+            if (ARTICLES_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                inlineArticles = true;
+                if (missingFields.isEmpty()) {
+                    // Envelope already known: stream articles straight from the parser
+                    articlesParser = parser;
+                    envelopeTokens.writeEndObject();
+                    return envelopeReader.readValue(envelopeTokens.asParser());
+                }
+                logger.debug("Articles array precedes envelope fields {}, buffering it", missingFields);
+                bufferedArticles = new TokenBuffer(parser);
+                bufferedArticles.copyCurrentStructure(parser);
+                continue;
+            }
+            
+            inlineArticles |= ARTICLE_FIELD.equals(field) && value == JsonToken.START_OBJECT;
+            if (value != JsonToken.VALUE_NULL) {
+                missingFields.remove(field);
+            }
+            envelopeTokens.writeFieldName(field);
+            envelopeTokens.copyCurrentStructure(parser);
+        }
+        
+        envelopeTokens.writeEndObject();
+        if (bufferedArticles != null) {
+            articlesParser = bufferedArticles.asParser(parser.getCodec());
+            articlesParser.nextToken();
+        }
+        return envelopeReader.readValue(envelopeTokens.asParser());
+    }
+    
+    /**
+     * Read the next element of the articles array, or null at its end
+     */
+    private SqsArticleMessage.ArticleData readNextArticle() {
+        try {
+            JsonToken token = articlesParser.nextToken();
+            while (token == JsonToken.VALUE_NULL) {
+                token = articlesParser.nextToken();
+            }
+            if (token == JsonToken.START_OBJECT) {
+                return articleReader.readValue(articlesParser);
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new IOException("Unexpected token in articles array: " + token);
+            }
+            
+            if (articlesParser == parser) {
+                readTrailingEnvelopeFields();
+            }
+            articlesParser = null;
+            return null;
+            
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read article from message: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Merge envelope fields that follow a streamed articles array into the envelope
+     */
+    private void readTrailingEnvelopeFields() throws IOException {
+        TokenBuffer trailingTokens = new TokenBuffer(parser);
+        trailingTokens.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            trailingTokens.writeFieldName(parser.currentName());
+            parser.nextToken();
+            trailingTokens.copyCurrentStructure(parser);
+        }
+        trailingTokens.writeEndObject();
+        envelopeReader.withValueToUpdate(envelope).readValue(trailingTokens.asParser());
+    }
+}
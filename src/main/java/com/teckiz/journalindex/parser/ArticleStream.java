@@ -0,0 +1,13 @@
+package com.teckiz.journalindex.parser;
+
+import com.teckiz.journalindex.model.SqsArticleMessage;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * Articles read incrementally from a message body or claim-check payload
+ * Closing the stream releases the underlying parser and input
+ */
+public interface ArticleStream extends Iterator<SqsArticleMessage.ArticleData>, Closeable {
+}
@@ -0,0 +1,105 @@
+package com.teckiz.journalindex.parser;
+
+import io.airlift.compress.zstd.ZstdInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decodes compressed SQS message bodies
+ * Producers may send an ArticleBatch as base64 of its gzip or zstd bytes and flag it with the
+ * "content-encoding" message attribute. The body is decoded as a stream (base64, then
+ * decompression) straight into the JSON parser; no decoded String or byte[] copy is built.
+ */
+public final class MessageBodyDecoder {
+    
+    public static final String CONTENT_ENCODING_ATTRIBUTE = "content-encoding";
+    
+    public static final String GZIP = "gzip";
+    public static final String ZSTD = "zstd";
+    
+    private static final int BUFFER_SIZE = 8192;
+    
+    private MessageBodyDecoder() {
+    }
+    
+    /**
+     * Whether the content-encoding value marks a compressed body (identity and blank do not)
+     */
+    public static boolean isEncoded(String contentEncoding) {
+        String encoding = normalize(contentEncoding);
+        return !encoding.isEmpty() && !"identity".equals(encoding);
+    }
+    
+    /**
+     * Open the decoded body as a stream
+     * Accepts "gzip" / "zstd" as well as the explicit "gzip+base64" / "zstd+base64" forms
+     */
+    public static InputStream open(String body, String contentEncoding) throws IOException {
+        InputStream compressed = Base64.getMimeDecoder().wrap(new CharSequenceInputStream(body));
+        String encoding = normalize(contentEncoding);
+        
+        switch (encoding) {
+            case GZIP:
+                return new BufferedInputStream(new GZIPInputStream(compressed, BUFFER_SIZE), BUFFER_SIZE);
+            case ZSTD:
+                return new BufferedInputStream(new ZstdInputStream(compressed), BUFFER_SIZE);
+            default:
+                throw new IOException("Unsupported message content-encoding: " + contentEncoding);
+        }
+    }
+    
+    private static String normalize(String contentEncoding) {
+        if (contentEncoding == null) {
+            return "";
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if (encoding.endsWith("+base64")) {
+            encoding = encoding.substring(0, encoding.length() - "+base64".length());
+        }
+        return encoding;
+    }
+    
+    /**
+     * Reads the chars of a base64 body as ASCII bytes without copying it
+     */
+    private static final class CharSequenceInputStream extends InputStream {
+        
+        private final CharSequence chars;
+        private int position;
+        
+        CharSequenceInputStream(CharSequence chars) {
+            this.chars = chars;
+        }
+        
+        @Override
+        public int read() {
+            return position < chars.length() ? chars.charAt(position++) & 0xFF : -1;
+        }
+        
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int remaining = chars.length() - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int count = Math.min(length, remaining);
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = (byte) chars.charAt(position++);
+            }
+            return count;
+        }
+        
+        @Override
+        public int available() {
+            return chars.length() - position;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.teckiz.journalindex.parser;
+
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import com.teckiz.journalindex.util.StringPool;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming (StAX) reader turning an OAI-PMH ListRecords document into ArticleData
+ * Records are read one at a time, so large claim-check payloads are never held as a DOM.
+ * Deleted records are skipped; repeated dc:creator values are joined with "; ".
+ */
+public class OaiArticleStreamReader implements ArticleStream {
+    
+    private static final Logger logger = LogManager.getLogger(OaiArticleStreamReader.class);
+    
+    private static final XMLInputFactory xmlInputFactory = createInputFactory();
+    
+    private final InputStream input;
+    private final XMLStreamReader reader;
+    private final String journalKey;
+    private final StringPool stringPool;
+    
+    private SqsArticleMessage.ArticleData nextArticle;
+    private boolean exhausted;
+    
+    public OaiArticleStreamReader(InputStream input, String journalKey, StringPool stringPool) throws IOException {
+        this.input = input;
+        this.journalKey = journalKey;
+        this.stringPool = stringPool != null ? stringPool : new StringPool();
+        try {
+            this.reader = xmlInputFactory.createXMLStreamReader(input);
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to open OAI XML payload: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public boolean hasNext() {
+        if (nextArticle == null && !exhausted) {
+            nextArticle = readNextArticle();
+            exhausted = nextArticle == null;
+        }
+        return nextArticle != null;
+    }
+    
+    @Override
+    public SqsArticleMessage.ArticleData next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more records in OAI payload");
+        }
+        SqsArticleMessage.ArticleData article = nextArticle;
+        nextArticle = null;
+        return article;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        try {
+            reader.close();
+        } catch (XMLStreamException e) {
+            logger.warn("Error closing OAI XML reader: {}", e.getMessage());
+        } finally {
+            input.close();
+        }
+    }
+    
+    /**
+     * Advance to the next non-deleted record and map it, or return null at the end of the document
+     */
+    private SqsArticleMessage.ArticleData readNextArticle() {
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && "record".equals(reader.getLocalName())) {
+                    SqsArticleMessage.ArticleData article = readRecord();
+                    if (article != null) {
+                        return article;
+                    }
+                }
+            }
+            return null;
+            
+        } catch (XMLStreamException e) {
+            throw new UncheckedIOException(new IOException("Failed to read OAI record: " + e.getMessage(), e));
+        }
+    }
+    
+    /**
+     * Read the current record element; returns null for deleted records
+     */
+    private SqsArticleMessage.ArticleData readRecord() throws XMLStreamException {
+        SqsArticleMessage.ArticleData article = new SqsArticleMessage.ArticleData();
+        article.setJournalKey(journalKey);
+        
+        List<String> creators = new ArrayList<>();
+        List<String> subjects = new ArrayList<>();
+        List<String> types = new ArrayList<>();
+        List<String> sources = new ArrayList<>();
+        List<String> identifiers = new ArrayList<>();
+        boolean deleted = false;
+        boolean inHeader = false;
+        boolean inDc = false;
+        
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = reader.getLocalName();
+                if ("record".equals(name)) {
+                    break;
+                }
+                if ("header".equals(name)) {
+                    inHeader = false;
+                } else if ("dc".equals(name)) {
+                    inDc = false;
+                }
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            
+            String name = reader.getLocalName();
+            if ("header".equals(name)) {
+                inHeader = true;
+                deleted = "deleted".equals(reader.getAttributeValue(null, "status"));
+            } else if ("dc".equals(name)) {
+                inDc = true;
+            } else if (inHeader) {
+                if ("datestamp".equals(name)) {
+                    article.setDatestamp(reader.getElementText().trim());
+                } else if ("setSpec".equals(name) && article.getSetSpec() == null) {
+                    article.setSetSpec(stringPool.dedupe(reader.getElementText().trim()));
+                }
+            } else if (inDc) {
+                readDcField(article, name, creators, subjects, types, sources, identifiers);
+            }
+        }
+        
+        if (deleted) {
+            return null;
+        }
+        
+        if (!creators.isEmpty()) {
+            article.setCreator(String.join("; ", creators));
+        }
+        article.setSubjects(subjects);
+        article.setTypes(types);
+        article.setSources(sources);
+        if (!types.isEmpty()) {
+            article.setType(types.get(0));
+        }
+        article.setIdentifier(selectIdentifier(identifiers));
+        return article;
+    }
+    
+    private void readDcField(SqsArticleMessage.ArticleData article, String name, List<String> creators,
+                             List<String> subjects, List<String> types, List<String> sources,
+                             List<String> identifiers) throws XMLStreamException {
+        String text = reader.getElementText().trim();
+        if (text.isEmpty()) {
+            return;
+        }
+        
+        switch (name) {
+            case "title":
+                if (article.getTitle() == null) {
+                    article.setTitle(text);
+                }
+                break;
+            case "creator":
+                creators.add(text);
+                break;
+            case "subject":
+                subjects.add(stringPool.dedupe(text));
+                break;
+            case "description":
+                if (article.getDescription() == null) {
+                    article.setDescription(text);
+                }
+                break;
+            case "publisher":
+                article.setPublisher(stringPool.dedupe(text));
+                break;
+            case "date":
+                if (article.getDate() == null) {
+                    article.setDate(text);
+                }
+                break;
+            case "type":
+                types.add(stringPool.dedupe(text));
+                break;
+            case "format":
+                article.setFormat(stringPool.dedupe(text));
+                break;
+            case "identifier":
+                identifiers.add(text);
+                break;
+            case "source":
+                sources.add(text);
+                break;
+            case "language":
+                article.setLanguage(stringPool.dedupe(text));
+                break;
+            case "relation":
+                if (article.getRelation() == null) {
+                    article.setRelation(text);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+    
+    /**
+     * Prefer the landing page URL among dc:identifier values (others are often DOIs)
+     */
+    private String selectIdentifier(List<String> identifiers) {
+        for (String identifier : identifiers) {
+            if (identifier.startsWith("http://") || identifier.startsWith("https://")) {
+                return identifier;
+            }
+        }
+        return identifiers.isEmpty() ? null : identifiers.get(0);
+    }
+    
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -1,10 +1,13 @@
 package com.teckiz.journalindex.parser;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teckiz.journalindex.model.OaiRecord;
+import com.teckiz.journalindex.util.StringPool;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -14,6 +17,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Parser for OAI-PMH XML data
@@ -23,6 +30,26 @@ public class OaiDataParser {
     private static final Logger logger = LogManager.getLogger(OaiDataParser.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
     
+    // OAI header fields, in the order they are stored
+    private static final String[] HEADER_FIELDS = {"identifier", "datestamp", "setSpec"};
+    
+    // Dublin Core fields extracted from each record, indexed by the DC_* constants below
+    private static final String[] DC_FIELDS = {
+            "title", "creator", "subject", "description", "publisher", "date",
+            "type", "format", "language", "rights", "identifier"
+    };
+    private static final int DC_TITLE = 0;
+    private static final int DC_CREATOR = 1;
+    private static final int DC_SUBJECT = 2;
+    private static final int DC_DESCRIPTION = 3;
+    private static final int DC_PUBLISHER = 4;
+    private static final int DC_DATE = 5;
+    private static final int DC_TYPE = 6;
+    private static final int DC_FORMAT = 7;
+    private static final int DC_LANGUAGE = 8;
+    private static final int DC_RIGHTS = 9;
+    private static final int DC_IDENTIFIER = 10;
+    
     /**
      * Parse OAI Identify response to extract repository information
      */
@@ -66,74 +93,163 @@ public class OaiDataParser {
     /**
      * Parse OAI ListRecords response to extract journal records
      */
-    public List<Map<String, Object>> parseListRecordsResponse(String xmlData) {
-        List<Map<String, Object>> records = new ArrayList<>();
-        
+    public List<OaiRecord> parseListRecordsResponse(String xmlData) {
+        try (Stream<OaiRecord> records = streamListRecordsResponse(xmlData)) {
+            return records.collect(Collectors.toList());
+        }
+    }
+    
+    /**
+     * Stream records of an OAI ListRecords response
+     * Each OaiRecord is built lazily from its DOM element as the stream is consumed,
+     * so callers that process records one at a time never hold the full result list
+     */
+    public Stream<OaiRecord> streamListRecordsResponse(String xmlData) {
+        NodeList recordNodes;
         try {
             Document doc = parseXml(xmlData);
-            NodeList recordNodes = doc.getElementsByTagName("record");
-            
-            for (int i = 0; i < recordNodes.getLength(); i++) {
-                Element recordElement = (Element) recordNodes.item(i);
-                Map<String, Object> record = parseRecord(recordElement);
-                if (record != null) {
-                    records.add(record);
-                }
-            }
-            
+            recordNodes = doc.getElementsByTagName("record");
         } catch (Exception e) {
             logger.error("Error parsing OAI ListRecords response", e);
+            return Stream.empty();
         }
         
-        return records;
+        // One pool per response: publisher, setSpec, type, format, language and subjects repeat across records
+        StringPool stringPool = new StringPool();
+        return IntStream.range(0, recordNodes.getLength())
+                .mapToObj(i -> parseRecord((Element) recordNodes.item(i), stringPool))
+                .filter(Objects::nonNull);
     }
     
     /**
      * Parse individual OAI record
+     * Header and dc children are each walked once; repeated dc elements keep every value
      */
-    private Map<String, Object> parseRecord(Element recordElement) {
-        Map<String, Object> record = new HashMap<>();
-        
+    private OaiRecord parseRecord(Element recordElement, StringPool stringPool) {
         try {
+            Element headerElement = findChildElement(recordElement, "header");
+            Element metadataElement = findChildElement(recordElement, "metadata");
+            
             // Extract header information
-            Element headerElement = (Element) recordElement.getElementsByTagName("header").item(0);
+            String[] headerValues = new String[HEADER_FIELDS.length];
+            String status = null;
             if (headerElement != null) {
-                record.put("identifier", getTextContent(headerElement, "identifier"));
-                record.put("datestamp", getTextContent(headerElement, "datestamp"));
-                record.put("setSpec", getTextContent(headerElement, "setSpec"));
-                record.put("status", headerElement.getAttribute("status"));
-            }
-            
-            // Extract metadata
-            Element metadataElement = (Element) recordElement.getElementsByTagName("metadata").item(0);
-            if (metadataElement != null) {
-                // Try to find oai_dc:dc element first, then fall back to dc
-                Element dcElement = (Element) metadataElement.getElementsByTagName("oai_dc:dc").item(0);
-                if (dcElement == null) {
-                    dcElement = (Element) metadataElement.getElementsByTagName("dc").item(0);
-                }
-                
-                if (dcElement != null) {
-                    record.put("title", getTextContent(dcElement, "title"));
-                    record.put("creator", getTextContent(dcElement, "creator"));
-                    record.put("subject", getTextContent(dcElement, "subject"));
-                    record.put("description", getTextContent(dcElement, "description"));
-                    record.put("publisher", getTextContent(dcElement, "publisher"));
-                    record.put("date", getTextContent(dcElement, "date"));
-                    record.put("type", getTextContent(dcElement, "type"));
-                    record.put("format", getTextContent(dcElement, "format"));
-                    record.put("language", getTextContent(dcElement, "language"));
-                    record.put("rights", getTextContent(dcElement, "rights"));
-                    record.put("metadataIdentifier", getTextContent(dcElement, "identifier"));
+                for (Node child = headerElement.getFirstChild(); child != null; child = child.getNextSibling()) {
+                    if (child.getNodeType() != Node.ELEMENT_NODE) {
+                        continue;
+                    }
+                    int field = indexOf(HEADER_FIELDS, localName(child));
+                    if (field >= 0 && headerValues[field] == null) {
+                        headerValues[field] = child.getTextContent().trim();
+                    }
                 }
+                headerValues[2] = stringPool.dedupe(headerValues[2]);
+                status = stringPool.dedupe(headerElement.getAttribute("status"));
             }
             
+            // Extract metadata from the oai_dc:dc (or plain dc) element
+            Element dcElement = metadataElement != null ? findChildElement(metadataElement, "dc") : null;
+            List<List<String>> dc = dcElement != null ? collectDcValues(dcElement, stringPool) : emptyDcValues();
+            
+            return new OaiRecord(
+                    headerValues[0],
+                    headerValues[1],
+                    headerValues[2],
+                    status,
+                    first(dc.get(DC_TITLE)),
+                    dc.get(DC_CREATOR),
+                    dc.get(DC_SUBJECT),
+                    first(dc.get(DC_DESCRIPTION)),
+                    first(dc.get(DC_PUBLISHER)),
+                    first(dc.get(DC_DATE)),
+                    first(dc.get(DC_TYPE)),
+                    first(dc.get(DC_FORMAT)),
+                    first(dc.get(DC_LANGUAGE)),
+                    first(dc.get(DC_RIGHTS)),
+                    first(dc.get(DC_IDENTIFIER)));
+            
         } catch (Exception e) {
             logger.error("Error parsing OAI record", e);
             return null;
         }
+    }
+    
+    /**
+     * Title, description and identifier are unique per record and are not worth pooling
+     */
+    private static boolean isPooledDcField(int field) {
+        return field != DC_TITLE && field != DC_DESCRIPTION && field != DC_IDENTIFIER;
+    }
+    
+    private static String first(List<String> values) {
+        return values.isEmpty() ? null : values.get(0);
+    }
+    
+    private List<List<String>> emptyDcValues() {
+        List<List<String>> values = new ArrayList<>(DC_FIELDS.length);
+        for (int i = 0; i < DC_FIELDS.length; i++) {
+            values.add(List.of());
+        }
+        return values;
+    }
+    
+    /**
+     * Walk the dc element's children once, collecting the text of every known DC field
+     * Returned lists are indexed like DC_FIELDS and keep document order
+     * Values of fields that repeat across records are deduplicated through the pool
+     */
+    private List<List<String>> collectDcValues(Element dcElement, StringPool stringPool) {
+        List<List<String>> values = new ArrayList<>(DC_FIELDS.length);
+        for (int i = 0; i < DC_FIELDS.length; i++) {
+            values.add(new ArrayList<>(1));
+        }
         
-        return record;
+        for (Node child = dcElement.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+            int field = indexOf(DC_FIELDS, localName(child));
+            if (field >= 0) {
+                String text = child.getTextContent().trim();
+                values.get(field).add(isPooledDcField(field) ? stringPool.dedupe(text) : text);
+            }
+        }
+        
+        return values;
+    }
+    
+    /**
+     * Find the first direct child element with the given local name
+     */
+    private Element findChildElement(Element parent, String name) {
+        for (Node child = parent.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE && name.equals(localName(child))) {
+                return (Element) child;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Local name of a node, ignoring any namespace prefix (dc:title -> title)
+     */
+    private static String localName(Node node) {
+        String name = node.getLocalName();
+        if (name != null) {
+            return name;
+        }
+        name = node.getNodeName();
+        int colon = name.indexOf(':');
+        return colon >= 0 ? name.substring(colon + 1) : name;
+    }
+    
+    private static int indexOf(String[] fields, String name) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
     }
     
     /**
@@ -0,0 +1,145 @@
+package com.teckiz.journalindex.reference;
+
+import com.teckiz.journalindex.entity.IndexCountry;
+import com.teckiz.journalindex.entity.IndexJournalLanguage;
+import com.teckiz.journalindex.entity.IndexLanguage;
+import com.teckiz.journalindex.util.TextFolding;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the language and country reference tables
+ * Languages are found by code_a, code_b or name, and countries by code or name, all compared
+ * folded (case and accents ignored). Regional tags such as "en_US" or "pt-BR" fall back to
+ * their language part. When several rows share a code or name, the one with the lowest id wins.
+ */
+public final class ReferenceData {
+    
+    public static final ReferenceData EMPTY = new ReferenceData(Map.of(), Map.of(), Map.of(), Map.of(), Map.of());
+    
+    private final Map<String, Long> languageIdsByCode;
+    private final Map<String, Long> languageIdsByName;
+    private final Map<String, Long> countryIdsByCode;
+    private final Map<String, Long> countryIdsByName;
+    
+    // Language of each journal that declares exactly one
+    private final Map<Long, Long> languageIdsByJournal;
+    
+    private ReferenceData(Map<String, Long> languageIdsByCode, Map<String, Long> languageIdsByName,
+                          Map<String, Long> countryIdsByCode, Map<String, Long> countryIdsByName,
+                          Map<Long, Long> languageIdsByJournal) {
+        this.languageIdsByCode = languageIdsByCode;
+        this.languageIdsByName = languageIdsByName;
+        this.countryIdsByCode = countryIdsByCode;
+        this.countryIdsByName = countryIdsByName;
+        this.languageIdsByJournal = languageIdsByJournal;
+    }
+    
+    /**
+     * Snapshot of reference rows, each list ordered by id
+     */
+    public static ReferenceData of(List<IndexLanguage> languages, List<IndexJournalLanguage> journalLanguages,
+                                   List<IndexCountry> countries) {
+        Map<String, Long> languageIdsByCode = new HashMap<>();
+        Map<String, Long> languageIdsByName = new HashMap<>();
+        for (IndexLanguage language : languages) {
+            put(languageIdsByCode, language.getCodeA(), language.getId());
+            put(languageIdsByCode, language.getCodeB(), language.getId());
+            put(languageIdsByName, language.getName(), language.getId());
+        }
+        
+        Map<String, Long> countryIdsByCode = new HashMap<>();
+        Map<String, Long> countryIdsByName = new HashMap<>();
+        for (IndexCountry country : countries) {
+            put(countryIdsByCode, country.getCode(), country.getId());
+            put(countryIdsByName, country.getName(), country.getId());
+        }
+        
+        Map<Long, Set<Long>> languagesByJournal = new HashMap<>();
+        for (IndexJournalLanguage journalLanguage : journalLanguages) {
+            if (journalLanguage.getIndexJournal() == null) {
+                continue;
+            }
+            Long languageId = find(languageIdsByCode, journalLanguage.getCodeA());
+            if (languageId == null) {
+                languageId = find(languageIdsByCode, journalLanguage.getCodeB());
+            }
+            if (languageId == null) {
+                languageId = find(languageIdsByName, journalLanguage.getName());
+            }
+            if (languageId != null) {
+                languagesByJournal.computeIfAbsent(journalLanguage.getIndexJournal().getId(), id -> new HashSet<>())
+                        .add(languageId);
+            }
+        }
+        Map<Long, Long> languageIdsByJournal = new HashMap<>();
+        languagesByJournal.forEach((journalId, languageIds) -> {
+            if (languageIds.size() == 1) {
+                languageIdsByJournal.put(journalId, languageIds.iterator().next());
+            }
+        });
+        
+        return new ReferenceData(Map.copyOf(languageIdsByCode), Map.copyOf(languageIdsByName),
+                Map.copyOf(countryIdsByCode), Map.copyOf(countryIdsByName), Map.copyOf(languageIdsByJournal));
+    }
+    
+    /**
+     * Id of a language given as code, regional tag or name
+     */
+    public Optional<Long> findLanguageId(String language) {
+        Long id = find(languageIdsByCode, language);
+        if (id == null) {
+            id = find(languageIdsByName, language);
+        }
+        if (id == null && language != null) {
+            int region = regionStart(language);
+            if (region > 0) {
+                id = find(languageIdsByCode, language.substring(0, region));
+            }
+        }
+        return Optional.ofNullable(id);
+    }
+    
+    /**
+     * Id of the only language a journal declares
+     */
+    public Optional<Long> findJournalLanguageId(Long journalId) {
+        return journalId == null ? Optional.empty() : Optional.ofNullable(languageIdsByJournal.get(journalId));
+    }
+    
+    /**
+     * Id of a country given as code or name
+     */
+    public Optional<Long> findCountryId(String country) {
+        Long id = find(countryIdsByCode, country);
+        if (id == null) {
+            id = find(countryIdsByName, country);
+        }
+        return Optional.ofNullable(id);
+    }
+    
+    private static void put(Map<String, Long> ids, String value, Long id) {
+        if (value != null && !value.isBlank() && id != null) {
+            ids.putIfAbsent(TextFolding.foldKey(value), id);
+        }
+    }
+    
+    private static Long find(Map<String, Long> ids, String value) {
+        return value == null || value.isBlank() ? null : ids.get(TextFolding.foldKey(value));
+    }
+    
+    private static int regionStart(String tag) {
+        for (int i = 0; i < tag.length(); i++) {
+            char c = tag.charAt(i);
+            if (c == '_' || c == '-') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,120 @@
+package com.teckiz.journalindex.reference;
+
+import com.teckiz.journalindex.dao.ReferenceDataDao;
+import com.teckiz.journalindex.db.ShardLocal;
+import com.teckiz.journalindex.entity.IndexCountry;
+import com.teckiz.journalindex.entity.IndexJournalLanguage;
+import com.teckiz.journalindex.entity.IndexLanguage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Language and country reference data loaded once per warm container
+ * The three reference tables are read in full on first use and again once the TTL has passed
+ * (REFERENCE_DATA_TTL_SECONDS, default one hour), so tagging articles costs no per-article
+ * queries. A failed reload keeps the previous snapshot until the next TTL; a failed first
+ * load leaves articles untagged rather than failing them. Enabled with
+ * REFERENCE_TAGGING_ENABLED=true once IndexJournalArticle has its language and country columns.
+ */
+public class ReferenceDataCache {
+    
+    private static final Logger logger = LogManager.getLogger(ReferenceDataCache.class);
+    
+    public static final long DEFAULT_TTL_SECONDS = 3600;
+    
+    private static final boolean TAGGING_ENABLED = "true".equalsIgnoreCase(System.getenv("REFERENCE_TAGGING_ENABLED"));
+    
+    private static final long TTL_SECONDS = ttlFromEnvironment();
+    
+    // Reference rows and their ids belong to a database shard, so each shard gets its own cache
+    private static final ShardLocal<ReferenceDataCache> SHARED =
+            new ShardLocal<>(shard -> new ReferenceDataCache(ReferenceDataCache::loadFromDatabase, TTL_SECONDS, System::nanoTime));
+    
+    private final Supplier<ReferenceData> loader;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    
+    private volatile ReferenceData snapshot;
+    private volatile long expiresAtNanos;
+    
+    public ReferenceDataCache(Supplier<ReferenceData> loader, long ttlSeconds, LongSupplier nanoClock) {
+        this.loader = loader;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * Cache of the current shard, shared by the writers of this container
+     */
+    public static ReferenceDataCache shared() {
+        return SHARED.get();
+    }
+    
+    /**
+     * Whether articles are tagged and the index_language_id / index_country_id columns are read and written
+     */
+    public static boolean isTaggingEnabled() {
+        return TAGGING_ENABLED;
+    }
+    
+    /**
+     * Current snapshot, loading it first when it is missing or expired
+     */
+    public ReferenceData get() {
+        ReferenceData current = snapshot;
+        if (current != null && nanoClock.getAsLong() - expiresAtNanos < 0) {
+            return current;
+        }
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            if (snapshot != null && now - expiresAtNanos < 0) {
+                return snapshot;
+            }
+            try {
+                snapshot = loader.get();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to load reference data, {}: {}",
+                           snapshot != null ? "keeping the previous snapshot" : "articles stay untagged", e.getMessage());
+                if (snapshot == null) {
+                    snapshot = ReferenceData.EMPTY;
+                }
+            }
+            expiresAtNanos = now + ttlNanos;
+            return snapshot;
+        }
+    }
+    
+    /**
+     * Drop the snapshot so the next get() reloads it
+     */
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+    
+    private static ReferenceData loadFromDatabase() {
+        long start = System.currentTimeMillis();
+        List<IndexLanguage> languages = ReferenceDataDao.findAllLanguages();
+        List<IndexJournalLanguage> journalLanguages = ReferenceDataDao.findAllJournalLanguages();
+        List<IndexCountry> countries = ReferenceDataDao.findAllCountries();
+        logger.info("Loaded {} languages, {} journal languages and {} countries in {} ms",
+                   languages.size(), journalLanguages.size(), countries.size(), System.currentTimeMillis() - start);
+        return ReferenceData.of(languages, journalLanguages, countries);
+    }
+    
+    private static long ttlFromEnvironment() {
+        String ttl = System.getenv("REFERENCE_DATA_TTL_SECONDS");
+        if (ttl != null && !ttl.isBlank()) {
+            try {
+                return Long.parseLong(ttl.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid REFERENCE_DATA_TTL_SECONDS '{}', using {} seconds", ttl, DEFAULT_TTL_SECONDS);
+            }
+        }
+        return DEFAULT_TTL_SECONDS;
+    }
+}
@@ -23,7 +23,9 @@ public interface IndexJournalArticleRepository extends JpaRepository<IndexJourna
     
     /**
      * Find articles by company
+     * @deprecated loads every match into memory; use ArticleDao.findPageByCompanyId with keyset pages or KeysetIterator
      */
+    @Deprecated
     List<IndexJournalArticle> findByCompanyId(Long companyId);
     
     /**
@@ -55,23 +57,32 @@ public interface IndexJournalArticleRepository extends JpaRepository<IndexJourna
     
     /**
      * Find articles published after date
+     * @deprecated loads every match into memory; use ArticleDao.findPageByPublishedAtAfter with keyset pages or KeysetIterator
      */
+    @Deprecated
     List<IndexJournalArticle> findByPublishedAtAfter(LocalDateTime publishedAt);
     
     /**
      * Find articles published between dates
+     * @deprecated loads every match into memory; use ArticleDao.findPageByPublishedAtBetween with keyset pages or KeysetIterator
      */
+    @Deprecated
     List<IndexJournalArticle> findByPublishedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     
     /**
      * Search articles by title containing
+     * @deprecated full table scan; use ArticleSearch.index().search(ArticleSearchIndex.Field.TITLE, ...)
      */
+    @Deprecated
     @Query("SELECT a FROM IndexJournalArticle a WHERE a.title LIKE %:title%")
     List<IndexJournalArticle> findByTitleContaining(@Param("title") String title);
     
     /**
      * Search articles by keywords containing
+     * @deprecated full table scan; use ArticleSearch.index().search(ArticleSearchIndex.Field.KEYWORDS, ...)
+     * or, for exact keywords, KeywordDao.findArticleIdsByKeywordId
      */
+    @Deprecated
     @Query("SELECT a FROM IndexJournalArticle a WHERE a.keywords LIKE %:keywords%")
     List<IndexJournalArticle> findByKeywordsContaining(@Param("keywords") String keywords);
     
@@ -20,9 +20,16 @@ public interface IndexJournalAuthorRepository extends JpaRepository<IndexJournal
      */
     List<IndexJournalAuthor> findByIndexJournalArticleId(Long articleId);
     
+    /**
+     * Find author rows of a canonical author key
+     */
+    List<IndexJournalAuthor> findByAuthorId(String authorId);
+    
     /**
      * Find author by name
+     * @deprecated exact string match on one spelling; use AuthorIdentityIndex.findAuthorKey and findByAuthorId
      */
+    @Deprecated
     Optional<IndexJournalAuthor> findByName(String name);
     
     /**
@@ -48,7 +55,9 @@ public interface IndexJournalAuthorRepository extends JpaRepository<IndexJournal
     
     /**
      * Search authors by name containing
+     * @deprecated full table scan; use ArticleSearch.index().search(ArticleSearchIndex.Field.AUTHORS, ...)
      */
+    @Deprecated
     @Query("SELECT a FROM IndexJournalAuthor a WHERE a.name LIKE %:name%")
     List<IndexJournalAuthor> findByNameContaining(@Param("name") String name);
     
@@ -94,7 +94,9 @@ public interface IndexJournalRepository extends JpaRepository<IndexJournal, Long
     
     /**
      * Search journals by multiple criteria
+     * @deprecated unbounded catch-all query; use JournalDao.search(JournalCriteria, cursor, pageSize)
      */
+    @Deprecated
     @Query("SELECT j FROM IndexJournal j WHERE " +
            "(:name IS NULL OR j.name LIKE %:name%) AND " +
            "(:publisher IS NULL OR j.publisher LIKE %:publisher%) AND " +
@@ -28,7 +28,9 @@ public interface IndexJournalVolumeRepository extends JpaRepository<IndexJournal
     
     /**
      * Find volumes by journal
+     * @deprecated loads every match into memory; use VolumeDao.findPageByJournalId with keyset pages or KeysetIterator
      */
+    @Deprecated
     List<IndexJournalVolume> findByIndexJournalId(Long journalId);
     
     /**
@@ -0,0 +1,55 @@
+package com.teckiz.journalindex.search;
+
+import com.teckiz.journalindex.entity.IndexJournalArticle;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holder of the article search index the DAOs report to
+ * Enabled with SEARCH_INDEX_ENABLED=true once the IndexJournalArticleSearch table exists;
+ * otherwise a no-op index is used and saves cost nothing extra.
+ */
+public final class ArticleSearch {
+    
+    private static final ArticleSearchIndex DISABLED = new ArticleSearchIndex() {
+        @Override
+        public void articlesSaved(List<IndexJournalArticle> articles) {
+        }
+        
+        @Override
+        public void authorsSaved(Long articleId, List<String> authorNames) {
+        }
+        
+        @Override
+        public void reindex(Collection<Long> articleIds) {
+        }
+        
+        @Override
+        public List<ArticleSearchHit> search(Field field, String query, int limit) {
+            return Collections.emptyList();
+        }
+    };
+    
+    private static volatile ArticleSearchIndex index =
+            "true".equalsIgnoreCase(System.getenv("SEARCH_INDEX_ENABLED")) ? new MySqlFullTextIndex() : DISABLED;
+    
+    private ArticleSearch() {
+    }
+    
+    public static ArticleSearchIndex index() {
+        return index;
+    }
+    
+    public static boolean isEnabled() {
+        return index != DISABLED;
+    }
+    
+    /**
+     * Replace the index (tools with their own connections, tests); null disables indexing
+     */
+    public static void setIndex(ArticleSearchIndex searchIndex) {
+        index = searchIndex != null ? searchIndex : DISABLED;
+    }
+}
@@ -0,0 +1,40 @@
+package com.teckiz.journalindex.search;
+
+/**
+ * One ranked search result
+ */
+public class ArticleSearchHit {
+    
+    private final Long articleId;
+    private final String title;
+    private final String pageUrl;
+    private final double score;
+    
+    public ArticleSearchHit(Long articleId, String title, String pageUrl, double score) {
+        this.articleId = articleId;
+        this.title = title;
+        this.pageUrl = pageUrl;
+        this.score = score;
+    }
+    
+    public Long getArticleId() {
+        return articleId;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getPageUrl() {
+        return pageUrl;
+    }
+    
+    public double getScore() {
+        return score;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ArticleSearchHit{articleId=%d, score=%.3f, title='%s'}", articleId, score, title);
+    }
+}
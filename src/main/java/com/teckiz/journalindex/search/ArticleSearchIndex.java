@@ -0,0 +1,48 @@
+package com.teckiz.journalindex.search;
+
+import com.teckiz.journalindex.entity.IndexJournalArticle;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Ranked full-text search over article titles, abstracts, keywords and author names
+ * The DAOs push every saved article and author list to the index, so it is kept up to
+ * date incrementally; reindex() rebuilds documents from the base tables.
+ */
+public interface ArticleSearchIndex {
+    
+    /**
+     * Searchable fields; ALL ranks title matches above matches in the other fields
+     */
+    enum Field {
+        ALL,
+        TITLE,
+        KEYWORDS,
+        AUTHORS
+    }
+    
+    /**
+     * Index the text fields of saved articles (the articles must have ids)
+     */
+    void articlesSaved(List<IndexJournalArticle> articles);
+    
+    /**
+     * Index the author names of an article
+     */
+    void authorsSaved(Long articleId, List<String> authorNames);
+    
+    /**
+     * Rebuild the documents of the given articles from the article and author tables
+     */
+    void reindex(Collection<Long> articleIds);
+    
+    /**
+     * Best matches first
+     */
+    List<ArticleSearchHit> search(Field field, String query, int limit);
+    
+    default List<ArticleSearchHit> search(String query, int limit) {
+        return search(Field.ALL, query, limit);
+    }
+}
@@ -0,0 +1,232 @@
+package com.teckiz.journalindex.search;
+
+import com.teckiz.journalindex.db.DatabaseManager;
+import com.teckiz.journalindex.db.ReadConsistency;
+import com.teckiz.journalindex.entity.IndexJournalArticle;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ArticleSearchIndex backed by InnoDB FULLTEXT indexes on the IndexJournalArticleSearch table
+ * The table holds one denormalized document per article (title, abstract, keywords and the
+ * author names joined with "; "), since a FULLTEXT index cannot span the article and author
+ * tables. Writes fail open: an indexing error is logged and never fails the save itself.
+ */
+public class MySqlFullTextIndex implements ArticleSearchIndex {
+    
+    private static final Logger logger = LogManager.getLogger(MySqlFullTextIndex.class);
+    
+    // Weight of a title match relative to a match anywhere in the document
+    private static final int TITLE_BOOST = 2;
+    
+    // InnoDB ignores shorter tokens (innodb_ft_min_token_size)
+    private static final int MIN_TOKEN_LENGTH = 3;
+    
+    private static final int REINDEX_CHUNK_SIZE = 500;
+    
+    private static final String ALL_COLUMNS = "s.title_text, s.abstract_text, s.keywords_text, s.author_names";
+    
+    /**
+     * Source of connections; each call's connection is closed after use
+     */
+    public interface ConnectionSource {
+        Connection open() throws SQLException;
+    }
+    
+    private final ConnectionSource connections;
+    private final ConnectionSource searchConnections;
+    
+    /**
+     * Index maintained on the primary and searched on the replica when one is usable
+     */
+    public MySqlFullTextIndex() {
+        this(DatabaseManager::getConnection, () -> DatabaseManager.getConnection(ReadConsistency.EVENTUAL));
+    }
+    
+    public MySqlFullTextIndex(ConnectionSource connections) {
+        this(connections, connections);
+    }
+    
+    public MySqlFullTextIndex(ConnectionSource connections, ConnectionSource searchConnections) {
+        this.connections = connections;
+        this.searchConnections = searchConnections;
+    }
+    
+    @Override
+    public void articlesSaved(List<IndexJournalArticle> articles) {
+        if (articles.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO IndexJournalArticleSearch " +
+                     "(index_journal_article_id, title_text, abstract_text, keywords_text, updated_at) " +
+                     "VALUES (?, ?, ?, ?, NOW()) " +
+                     "ON DUPLICATE KEY UPDATE title_text = VALUES(title_text), abstract_text = VALUES(abstract_text), " +
+                     "keywords_text = VALUES(keywords_text), updated_at = VALUES(updated_at)";
+        
+        try (Connection conn = connections.open();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            for (IndexJournalArticle article : articles) {
+                stmt.setLong(1, article.getId());
+                stmt.setString(2, article.getTitle());
+                stmt.setString(3, article.getAbstractText());
+                stmt.setString(4, article.getKeywords());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            logger.debug("Indexed {} articles for search", articles.size());
+            
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Failed to index {} articles for search: {}", articles.size(), e.getMessage());
+        }
+    }
+    
+    @Override
+    public void authorsSaved(Long articleId, List<String> authorNames) {
+        String sql = "INSERT INTO IndexJournalArticleSearch (index_journal_article_id, author_names, updated_at) " +
+                     "VALUES (?, ?, NOW()) " +
+                     "ON DUPLICATE KEY UPDATE author_names = VALUES(author_names), updated_at = VALUES(updated_at)";
+        
+        try (Connection conn = connections.open();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setLong(1, articleId);
+            stmt.setString(2, String.join("; ", authorNames));
+            stmt.executeUpdate();
+            
+        } catch (SQLException | RuntimeException e) {
+            logger.warn("Failed to index authors of article {} for search: {}", articleId, e.getMessage());
+        }
+    }
+    
+    @Override
+    public void reindex(Collection<Long> articleIds) {
+        List<Long> ids = new ArrayList<>(articleIds);
+        
+        try (Connection conn = connections.open()) {
+            for (int from = 0; from < ids.size(); from += REINDEX_CHUNK_SIZE) {
+                List<Long> chunk = ids.subList(from, Math.min(from + REINDEX_CHUNK_SIZE, ids.size()));
+                String sql = "INSERT INTO IndexJournalArticleSearch " +
+                             "(index_journal_article_id, title_text, abstract_text, keywords_text, author_names, updated_at) " +
+                             "SELECT a.id, a.title_text, a.abstract_text, a.keywords_text, " +
+                             "(SELECT GROUP_CONCAT(au.name ORDER BY au.id SEPARATOR '; ') FROM IndexJournalAuthor au " +
+                             "WHERE au.index_journal_article_id = a.id), NOW() " +
+                             "FROM IndexJournalArticle a WHERE a.id IN (" +
+                             String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") " +
+                             "ON DUPLICATE KEY UPDATE title_text = VALUES(title_text), abstract_text = VALUES(abstract_text), " +
+                             "keywords_text = VALUES(keywords_text), author_names = VALUES(author_names), " +
+                             "updated_at = VALUES(updated_at)";
+                
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setLong(i + 1, chunk.get(i));
+                    }
+                    stmt.executeUpdate();
+                }
+            }
+            logger.info("Reindexed {} articles for search", ids.size());
+            
+        } catch (SQLException e) {
+            logger.error("Error reindexing {} articles for search", ids.size(), e);
+            throw new RuntimeException("Failed to reindex articles: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public List<ArticleSearchHit> search(Field field, String query, int limit) {
+        List<ArticleSearchHit> hits = new ArrayList<>();
+        String sql;
+        String against;
+        
+        if (field == Field.ALL) {
+            if (query == null || query.isBlank()) {
+                return hits;
+            }
+            // Natural language mode ranks by relevance across all fields, boosted by title matches
+            against = query;
+            sql = "SELECT s.index_journal_article_id, a.title_text, a.page_url, " +
+                  "MATCH(s.title_text) AGAINST (? IN NATURAL LANGUAGE MODE) * " + TITLE_BOOST + " + " +
+                  "MATCH(" + ALL_COLUMNS + ") AGAINST (? IN NATURAL LANGUAGE MODE) AS score " +
+                  "FROM IndexJournalArticleSearch s JOIN IndexJournalArticle a ON a.id = s.index_journal_article_id " +
+                  "WHERE MATCH(" + ALL_COLUMNS + ") AGAINST (? IN NATURAL LANGUAGE MODE) " +
+                  "ORDER BY score DESC LIMIT ?";
+        } else {
+            // Every term must match as a word prefix, like the LIKE %term% finders it replaces
+            against = toBooleanQuery(query);
+            if (against.isEmpty()) {
+                return hits;
+            }
+            String column = columnOf(field);
+            sql = "SELECT s.index_journal_article_id, a.title_text, a.page_url, " +
+                  "MATCH(" + column + ") AGAINST (? IN BOOLEAN MODE) AS score " +
+                  "FROM IndexJournalArticleSearch s JOIN IndexJournalArticle a ON a.id = s.index_journal_article_id " +
+                  "WHERE MATCH(" + column + ") AGAINST (? IN BOOLEAN MODE) " +
+                  "ORDER BY score DESC LIMIT ?";
+        }
+        
+        try (Connection conn = searchConnections.open();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            int matches = field == Field.ALL ? 3 : 2;
+            for (int i = 0; i < matches; i++) {
+                stmt.setString(index++, against);
+            }
+            stmt.setInt(index, limit);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    hits.add(new ArticleSearchHit(rs.getLong("index_journal_article_id"),
+                            rs.getString("title_text"), rs.getString("page_url"), rs.getDouble("score")));
+                }
+            }
+            
+        } catch (SQLException e) {
+            logger.error("Error searching articles by {}: {}", field, query, e);
+            throw new RuntimeException("Failed to search articles: " + e.getMessage(), e);
+        }
+        
+        logger.debug("Search {} '{}' returned {} hits", field, query, hits.size());
+        return hits;
+    }
+    
+    /**
+     * Boolean mode query requiring every word of the input as a prefix, e.g. "data mining" -> "+data* +mining*"
+     * Operator characters are dropped and words shorter than the InnoDB token size are ignored
+     */
+    public static String toBooleanQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        StringBuilder booleanQuery = new StringBuilder();
+        for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() < MIN_TOKEN_LENGTH) {
+                continue;
+            }
+            if (booleanQuery.length() > 0) {
+                booleanQuery.append(' ');
+            }
+            booleanQuery.append('+').append(word).append('*');
+        }
+        return booleanQuery.toString();
+    }
+    
+    private static String columnOf(Field field) {
+        switch (field) {
+            case TITLE:
+                return "s.title_text";
+            case KEYWORDS:
+                return "s.keywords_text";
+            case AUTHORS:
+                return "s.author_names";
+            default:
+                return ALL_COLUMNS;
+        }
+    }
+}
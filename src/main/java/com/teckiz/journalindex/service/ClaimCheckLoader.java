@@ -0,0 +1,138 @@
+package com.teckiz.journalindex.service;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.teckiz.journalindex.blob.BlobSource;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import com.teckiz.journalindex.parser.ArticleBatchReader;
+import com.teckiz.journalindex.parser.ArticleStream;
+import com.teckiz.journalindex.parser.OaiArticleStreamReader;
+import com.teckiz.journalindex.util.StringPool;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Opens claim-check payloads referenced by SQS messages
+ * Messages that carry s3Key / s3Path + s3FileName / s3Url instead of inline articles point to
+ * a JSON (ArticleBatch object or bare article array) or OAI-PMH XML payload, optionally gzipped.
+ * The payload is decoded and parsed incrementally; it is never fully buffered.
+ */
+public class ClaimCheckLoader {
+    
+    private static final Logger logger = LogManager.getLogger(ClaimCheckLoader.class);
+    
+    // Bytes kept for format sniffing (gzip magic, leading whitespace and BOM)
+    private static final int SNIFF_LIMIT = 512;
+    
+    private final BlobSource blobSource;
+    
+    public ClaimCheckLoader(BlobSource blobSource) {
+        this.blobSource = blobSource;
+    }
+    
+    /**
+     * A message is a claim check when it references a payload and carries no inline articles
+     */
+    public static boolean isClaimCheck(SqsArticleMessage message) {
+        boolean inlineArticles = message.getArticle() != null
+                || (message.getArticles() != null && !message.getArticles().isEmpty());
+        return isClaimCheck(message, inlineArticles);
+    }
+    
+    /**
+     * Claim check test for a streamed envelope, whose articles list is never populated
+     * ArticleBatch messages carry their s3Url/s3Key next to inline articles; those stay inline.
+     */
+    public static boolean isClaimCheck(SqsArticleMessage message, boolean inlineArticles) {
+        return !inlineArticles && locationOf(message) != null;
+    }
+    
+    /**
+     * Payload location: s3Key, else s3Path/s3FileName, else s3Url
+     */
+    public static String locationOf(SqsArticleMessage message) {
+        if (hasText(message.getS3Key())) {
+            return message.getS3Key();
+        }
+        if (hasText(message.getS3Path()) && hasText(message.getS3FileName())) {
+            String path = message.getS3Path();
+            return path.endsWith("/") ? path + message.getS3FileName() : path + "/" + message.getS3FileName();
+        }
+        if (hasText(message.getS3Url())) {
+            return message.getS3Url();
+        }
+        return null;
+    }
+    
+    /**
+     * Open the payload referenced by the message as a stream of articles
+     * Articles inherit the message's journal key; the reader's attributes (string pool) are reused
+     */
+    public ArticleStream openArticles(SqsArticleMessage message, ObjectReader reader) throws IOException {
+        String location = locationOf(message);
+        logger.info("Opening claim-check payload: {}", location);
+        
+        InputStream payload = decode(blobSource.open(location));
+        try {
+            int first = peekFirstSignificantByte(payload);
+            if (first == '<') {
+                Object pool = reader.getAttributes().getAttribute(StringPool.class);
+                return new OaiArticleStreamReader(payload, message.getJournalKey(),
+                        pool instanceof StringPool ? (StringPool) pool : null);
+            }
+            if (first == '{' || first == '[') {
+                return ArticleBatchReader.open(reader, payload);
+            }
+            throw new IOException("Unrecognized claim-check payload format: " + location);
+            
+        } catch (IOException | RuntimeException e) {
+            payload.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Wrap the raw stream, transparently un-gzipping it when it starts with the gzip magic bytes
+     */
+    static InputStream decode(InputStream raw) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(raw, 8192);
+        buffered.mark(2);
+        int b1 = buffered.read();
+        int b2 = buffered.read();
+        buffered.reset();
+        
+        if (b1 == 0x1f && b2 == 0x8b) {
+            return new BufferedInputStream(new GZIPInputStream(buffered, 8192), 8192);
+        }
+        return buffered;
+    }
+    
+    /**
+     * First byte that is not whitespace or a UTF-8 BOM, without consuming the stream
+     */
+    private static int peekFirstSignificantByte(InputStream input) throws IOException {
+        input.mark(SNIFF_LIMIT);
+        try {
+            for (int i = 0; i < SNIFF_LIMIT; i++) {
+                int b = input.read();
+                if (b < 0) {
+                    return -1;
+                }
+                if (!Character.isWhitespace(b) && b != 0xEF && b != 0xBB && b != 0xBF) {
+                    return b;
+                }
+            }
+            return -1;
+        } finally {
+            input.reset();
+        }
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
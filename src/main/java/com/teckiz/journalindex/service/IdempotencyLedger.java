@@ -0,0 +1,128 @@
+package com.teckiz.journalindex.service;
+
+import com.teckiz.journalindex.dao.IdempotencyDao;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Idempotency ledger for at-least-once SQS delivery
+ * A message is identified by journalKey + pageNumber + batchNumber + harvest (payload location,
+ * else harvest timestamp), otherwise by its SQS messageId, so a re-harvest of the same journal
+ * within the TTL is never taken for a redelivery. Redelivered messages found in the ledger are
+ * acknowledged with a single primary key lookup, without touching the article tables.
+ *
+ * The ledger fails open: if the table cannot be read or written the message is processed
+ * normally, which is safe because article writes are upserts by page URL.
+ */
+public class IdempotencyLedger {
+    
+    private static final Logger logger = LogManager.getLogger(IdempotencyLedger.class);
+    
+    public static final long DEFAULT_TTL_HOURS = 96;
+    
+    // Expired rows removed per container start; the rest are picked up by later starts
+    private static final int PURGE_LIMIT = 1000;
+    
+    private final boolean enabled;
+    private final long ttlSeconds;
+    
+    public IdempotencyLedger(boolean enabled, long ttlSeconds) {
+        this.enabled = enabled;
+        this.ttlSeconds = ttlSeconds;
+    }
+    
+    /**
+     * Ledger configured from IDEMPOTENCY_ENABLED (default false, the table needs manual DDL)
+     * and IDEMPOTENCY_TTL_HOURS
+     */
+    public static IdempotencyLedger fromEnvironment() {
+        boolean enabled = "true".equalsIgnoreCase(System.getenv("IDEMPOTENCY_ENABLED"));
+        long ttlHours = DEFAULT_TTL_HOURS;
+        String ttl = System.getenv("IDEMPOTENCY_TTL_HOURS");
+        if (ttl != null && !ttl.isBlank()) {
+            try {
+                ttlHours = Long.parseLong(ttl.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid IDEMPOTENCY_TTL_HOURS '{}', using {} hours", ttl, DEFAULT_TTL_HOURS);
+            }
+        }
+        return new IdempotencyLedger(enabled, ttlHours * 3600);
+    }
+    
+    /**
+     * Idempotency key of a message
+     */
+    public static String keyOf(SqsArticleMessage message, String messageId) {
+        String harvest = harvestOf(message);
+        if (message.getJournalKey() != null && message.getBatchNumber() != null && harvest != null) {
+            int pageNumber = message.getPageNumber() != null ? message.getPageNumber() : 0;
+            // Payload locations can be long; a name-based UUID keeps the key within the column
+            String harvestId = UUID.nameUUIDFromBytes(harvest.getBytes(StandardCharsets.UTF_8)).toString();
+            return "batch:" + message.getJournalKey() + ":" + pageNumber + ":" + message.getBatchNumber() + ":" + harvestId;
+        }
+        return "msg:" + messageId;
+    }
+    
+    /**
+     * What tells one harvest of a page from the next: the payload location, else the harvest timestamp
+     */
+    private static String harvestOf(SqsArticleMessage message) {
+        String location = ClaimCheckLoader.locationOf(message);
+        if (location != null) {
+            return location;
+        }
+        String timestamp = message.getTimestamp();
+        return timestamp != null && !timestamp.isBlank() ? timestamp : null;
+    }
+    
+    /**
+     * Whether the message was already processed within the TTL
+     */
+    public boolean isProcessed(String idempotencyKey) {
+        if (!enabled) {
+            return false;
+        }
+        try {
+            return IdempotencyDao.exists(idempotencyKey);
+        } catch (RuntimeException e) {
+            logger.warn("Idempotency check failed for {}, processing message: {}", idempotencyKey, e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Record a fully processed message
+     */
+    public void markProcessed(String idempotencyKey, String messageId, String journalKey, String result) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            IdempotencyDao.record(idempotencyKey, messageId, journalKey, result, ttlSeconds);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to record {} in the idempotency ledger: {}", idempotencyKey, e.getMessage());
+        }
+    }
+    
+    /**
+     * Remove a bounded number of expired entries
+     */
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            IdempotencyDao.deleteExpired(PURGE_LIMIT);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to purge expired ledger entries: {}", e.getMessage());
+        }
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,224 @@
+package com.teckiz.journalindex.service;
+
+import com.teckiz.journalindex.entity.IndexJournalArticle;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Invocation-level buffer merging the articles of every inline message in an SQS event
+ * Articles are deduplicated by identifier: the copy with the latest datestamp wins, and on
+ * equal datestamps the one received last. Every message that contributed a copy is kept as
+ * a source of the surviving article, so its write result is reported back to each messageId.
+ */
+public class InvocationWriteBuffer {
+    
+    private final Map<String, BufferedArticle> articlesByIdentifier = new LinkedHashMap<>();
+    private final Map<String, MessageOutcome> messages = new LinkedHashMap<>();
+    private int articlesAdded;
+    private int duplicatesMerged;
+    
+    /**
+     * Register a message; its articles are added with addArticle
+     */
+    public MessageOutcome addMessage(String messageId, String idempotencyKey, SqsArticleMessage envelope) {
+        MessageOutcome outcome = new MessageOutcome(messageId, idempotencyKey, envelope.getJournalKey(), envelope.getOaiUrl());
+        messages.put(messageId, outcome);
+        return outcome;
+    }
+    
+    /**
+     * Add an article of a registered message, merging it with an earlier copy of the same identifier
+     */
+    public void addArticle(String messageId, SqsArticleMessage.ArticleData article) {
+        MessageOutcome source = messages.get(messageId);
+        if (source == null) {
+            throw new IllegalStateException("Message not registered: " + messageId);
+        }
+        source.articles++;
+        
+        String identifier = article.getIdentifier();
+        String key = identifier != null && !identifier.isBlank() ? identifier : "#" + articlesAdded;
+        articlesAdded++;
+        
+        BufferedArticle current = articlesByIdentifier.get(key);
+        if (current == null) {
+            articlesByIdentifier.put(key, new BufferedArticle(source, article));
+            return;
+        }
+        
+        duplicatesMerged++;
+        if (compareDatestamps(article.getDatestamp(), current.article.getDatestamp()) >= 0) {
+            current.article = article;
+            current.journalKey = source.journalKey;
+            current.oaiUrl = source.oaiUrl;
+        }
+        if (!current.sources.contains(source)) {
+            current.sources.add(source);
+        }
+    }
+    
+    /**
+     * Number of distinct articles waiting to be written
+     */
+    public int size() {
+        return articlesByIdentifier.size();
+    }
+    
+    public boolean isEmpty() {
+        return messages.isEmpty();
+    }
+    
+    public int getDuplicatesMerged() {
+        return duplicatesMerged;
+    }
+    
+    /**
+     * Remove and return the buffered articles in arrival order
+     */
+    List<BufferedArticle> drainArticles() {
+        List<BufferedArticle> articles = new ArrayList<>(articlesByIdentifier.values());
+        articlesByIdentifier.clear();
+        return articles;
+    }
+    
+    /**
+     * Remove and return the registered messages in arrival order
+     */
+    List<MessageOutcome> drainMessages() {
+        List<MessageOutcome> outcomes = new ArrayList<>(messages.values());
+        messages.clear();
+        return outcomes;
+    }
+    
+    /**
+     * OAI datestamps are ISO-8601, so they order lexically; a missing datestamp is the oldest
+     */
+    private static int compareDatestamps(String candidate, String current) {
+        if (candidate == null) {
+            return current == null ? 0 : -1;
+        }
+        return current == null ? 1 : candidate.compareTo(current);
+    }
+    
+    /**
+     * Surviving copy of an article together with every message that contained it
+     */
+    static final class BufferedArticle {
+        
+        private final List<MessageOutcome> sources = new ArrayList<>();
+        private SqsArticleMessage.ArticleData article;
+        private String journalKey;
+        private String oaiUrl;
+        
+        // Entity prepared for writing during a flush
+        IndexJournalArticle entity;
+        
+        private BufferedArticle(MessageOutcome source, SqsArticleMessage.ArticleData article) {
+            this.sources.add(source);
+            this.article = article;
+            this.journalKey = source.journalKey;
+            this.oaiUrl = source.oaiUrl;
+        }
+        
+        SqsArticleMessage.ArticleData getArticle() {
+            return article;
+        }
+        
+        String getJournalKey() {
+            return journalKey;
+        }
+        
+        String getOaiUrl() {
+            return oaiUrl;
+        }
+        
+        List<MessageOutcome> getSources() {
+            return sources;
+        }
+        
+        void markWritten() {
+            sources.forEach(source -> source.written++);
+        }
+        
+        void markFailed() {
+            sources.forEach(source -> source.failed++);
+        }
+        
+        void markDeferred() {
+            sources.forEach(source -> source.deferred++);
+        }
+    }
+    
+    /**
+     * Write result of one SQS message after a flush
+     */
+    public static final class MessageOutcome {
+        
+        private final String messageId;
+        private final String idempotencyKey;
+        private final String journalKey;
+        private final String oaiUrl;
+        private int articles;
+        private int written;
+        private int failed;
+        private int deferred;
+        
+        private MessageOutcome(String messageId, String idempotencyKey, String journalKey, String oaiUrl) {
+            this.messageId = messageId;
+            this.idempotencyKey = idempotencyKey;
+            this.journalKey = journalKey;
+            this.oaiUrl = oaiUrl;
+        }
+        
+        public String getMessageId() {
+            return messageId;
+        }
+        
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+        
+        public String getJournalKey() {
+            return journalKey;
+        }
+        
+        public int getArticles() {
+            return articles;
+        }
+        
+        public int getWritten() {
+            return written;
+        }
+        
+        public int getFailed() {
+            return failed;
+        }
+        
+        public int getDeferred() {
+            return deferred;
+        }
+        
+        /**
+         * A message with deferred articles has to be redelivered
+         */
+        public boolean isDeferred() {
+            return deferred > 0;
+        }
+        
+        /**
+         * A message with articles that failed to write has to be redelivered as well
+         */
+        public boolean hasFailures() {
+            return failed > 0;
+        }
+        
+        public String getSummary() {
+            return String.format("Coalesced write: %d written, %d errors, %d deferred out of %d articles",
+                    written, failed, deferred, articles);
+        }
+    }
+}
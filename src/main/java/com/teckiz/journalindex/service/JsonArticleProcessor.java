@@ -1,18 +1,32 @@
 package com.teckiz.journalindex.service;
 
+import com.teckiz.journalindex.author.AuthorListTokenizer;
 import com.teckiz.journalindex.dao.ArticleDao;
 import com.teckiz.journalindex.dao.AuthorDao;
-import com.teckiz.journalindex.dao.JournalDao;
-import com.teckiz.journalindex.dao.VolumeDao;
+import com.teckiz.journalindex.db.DatabaseManager;
+import com.teckiz.journalindex.db.ShardContext;
 import com.teckiz.journalindex.entity.*;
+import com.teckiz.journalindex.keyword.ArticleKeywordLinker;
+import com.teckiz.journalindex.keyword.Keywords;
+import com.teckiz.journalindex.metrics.IngestionMetrics;
+import com.teckiz.journalindex.metrics.StageTimer;
 import com.teckiz.journalindex.model.SqsArticleMessage;
+import com.teckiz.journalindex.reference.ReferenceData;
+import com.teckiz.journalindex.reference.ReferenceDataCache;
+import com.teckiz.journalindex.volume.VolumeIssue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service to process JSON articles from SQS messages
@@ -22,41 +36,86 @@ public class JsonArticleProcessor {
     
     private static final Logger logger = LogManager.getLogger(JsonArticleProcessor.class);
     
+    // Buffered articles prepared and written per round of a coalesced flush
+    public static final int FLUSH_CHUNK_SIZE = 50;
+    
     /**
      * Process batch of articles from SQS JSON message
      */
-    public String processBatch(SqsArticleMessage message) {
-        try {
+    public BatchOutcome processBatch(SqsArticleMessage message) {
+        if (message.getArticles() == null || message.getArticles().isEmpty()) {
+            logger.warn("No articles found in batch message");
+            return new BatchOutcome(0, 0, false);
+        }
+        return processBatch(message, message.getArticles().iterator());
+    }
+    
+    /**
+     * Process batch of articles supplied one at a time
+     * The message carries the batch envelope; articles may be streamed from the message body
+     * so only the article currently being processed needs to be materialized
+     */
+    public BatchOutcome processBatch(SqsArticleMessage message, Iterator<SqsArticleMessage.ArticleData> articles) {
+        return processBatch(message, articles, ProcessingDeadline.unbounded());
+    }
+    
+    /**
+     * Process batch of articles supplied one at a time, stopping before the deadline
+     * When the deadline stops the batch it is left exhausted, so the caller can report
+     * the message for redelivery; articles already saved are kept. Articles that fail are
+     * counted in the outcome, so the caller can redeliver the message as well.
+     */
+    @SuppressWarnings("try")
+    public BatchOutcome processBatch(SqsArticleMessage message, Iterator<SqsArticleMessage.ArticleData> articles,
+                                     ProcessingDeadline deadline) {
+        try (ShardContext shard = DatabaseManager.useJournalShard(message.getJournalKey())) {
             logger.info("Processing article batch from JSON message");
             logger.info("Journal Key: {}", message.getJournalKey());
             logger.info("Message Type: {}", message.getMessageType());
             logger.info("Batch Number: {}/{}", message.getBatchNumber(), message.getTotalBatches());
             logger.info("Articles in Batch: {}", message.getArticlesInBatch());
             
-            if (message.getArticles() == null || message.getArticles().isEmpty()) {
-                logger.warn("No articles found in batch message");
-                return "No articles found in batch";
-            }
-            
             int processedCount = 0;
             int errorCount = 0;
-            
-            for (int i = 0; i < message.getArticles().size(); i++) {
+            IngestionMetrics metrics = IngestionMetrics.current();
+            ReferenceCache references = new ReferenceCache();
+            ArticleKeywordLinker keywords = new ArticleKeywordLinker();
+            
+            // Streamed articles are parsed while iterating, so the parse stage spans hasNext/next
+            StageTimer parseTimer = metrics.startTimer();
+            while (articles.hasNext()) {
+                if (!deadline.canStartNext()) {
+                    keywords.flush();
+                    BatchOutcome outcome = new BatchOutcome(processedCount, errorCount, true);
+                    logger.warn(outcome.getSummary());
+                    return outcome;
+                }
+                
+                int articleNumber = processedCount + errorCount + 1;
+                SqsArticleMessage.ArticleData articleData = articles.next();
+                parseTimer.lap(IngestionMetrics.Stage.PARSE);
+                long articleStart = System.nanoTime();
                 try {
-                    logger.info("Processing article {}/{} in batch", i + 1, message.getArticles().size());
-                    SqsArticleMessage.ArticleData articleData = message.getArticles().get(i);
-                    processArticleData(message.getJournalKey(), message.getOaiUrl(), articleData);
+                    logger.info("Processing article {} in batch", articleNumber);
+                    processArticleData(message.getJournalKey(), message.getOaiUrl(), articleData, references, keywords);
                     processedCount++;
                 } catch (Exception e) {
-                    logger.error("Error processing article {}/{}: {}", i + 1, message.getArticles().size(), e.getMessage(), e);
+                    logger.error("Error processing article {}: {}", articleNumber, e.getMessage(), e);
                     errorCount++;
                 }
+                deadline.recordArticle(System.nanoTime() - articleStart);
+                parseTimer.reset();
             }
+            // Keywords of the whole batch are linked with one dictionary lookup and one join-table write
+            keywords.flush();
             
-            String result = String.format("Batch processed: %d success, %d errors out of %d articles", 
-                                        processedCount, errorCount, message.getArticles().size());
-            logger.info(result);
-            return result;
+            if (processedCount + errorCount == 0) {
+                logger.warn("No articles found in batch message");
+            }
+            
+            BatchOutcome outcome = new BatchOutcome(processedCount, errorCount, false);
+            logger.info(outcome.getSummary());
+            return outcome;
             
         } catch (Exception e) {
             logger.error("Error processing batch: {}", e.getMessage(), e);
@@ -68,7 +127,15 @@ public class JsonArticleProcessor {
      * Process a single article from SQS JSON message
      */
     public String processArticle(SqsArticleMessage message) {
-        try {
+        return processArticle(message, ProcessingDeadline.unbounded());
+    }
+    
+    /**
+     * Process a single article, adding its cost to the deadline's moving average
+     */
+    @SuppressWarnings("try")
+    public String processArticle(SqsArticleMessage message, ProcessingDeadline deadline) {
+        try (ShardContext shard = DatabaseManager.useJournalShard(message.getJournalKey())) {
             logger.info("Processing single article from JSON message");
             logger.info("Journal Key: {}", message.getJournalKey());
             logger.info("Message Type: {}", message.getMessageType());
@@ -79,7 +146,14 @@ public class JsonArticleProcessor {
             }
             
             SqsArticleMessage.ArticleData articleData = message.getArticle();
-            processArticleData(message.getJournalKey(), message.getOaiUrl(), articleData);
+            long articleStart = System.nanoTime();
+            ArticleKeywordLinker keywords = new ArticleKeywordLinker();
+            try {
+                processArticleData(message.getJournalKey(), message.getOaiUrl(), articleData, new ReferenceCache(), keywords);
+                keywords.flush();
+            } finally {
+                deadline.recordArticle(System.nanoTime() - articleStart);
+            }
             return "Article processed successfully: " + articleData.getTitle();
             
         } catch (Exception e) {
@@ -89,121 +163,376 @@ public class JsonArticleProcessor {
     }
     
     /**
-     * Process article data and save to database
+     * Write every article buffered for the invocation
+     * Articles are written per database shard of their journal, one shard after the other.
+     * Journals are resolved once per flush, the volumes of each journal with one lookup and one
+     * multi-row insert, existing articles are looked up with one set-based query, and each chunk
+     * writes existing articles as one JDBC batch and new ones as one multi-row INSERT.
+     * Each article's result is counted against every message that contained it; articles not
+     * started before the deadline are counted as deferred.
      */
-    private void processArticleData(String journalKey, String oaiUrl, SqsArticleMessage.ArticleData articleData) {
-        try {
-            logger.info("Processing article: {}", articleData.getTitle());
-            
-            // Find or create the journal
-            IndexJournal journal = JournalDao.findOrCreateByJournalKey(
-                    journalKey, 
-                    oaiUrl, 
-                    articleData.getPublisher());
-            
-            logger.info("Using journal ID: {}", journal.getId());
-            
-            // Find or create volume if we have volume information
-            IndexJournalVolume volume = null;
-            if (articleData.getSources() != null && !articleData.getSources().isEmpty()) {
-                String volumeNumber = extractVolume(articleData.getSources().get(0));
-                if (volumeNumber != null) {
-                    // Try to find existing volume by journal and volume number
-                    volume = VolumeDao.findOrCreateByJournalIdAndVolumeNumber(journal.getId(), volumeNumber);
-                    logger.info("Using volume ID: {}", volume.getId());
-                }
+    @SuppressWarnings("try")
+    public List<InvocationWriteBuffer.MessageOutcome> processBuffered(InvocationWriteBuffer buffer,
+                                                                      ProcessingDeadline deadline) {
+        List<InvocationWriteBuffer.BufferedArticle> pending = buffer.drainArticles();
+        List<InvocationWriteBuffer.MessageOutcome> outcomes = buffer.drainMessages();
+        logger.info("Flushing {} coalesced articles from {} messages", pending.size(), outcomes.size());
+        
+        Map<String, List<InvocationWriteBuffer.BufferedArticle>> pendingByShard = new LinkedHashMap<>();
+        for (InvocationWriteBuffer.BufferedArticle buffered : pending) {
+            String shard = DatabaseManager.getShardRouter().shardForJournal(buffered.getJournalKey());
+            pendingByShard.computeIfAbsent(shard, key -> new ArrayList<>()).add(buffered);
+        }
+        pendingByShard.forEach((shard, shardPending) -> {
+            try (ShardContext context = ShardContext.enter(shard)) {
+                writeShard(shardPending, deadline);
             }
-            
-            // Check if article already exists by identifier URL
-            IndexJournalArticle existingArticle = null;
-            if (articleData.getIdentifier() != null) {
-                existingArticle = ArticleDao.findByPageURL(articleData.getIdentifier()).orElse(null);
+        });
+        return outcomes;
+    }
+    
+    /**
+     * Write the buffered articles of one shard; caches and keyword links never span shards
+     */
+    private void writeShard(List<InvocationWriteBuffer.BufferedArticle> pending, ProcessingDeadline deadline) {
+        ReferenceCache references = new ReferenceCache();
+        List<String> pageUrls = new ArrayList<>();
+        for (InvocationWriteBuffer.BufferedArticle buffered : pending) {
+            if (buffered.getArticle().getIdentifier() != null) {
+                pageUrls.add(buffered.getArticle().getIdentifier());
             }
-            
-            IndexJournalArticle article;
-            if (existingArticle != null) {
-                logger.info("Updating existing article ID: {}", existingArticle.getId());
-                article = existingArticle;
-            } else {
-                logger.info("Creating new article");
-                article = new IndexJournalArticle();
+        }
+        references.prefetchArticles(pageUrls);
+        prefetchVolumes(pending, references);
+        
+        ArticleKeywordLinker keywords = new ArticleKeywordLinker();
+        for (int from = 0; from < pending.size(); from += FLUSH_CHUNK_SIZE) {
+            writeChunk(pending.subList(from, Math.min(from + FLUSH_CHUNK_SIZE, pending.size())), references,
+                    keywords, deadline);
+        }
+        keywords.flush();
+    }
+    
+    /**
+     * Resolve the distinct volume/issue pairs of each journal in a flush up front
+     * Journals or volumes that fail here are resolved again, one by one, when their articles are prepared
+     */
+    private void prefetchVolumes(List<InvocationWriteBuffer.BufferedArticle> pending, ReferenceCache references) {
+        Map<String, InvocationWriteBuffer.BufferedArticle> firstByJournal = new LinkedHashMap<>();
+        Map<String, Set<VolumeIssue>> volumeIssuesByJournal = new LinkedHashMap<>();
+        for (InvocationWriteBuffer.BufferedArticle buffered : pending) {
+            VolumeIssue volumeIssue = extractVolumeIssue(buffered.getArticle());
+            if (volumeIssue != null) {
+                firstByJournal.putIfAbsent(buffered.getJournalKey(), buffered);
+                volumeIssuesByJournal.computeIfAbsent(buffered.getJournalKey(), key -> new LinkedHashSet<>()).add(volumeIssue);
             }
-            
-            // Set article fields from JSON
-            article.setTitle(articleData.getTitle());
-            article.setAbstractText(articleData.getDescription());
-            article.setPageURL(articleData.getIdentifier());
-            
-            // Set volume relationship
-            if (volume != null) {
-                article.setIndexJournalVolume(volume);
+        }
+        
+        volumeIssuesByJournal.forEach((journalKey, volumeIssues) -> {
+            InvocationWriteBuffer.BufferedArticle first = firstByJournal.get(journalKey);
+            try {
+                IndexJournal journal = references.findOrCreateJournal(journalKey, first.getOaiUrl(),
+                        first.getArticle().getPublisher());
+                references.prefetchVolumes(journal.getId(), volumeIssues);
+            } catch (RuntimeException e) {
+                logger.warn("Could not prefetch volumes of journal {}: {}", journalKey, e.getMessage());
             }
-            
-            // Set company from journal (if journal has company)
-            if (journal.getCompany() != null) {
-                article.setCompany(journal.getCompany());
+        });
+    }
+    
+    /**
+     * Prepare a chunk of buffered articles, batch-update the existing ones and bulk-insert the new ones
+     * The batched statements cannot stop half-way, so the whole chunk is deferred unless its
+     * estimated cost fits
+     */
+    private void writeChunk(List<InvocationWriteBuffer.BufferedArticle> chunk, ReferenceCache references,
+                            ArticleKeywordLinker keywords, ProcessingDeadline deadline) {
+        if (!deadline.canFit(chunk.size())) {
+            for (InvocationWriteBuffer.BufferedArticle buffered : chunk) {
+                buffered.markDeferred();
             }
-            
-            // Parse and set published date
-            if (articleData.getDate() != null && !articleData.getDate().isEmpty()) {
-                article.setPublishedAt(parseDate(articleData.getDate()));
+            return;
+        }
+        
+        IngestionMetrics metrics = IngestionMetrics.current();
+        long chunkStart = System.nanoTime();
+        List<InvocationWriteBuffer.BufferedArticle> prepared = new ArrayList<>();
+        List<IndexJournalArticle> updates = new ArrayList<>();
+        List<IndexJournalArticle> inserts = new ArrayList<>();
+        
+        for (InvocationWriteBuffer.BufferedArticle buffered : chunk) {
+            if (!deadline.canStartNext()) {
+                buffered.markDeferred();
+                continue;
             }
-            
-            // Extract pages from sources
-            if (articleData.getSources() != null && !articleData.getSources().isEmpty()) {
-                String pages = extractPages(articleData.getSources().get(0));
-                article.setPages(pages);
+            try {
+                buffered.entity = prepareArticle(buffered.getJournalKey(), buffered.getOaiUrl(),
+                        buffered.getArticle(), references, metrics.startTimer());
+                prepared.add(buffered);
+                if (buffered.entity.getId() != null) {
+                    updates.add(buffered.entity);
+                } else {
+                    inserts.add(buffered.entity);
+                }
+            } catch (Exception e) {
+                logger.error("Error preparing article {}: {}", buffered.getArticle().getIdentifier(), e.getMessage(), e);
+                metrics.articleSkipped();
+                buffered.markFailed();
             }
-            
-            // Set keywords from subjects
-            if (articleData.getSubjects() != null && !articleData.getSubjects().isEmpty()) {
-                article.setKeywords(String.join(", ", articleData.getSubjects()));
+        }
+        
+        // One batch for the existing articles and one multi-row insert for the new ones;
+        // whatever fails is retried one by one below
+        boolean updatesBatched = false;
+        long updateShare = 0;
+        if (!updates.isEmpty()) {
+            long updateStart = System.nanoTime();
+            try {
+                ArticleDao.updateAll(updates);
+                updatesBatched = true;
+                updateShare = (System.nanoTime() - updateStart) / updates.size();
+            } catch (RuntimeException e) {
+                logger.warn("Batch update of {} articles failed, updating one by one: {}", updates.size(), e.getMessage());
             }
-            
-            // Set article type from types
-            if (articleData.getTypes() != null && !articleData.getTypes().isEmpty()) {
-                article.setArticleType(articleData.getTypes().get(0));
+        }
+        boolean insertsBatched = false;
+        long insertShare = 0;
+        if (!inserts.isEmpty()) {
+            long insertStart = System.nanoTime();
+            try {
+                ArticleDao.insertAll(inserts);
+                insertsBatched = true;
+                insertShare = (System.nanoTime() - insertStart) / inserts.size();
+            } catch (RuntimeException e) {
+                logger.warn("Multi-row insert of {} articles failed, inserting one by one: {}", inserts.size(), e.getMessage());
             }
-            
-            // Set DOI if available (extract from identifier if it contains DOI)
-            if (articleData.getIdentifier() != null && articleData.getIdentifier().contains("doi.org/")) {
-                String doi = articleData.getIdentifier().substring(articleData.getIdentifier().lastIndexOf("doi.org/") + 8);
-                article.setDoi(doi);
+        }
+        
+        for (InvocationWriteBuffer.BufferedArticle buffered : prepared) {
+            IndexJournalArticle article = buffered.entity;
+            boolean existing = updates.contains(article);
+            StageTimer stageTimer = metrics.startTimer();
+            try {
+                if (existing ? updatesBatched : insertsBatched) {
+                    metrics.recordStage(IngestionMetrics.Stage.ARTICLE_WRITE, existing ? updateShare : insertShare);
+                } else {
+                    article = ArticleDao.save(article);
+                    stageTimer.lap(IngestionMetrics.Stage.ARTICLE_WRITE);
+                }
+                references.articleSaved(article);
+                if (existing) {
+                    metrics.articleUpdated();
+                } else {
+                    metrics.articleCreated();
+                }
+                
+                String creator = buffered.getArticle().getCreator();
+                if (creator != null && !creator.isEmpty()) {
+                    stageTimer.reset();
+                    processAuthors(article, creator);
+                    stageTimer.lap(IngestionMetrics.Stage.AUTHOR_WRITE);
+                }
+                keywords.add(article.getId(), buffered.getArticle().getSubjects());
+                buffered.markWritten();
+                
+            } catch (Exception e) {
+                logger.error("Error writing article {} from {} message(s): {}", article.getPageURL(),
+                        buffered.getSources().size(), e.getMessage(), e);
+                metrics.articleSkipped();
+                buffered.markFailed();
+            } finally {
+                buffered.entity = null;
             }
+        }
+        
+        if (!prepared.isEmpty()) {
+            long perArticle = (System.nanoTime() - chunkStart) / prepared.size();
+            for (int i = 0; i < prepared.size(); i++) {
+                deadline.recordArticle(perArticle);
+            }
+        }
+    }
+    
+    /**
+     * Process article data and save to database
+     */
+    private void processArticleData(String journalKey, String oaiUrl, SqsArticleMessage.ArticleData articleData,
+                                    ReferenceCache references, ArticleKeywordLinker keywords) {
+        IngestionMetrics metrics = IngestionMetrics.current();
+        try {
+            // Each lap closes the span of one stage; the next span starts immediately
+            StageTimer stageTimer = metrics.startTimer();
+            IndexJournalArticle article = prepareArticle(journalKey, oaiUrl, articleData, references, stageTimer);
+            boolean existing = article.getId() != null;
             
             // Save article
             article = ArticleDao.save(article);
+            references.articleSaved(article);
             logger.info("✅ Article saved with ID: {}", article.getId());
+            stageTimer.lap(IngestionMetrics.Stage.ARTICLE_WRITE);
+            if (existing) {
+                metrics.articleUpdated();
+            } else {
+                metrics.articleCreated();
+            }
             
             // Process authors
             if (articleData.getCreator() != null && !articleData.getCreator().isEmpty()) {
                 processAuthors(article, articleData.getCreator());
+                stageTimer.lap(IngestionMetrics.Stage.AUTHOR_WRITE);
             }
+            keywords.add(article.getId(), articleData.getSubjects());
             
             logger.info("Article processing completed: {}", article.getTitle());
             
         } catch (Exception e) {
+            metrics.articleSkipped();
             logger.error("Error processing article data: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to process article data: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Resolve journal, volume and existing article, and map the article fields
+     * Returns the article to save; it carries an ID when it updates an existing row
+     */
+    IndexJournalArticle prepareArticle(String journalKey, String oaiUrl, SqsArticleMessage.ArticleData articleData,
+                                       ReferenceCache references, StageTimer stageTimer) {
+        logger.info("Processing article: {}", articleData.getTitle());
+        
+        // Find or create the journal
+        IndexJournal journal = references.findOrCreateJournal(
+                journalKey, 
+                oaiUrl, 
+                articleData.getPublisher());
+        
+        logger.info("Using journal ID: {}", journal.getId());
+        stageTimer.lap(IngestionMetrics.Stage.JOURNAL_RESOLVE);
+        
+        // Find or create the volume issue if we have volume information
+        IndexJournalVolume volume = null;
+        VolumeIssue volumeIssue = extractVolumeIssue(articleData);
+        if (volumeIssue != null) {
+            volume = references.findOrCreateVolume(journal.getId(), volumeIssue);
+            logger.info("Using volume ID: {} ({})", volume.getId(), volumeIssue);
+        }
+        stageTimer.lap(IngestionMetrics.Stage.VOLUME_RESOLVE);
+        
+        // Check if article already exists by identifier URL
+        IndexJournalArticle existingArticle = null;
+        if (articleData.getIdentifier() != null) {
+            existingArticle = references.findArticle(articleData.getIdentifier()).orElse(null);
+        }
+        
+        stageTimer.lap(IngestionMetrics.Stage.ARTICLE_LOOKUP);
+        
+        IndexJournalArticle article;
+        if (existingArticle != null) {
+            logger.info("Updating existing article ID: {}", existingArticle.getId());
+            article = existingArticle;
+        } else {
+            logger.info("Creating new article");
+            article = new IndexJournalArticle();
+        }
+        
+        mapArticleFields(article, articleData);
+        tagReferenceData(article, articleData, journal);
+        
+        // Set volume relationship
+        if (volume != null) {
+            article.setIndexJournalVolume(volume);
+        }
+        
+        // Set company from journal (if journal has company)
+        if (journal.getCompany() != null) {
+            article.setCompany(journal.getCompany());
+        }
+        
+        return article;
+    }
+    
+    /**
+     * Copy the article fields of an ArticleData onto an article
+     * Optional fields missing from the data leave the article's current values untouched
+     */
+    public void mapArticleFields(IndexJournalArticle article, SqsArticleMessage.ArticleData articleData) {
+        // Set article fields from JSON
+        article.setTitle(articleData.getTitle());
+        article.setAbstractText(articleData.getDescription());
+        article.setPageURL(articleData.getIdentifier());
+        
+        // Parse and set published date
+        if (articleData.getDate() != null && !articleData.getDate().isEmpty()) {
+            article.setPublishedAt(parseDate(articleData.getDate()));
+        }
+        
+        // Extract pages from sources
+        if (articleData.getSources() != null && !articleData.getSources().isEmpty()) {
+            String pages = extractPages(articleData.getSources().get(0));
+            article.setPages(pages);
+        }
+        
+        // Set keywords from subjects, joined the same way by every writer
+        String keywordsText = Keywords.join(articleData.getSubjects());
+        if (keywordsText != null) {
+            article.setKeywords(keywordsText);
+        }
+        
+        // Set article type from types
+        if (articleData.getTypes() != null && !articleData.getTypes().isEmpty()) {
+            article.setArticleType(articleData.getTypes().get(0));
+        }
+        
+        // Set DOI if available (extract from identifier if it contains DOI)
+        if (articleData.getIdentifier() != null && articleData.getIdentifier().contains("doi.org/")) {
+            String doi = articleData.getIdentifier().substring(articleData.getIdentifier().lastIndexOf("doi.org/") + 8);
+            article.setDoi(doi);
+        }
+    }
+    
+    /**
+     * Set the language and country ids of an article from the cached reference data
+     * The language is the record's language, title or description language, or else the only
+     * language its journal declares; the country is the journal's. Values that do not resolve
+     * leave the article's current ids untouched.
+     */
+    void tagReferenceData(IndexJournalArticle article, SqsArticleMessage.ArticleData articleData, IndexJournal journal) {
+        if (!ReferenceDataCache.isTaggingEnabled()) {
+            return;
+        }
+        ReferenceData referenceData = ReferenceDataCache.shared().get();
+        
+        Optional<Long> languageId = referenceData.findLanguageId(articleData.getLanguage())
+                .or(() -> referenceData.findLanguageId(articleData.getTitleLang()))
+                .or(() -> referenceData.findLanguageId(articleData.getDescriptionLang()))
+                .or(() -> referenceData.findJournalLanguageId(journal.getId()));
+        languageId.ifPresent(article::setLanguageId);
+        
+        referenceData.findCountryId(journal.getCountry()).ifPresent(article::setCountryId);
+    }
+    
+    /**
+     * Volume, issue and year from the first source that names a volume, or null
+     */
+    public VolumeIssue extractVolumeIssue(SqsArticleMessage.ArticleData articleData) {
+        if (articleData.getSources() == null) {
+            return null;
+        }
+        for (String source : articleData.getSources()) {
+            VolumeIssue volumeIssue = VolumeIssue.parse(source);
+            if (volumeIssue != null) {
+                return volumeIssue;
+            }
+        }
+        return null;
+    }
+    
     /**
      * Process authors from creator field
      */
     private void processAuthors(IndexJournalArticle article, String creatorString) {
         try {
-            // Split by comma or semicolon
-            String[] authorNames = creatorString.split("[,;]");
-            List<String> authorNameList = new ArrayList<>();
-            
-            for (String authorName : authorNames) {
-                authorName = authorName.trim();
-                if (!authorName.isEmpty()) {
-                    authorNameList.add(authorName);
-                    logger.debug("Added author: {}", authorName);
-                }
-            }
+            List<String> authorNameList = splitAuthors(creatorString);
             
             // Save authors using DAO
             if (!authorNameList.isEmpty()) {
@@ -216,6 +545,14 @@ public class JsonArticleProcessor {
         }
     }
     
+    /**
+     * Author names of a creator field, as written in the source
+     * "Smith, John; Doe, Jane" gives two authors, not four (see AuthorListTokenizer)
+     */
+    public static List<String> splitAuthors(String creatorString) {
+        return AuthorListTokenizer.tokenizeToText(creatorString);
+    }
+    
     /**
      * Parse date string in various formats
      */
@@ -252,40 +589,68 @@ public class JsonArticleProcessor {
     }
     
     /**
-     * Extract volume from source string
-     * Example: "Vol. 29 No. 1 (2009)" -> "29"
+     * Extract pages from source string
+     * Example: "39-50" from the source
      */
-    private String extractVolume(String source) {
+    private String extractPages(String source) {
         if (source == null) {
             return null;
         }
         
-        // Try to match "Vol. XX" or "Volume XX"
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("Vol\\.?\\s*(\\d+)", java.util.regex.Pattern.CASE_INSENSITIVE);
+        // Try to match "XX-YY" page range
+        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("(\\d+)-(\\d+)");
         java.util.regex.Matcher matcher = pattern.matcher(source);
         if (matcher.find()) {
-            return matcher.group(1);
+            return matcher.group(0); // Return the full match (e.g., "39-50")
         }
         
         return null;
     }
     
     /**
-     * Extract pages from source string
-     * Example: "39-50" from the source
+     * Result of a streamed batch: articles written, articles that failed, and whether the
+     * deadline stopped it
      */
-    private String extractPages(String source) {
-        if (source == null) {
-            return null;
+    public static final class BatchOutcome {
+        
+        private final int processed;
+        private final int errors;
+        private final boolean stoppedAtDeadline;
+        
+        public BatchOutcome(int processed, int errors, boolean stoppedAtDeadline) {
+            this.processed = processed;
+            this.errors = errors;
+            this.stoppedAtDeadline = stoppedAtDeadline;
         }
         
-        // Try to match "XX-YY" page range
-        java.util.regex.Pattern pattern = java.util.regex.Pattern.compile("(\\d+)-(\\d+)");
-        java.util.regex.Matcher matcher = pattern.matcher(source);
-        if (matcher.find()) {
-            return matcher.group(0); // Return the full match (e.g., "39-50")
+        public int getProcessed() {
+            return processed;
         }
         
-        return null;
+        public int getErrors() {
+            return errors;
+        }
+        
+        public boolean isStoppedAtDeadline() {
+            return stoppedAtDeadline;
+        }
+        
+        /**
+         * A message with articles that failed to write has to be redelivered
+         */
+        public boolean hasFailures() {
+            return errors > 0;
+        }
+        
+        public String getSummary() {
+            int total = processed + errors;
+            if (stoppedAtDeadline) {
+                return String.format("Batch stopped at deadline: %d success, %d errors before stopping", processed, errors);
+            }
+            if (total == 0) {
+                return "No articles found in batch";
+            }
+            return String.format("Batch processed: %d success, %d errors out of %d articles", processed, errors, total);
+        }
     }
 }
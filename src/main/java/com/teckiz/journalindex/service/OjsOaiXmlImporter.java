@@ -1,14 +1,20 @@
 package com.teckiz.journalindex.service;
 
-import com.teckiz.journalindex.entity.Company;
+import com.teckiz.journalindex.author.AuthorListTokenizer;
+import com.teckiz.journalindex.author.AuthorName;
+import com.teckiz.journalindex.dao.VolumeDao;
 import com.teckiz.journalindex.entity.IndexJournal;
 import com.teckiz.journalindex.entity.IndexJournalArticle;
 import com.teckiz.journalindex.entity.IndexJournalAuthor;
 import com.teckiz.journalindex.entity.IndexJournalSetting;
+import com.teckiz.journalindex.entity.IndexJournalVolume;
+import com.teckiz.journalindex.keyword.Keywords;
 import com.teckiz.journalindex.model.ArticleAuthorModel;
 import com.teckiz.journalindex.model.ArticleModel;
+import com.teckiz.journalindex.model.JournalContext;
 import com.teckiz.journalindex.repository.IndexJournalArticleRepository;
 import com.teckiz.journalindex.repository.IndexJournalRepository;
+import com.teckiz.journalindex.volume.VolumeIssue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,7 +30,10 @@ import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service for importing OJS OAI XML data
@@ -146,6 +155,19 @@ public class OjsOaiXmlImporter {
             
             logger.info("XML data length: {} characters", xmlData.length());
             
+            // Resolve and validate the journal once, before any records are parsed
+            IndexJournal journal = journalRepository.findByJournalKey(journalKey)
+                    .orElseThrow(() -> new IllegalArgumentException("Journal not found: " + journalKey));
+            JournalContext journalContext = JournalContext.of(journal);
+            
+            String rejectionReason = journalContext.getRejectionReason();
+            if (rejectionReason != null) {
+                logger.warn("Skipping records import: {}", rejectionReason);
+                return 0;
+            }
+            
+            logger.info("Using journal context: {}", journalContext);
+            
             // Parse XML
             Document doc = parseXml(xmlData);
             
@@ -168,19 +190,25 @@ public class OjsOaiXmlImporter {
             logger.info("Found {} records in XML", totalRecords);
             logger.info("Processing ALL records in one run");
             
+            // Parse ALL records first, so their volume issues can be resolved together
+            List<ArticleModel> parsedArticles = new ArrayList<>(totalRecords);
+            for (int i = 0; i < totalRecords; i++) {
+                parsedArticles.add(parseArticle((Element) recordNodes.item(i)));
+            }
+            Map<VolumeIssue, IndexJournalVolume> volumes = resolveVolumes(journalContext, parsedArticles);
+            
             // Process ALL records
             int processedCount = 0;
             for (int i = 0; i < totalRecords; i++) {
                 try {
-                    Element recordElement = (Element) recordNodes.item(i);
-                    ArticleModel article = parseArticle(recordElement);
+                    ArticleModel article = parsedArticles.get(i);
                     
                     if (article != null && "update".equals(article.getStatus())) {
                         logger.info("Article {}/{}: {} (ID: {})", 
                                 (i + 1), totalRecords, article.getTitle(), article.getPublisherRecordId());
                         
                         // Save article to database
-                        saveArticle(journalKey, article);
+                        saveArticle(journalContext, article, volumes);
                         
                         processedCount++;
                         
@@ -303,7 +331,11 @@ public class OjsOaiXmlImporter {
             List<String> sources = getElementTextsNS(dcElement, DC_NAMESPACE, "source");
             if (!sources.isEmpty()) {
                 String source = sources.get(0);
-                article.setVolumeNumber(extractVolume(source));
+                VolumeIssue volumeIssue = VolumeIssue.parse(source);
+                if (volumeIssue != null) {
+                    article.setVolumeIssue(volumeIssue);
+                    article.setVolumeNumber(volumeIssue.getVolume());
+                }
                 article.setPages(extractPages(source));
             }
             
@@ -354,12 +386,13 @@ public class OjsOaiXmlImporter {
     
     /**
      * Parse authors from creator list
+     * A dc:creator usually holds one "Family, Given" name, but some repositories list several
      */
     private List<ArticleAuthorModel> parseAuthors(List<String> creators) {
         List<ArticleAuthorModel> authors = new ArrayList<>();
         for (String creator : creators) {
-            if (creator != null && !creator.trim().isEmpty()) {
-                authors.add(new ArticleAuthorModel(creator.trim()));
+            for (AuthorName name : AuthorListTokenizer.tokenize(creator)) {
+                authors.add(new ArticleAuthorModel(name.getText(), name.getGiven(), name.getFamily()));
             }
         }
         return authors;
@@ -369,37 +402,32 @@ public class OjsOaiXmlImporter {
      * Join subjects into semicolon-separated string
      */
     private String joinSubjects(List<String> subjects) {
-        if (subjects.isEmpty()) {
-            return "";
-        }
-        return String.join("; ", subjects);
+        String keywords = Keywords.join(subjects);
+        return keywords != null ? keywords : "";
     }
     
     /**
-     * Extract volume number from source string
-     * Format: "Journal Name; Vol X No Y; Pages"
+     * Volumes of every volume issue named by the parsed records, found or created at once
+     * Failures leave the articles without a volume, as before volumes were resolved here
      */
-    private String extractVolume(String source) {
-        if (source == null || source.isEmpty()) {
-            return "";
-        }
-        
-        String[] parts = source.split(";");
-        if (parts.length < 2) {
-            return "";
+    private Map<VolumeIssue, IndexJournalVolume> resolveVolumes(JournalContext journalContext, List<ArticleModel> articles) {
+        Set<VolumeIssue> volumeIssues = new LinkedHashSet<>();
+        for (ArticleModel article : articles) {
+            if (article != null && "update".equals(article.getStatus()) && article.getVolumeIssue() != null) {
+                volumeIssues.add(article.getVolumeIssue());
+            }
         }
-        
-        String volumePart = parts[1].trim();
-        
-        // Remove everything after : or (
-        if (volumePart.contains(":")) {
-            volumePart = volumePart.substring(0, volumePart.indexOf(":"));
+        if (volumeIssues.isEmpty()) {
+            return Map.of();
         }
-        if (volumePart.contains("(")) {
-            volumePart = volumePart.substring(0, volumePart.indexOf("("));
+        try {
+            Map<VolumeIssue, IndexJournalVolume> volumes = VolumeDao.findOrCreateAll(journalContext.getJournalId(), volumeIssues);
+            logger.info("Resolved {} volume issues", volumes.size());
+            return volumes;
+        } catch (RuntimeException e) {
+            logger.warn("Could not resolve volume issues: {}", e.getMessage());
+            return Map.of();
         }
-        
-        return volumePart.trim();
     }
     
     /**
@@ -439,38 +467,15 @@ public class OjsOaiXmlImporter {
     /**
      * Save article to database
      * Based on PHP CreateArticleHelper::updateArticle
+     * Journal approval, setting and company are validated once per import via JournalContext
      */
-    private void saveArticle(String journalKey, ArticleModel articleModel) {
+    private void saveArticle(JournalContext journalContext, ArticleModel articleModel,
+                             Map<VolumeIssue, IndexJournalVolume> volumes) {
         try {
             logger.debug("=== Saving Article to Database ===");
             logger.debug("Publisher Record ID: {}", articleModel.getPublisherRecordId());
             logger.debug("Title: {}", articleModel.getTitle());
             
-            // Get journal
-            IndexJournal journal = journalRepository.findByJournalKey(journalKey)
-                    .orElseThrow(() -> new IllegalArgumentException("Journal not found: " + journalKey));
-            
-            logger.debug("Found journal: {}", journal.getName());
-            
-            // Check if journal is approved
-            if (!IndexJournal.RJ_APPROVED.equals(journal.getStatus())) {
-                logger.warn("Journal is not approved, status: {}", journal.getStatus());
-                return;
-            }
-            
-            // Check if journal setting exists and is indexed
-            if (journal.getSetting() == null) {
-                logger.warn("Journal setting not found for journal: {}", journal.getJournalKey());
-                return;
-            }
-            
-            // Get company from journal
-            Company company = journal.getCompany();
-            if (company == null) {
-                logger.warn("Company not found for journal: {}", journal.getJournalKey());
-                return;
-            }
-            
             // Find or create article
             IndexJournalArticle article = articleRepository.findByPublisherRecordId(articleModel.getPublisherRecordId())
                     .orElse(new IndexJournalArticle());
@@ -485,12 +490,11 @@ public class OjsOaiXmlImporter {
             article.setPageURL(articleModel.getPageUrl());
             article.setPages(articleModel.getPages());
             article.setPublishedAt(articleModel.getPublishedAt());
-            article.setCompany(company);
+            article.setCompany(journalContext.getCompany());
             
-            // Handle volume if specified
-            if (articleModel.getVolumeNumber() != null && !articleModel.getVolumeNumber().isEmpty()) {
-                // For now, just log - volume creation can be added later
-                logger.debug("Volume: {}", articleModel.getVolumeNumber());
+            // Link the volume issue resolved for the whole import
+            if (articleModel.getVolumeIssue() != null && volumes.containsKey(articleModel.getVolumeIssue())) {
+                article.setIndexJournalVolume(volumes.get(articleModel.getVolumeIssue()));
             }
             
             // Save article
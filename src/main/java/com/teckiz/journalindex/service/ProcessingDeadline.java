@@ -0,0 +1,108 @@
+package com.teckiz.journalindex.service;
+
+import com.amazonaws.services.lambda.runtime.Context;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Decides whether there is enough invocation time left to take on another article
+ * Keeps an exponentially weighted moving average of the per-article cost and stops once the
+ * remaining time minus a safety margin no longer covers it. Records that are not started are
+ * reported back to SQS as batch item failures instead of being lost to a timeout.
+ */
+public class ProcessingDeadline {
+    
+    private static final Logger logger = LogManager.getLogger(ProcessingDeadline.class);
+    
+    public static final long DEFAULT_SAFETY_MARGIN_MILLIS = 10_000;
+    
+    // Weight of the newest sample in the moving average
+    private static final double COST_SMOOTHING = 0.2;
+    
+    private final LongSupplier remainingMillis;
+    private final long safetyMarginMillis;
+    
+    private double averageCostMillis;
+    private long articlesTimed;
+    private boolean exhausted;
+    
+    public ProcessingDeadline(LongSupplier remainingMillis, long safetyMarginMillis) {
+        this.remainingMillis = remainingMillis;
+        this.safetyMarginMillis = safetyMarginMillis;
+    }
+    
+    /**
+     * Deadline of a Lambda invocation, safety margin from DEADLINE_SAFETY_MARGIN_MS
+     */
+    public static ProcessingDeadline forContext(Context context) {
+        return new ProcessingDeadline(context::getRemainingTimeInMillis, safetyMarginFromEnvironment());
+    }
+    
+    /**
+     * Deadline that never expires (tools and tests without a Lambda context)
+     */
+    public static ProcessingDeadline unbounded() {
+        return new ProcessingDeadline(() -> Long.MAX_VALUE, 0);
+    }
+    
+    /**
+     * Whether another article is expected to finish before the safety margin is reached
+     * Once this returns false the deadline stays exhausted for the rest of the invocation
+     */
+    public boolean canStartNext() {
+        return canFit(1);
+    }
+    
+    /**
+     * Whether a batch of articles written together is expected to finish before the safety margin
+     * Estimated as the batch size times the average article cost; exhausts the deadline like
+     * canStartNext
+     */
+    public boolean canFit(int articles) {
+        if (exhausted) {
+            return false;
+        }
+        long budget = remainingMillis.getAsLong() - safetyMarginMillis;
+        double estimatedMillis = articles * averageCostMillis;
+        if (budget <= estimatedMillis) {
+            exhausted = true;
+            logger.warn("Stopping before the invocation deadline: {} ms left after the {} ms margin, {} article(s) at {} ms each",
+                    budget, safetyMarginMillis, articles, Math.round(averageCostMillis));
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Add the duration of one processed article to the moving average
+     */
+    public void recordArticle(long nanos) {
+        double costMillis = nanos / 1_000_000.0;
+        averageCostMillis = articlesTimed == 0 ? costMillis
+                : COST_SMOOTHING * costMillis + (1 - COST_SMOOTHING) * averageCostMillis;
+        articlesTimed++;
+    }
+    
+    public boolean isExhausted() {
+        return exhausted;
+    }
+    
+    public double getAverageCostMillis() {
+        return averageCostMillis;
+    }
+    
+    private static long safetyMarginFromEnvironment() {
+        String margin = System.getenv("DEADLINE_SAFETY_MARGIN_MS");
+        if (margin == null || margin.isBlank()) {
+            return DEFAULT_SAFETY_MARGIN_MILLIS;
+        }
+        try {
+            return Long.parseLong(margin.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid DEADLINE_SAFETY_MARGIN_MS '{}', using {} ms", margin, DEFAULT_SAFETY_MARGIN_MILLIS);
+            return DEFAULT_SAFETY_MARGIN_MILLIS;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.teckiz.journalindex.service;
+
+import com.teckiz.journalindex.dao.ArticleDao;
+import com.teckiz.journalindex.dao.JournalDao;
+import com.teckiz.journalindex.dao.VolumeDao;
+import com.teckiz.journalindex.entity.IndexJournal;
+import com.teckiz.journalindex.entity.IndexJournalArticle;
+import com.teckiz.journalindex.entity.IndexJournalVolume;
+import com.teckiz.journalindex.volume.VolumeIssue;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Journal, volume and article lookups shared by the articles of one write unit
+ * (a batch, or a coalesced flush of several messages), so each journal and volume is
+ * resolved once per unit instead of once per article. Existing articles and the volumes of a
+ * unit can be prefetched with set-based lookups; whatever was not prefetched falls back to
+ * single lookups.
+ */
+public class ReferenceCache {
+    
+    private static final Logger logger = LogManager.getLogger(ReferenceCache.class);
+    
+    private final Map<String, IndexJournal> journalsByKey = new HashMap<>();
+    private final Map<Long, Map<VolumeIssue, IndexJournalVolume>> volumesByJournal = new HashMap<>();
+    private final Map<String, IndexJournalArticle> articlesByPageUrl = new HashMap<>();
+    private final Set<String> prefetchedPageUrls = new HashSet<>();
+    
+    public IndexJournal findOrCreateJournal(String journalKey, String oaiUrl, String publisher) {
+        return journalsByKey.computeIfAbsent(journalKey,
+                key -> JournalDao.findOrCreateByJournalKey(key, oaiUrl, publisher));
+    }
+    
+    public IndexJournalVolume findOrCreateVolume(Long journalId, VolumeIssue volumeIssue) {
+        Map<VolumeIssue, IndexJournalVolume> volumes = volumesByJournal.computeIfAbsent(journalId, id -> new HashMap<>());
+        IndexJournalVolume volume = volumes.get(volumeIssue);
+        if (volume == null) {
+            volume = VolumeDao.findOrCreateAll(journalId, List.of(volumeIssue)).get(volumeIssue);
+            volumes.put(volumeIssue, volume);
+        }
+        return volume;
+    }
+    
+    /**
+     * Resolve the distinct volume/issue pairs of a journal at once, creating the missing volumes
+     * On failure the pairs are simply left to single lookups
+     */
+    public void prefetchVolumes(Long journalId, Collection<VolumeIssue> volumeIssues) {
+        Map<VolumeIssue, IndexJournalVolume> volumes = volumesByJournal.computeIfAbsent(journalId, id -> new HashMap<>());
+        Set<VolumeIssue> missing = new LinkedHashSet<>(volumeIssues);
+        missing.removeAll(volumes.keySet());
+        if (missing.isEmpty()) {
+            return;
+        }
+        try {
+            volumes.putAll(VolumeDao.findOrCreateAll(journalId, missing));
+        } catch (RuntimeException e) {
+            logger.warn("Volume prefetch failed, falling back to single lookups: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * Load the existing articles of many page URLs at once
+     * On failure the URLs are simply not marked as prefetched
+     */
+    public void prefetchArticles(Collection<String> pageUrls) {
+        if (pageUrls.isEmpty()) {
+            return;
+        }
+        try {
+            articlesByPageUrl.putAll(ArticleDao.findByPageURLs(pageUrls));
+            prefetchedPageUrls.addAll(pageUrls);
+        } catch (RuntimeException e) {
+            logger.warn("Article prefetch failed, falling back to single lookups: {}", e.getMessage());
+        }
+    }
+    
+    public Optional<IndexJournalArticle> findArticle(String pageUrl) {
+        if (prefetchedPageUrls.contains(pageUrl)) {
+            return Optional.ofNullable(articlesByPageUrl.get(pageUrl));
+        }
+        return ArticleDao.findByPageURL(pageUrl);
+    }
+    
+    /**
+     * Remember a saved article so later lookups of its URL in this unit see it
+     */
+    public void articleSaved(IndexJournalArticle article) {
+        if (article.getPageURL() != null) {
+            articlesByPageUrl.put(article.getPageURL(), article);
+            prefetchedPageUrls.add(article.getPageURL());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.teckiz.journalindex.util;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered, collision-free entity keys such as ART_01J9Z3K4XW0000000000000000
+ * The 128-bit body is laid out like a ULID: 48 bits of epoch milliseconds, a 64-bit node
+ * drawn once per container, and a 16-bit sequence within the millisecond. Keys from one
+ * container are strictly increasing, even if the clock steps back or a millisecond runs
+ * out of sequence numbers, and the random node keeps concurrent containers apart.
+ * Because keys are assigned client-side, rows inserted in one statement can be matched
+ * back to their generated ids by key.
+ */
+public class EntityKeyGenerator {
+    
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int KEY_LENGTH = 26;
+    private static final int MAX_SEQUENCE = 0xFFFF;
+    
+    private static final EntityKeyGenerator DEFAULT = new EntityKeyGenerator(System::currentTimeMillis, new SecureRandom().nextLong());
+    
+    private final LongSupplier clock;
+    private final long node;
+    private long lastMillis = -1;
+    private int sequence;
+    
+    public EntityKeyGenerator(LongSupplier clock, long node) {
+        this.clock = clock;
+        this.node = node;
+    }
+    
+    /**
+     * Next key from the container-wide generator, e.g. next("ART")
+     */
+    public static String next(String prefix) {
+        return DEFAULT.nextKey(prefix);
+    }
+    
+    public synchronized String nextKey(String prefix) {
+        long now = clock.getAsLong();
+        if (now > lastMillis) {
+            lastMillis = now;
+            sequence = 0;
+        } else if (sequence < MAX_SEQUENCE) {
+            sequence++;
+        } else {
+            // Sequence exhausted (or clock went back): borrow the next millisecond
+            lastMillis++;
+            sequence = 0;
+        }
+        
+        long high = (lastMillis << 16) | (node >>> 48);
+        long low = (node << 16) | sequence;
+        return prefix + "_" + encode(high, low);
+    }
+    
+    /**
+     * Keys for the rows of a multi-row insert, in increasing order
+     */
+    public synchronized List<String> nextKeys(String prefix, int count) {
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add(nextKey(prefix));
+        }
+        return keys;
+    }
+    
+    /**
+     * Crockford base32 of the 128-bit value, zero-padded to 26 characters so keys sort lexically
+     */
+    private static String encode(long high, long low) {
+        char[] chars = new char[KEY_LENGTH];
+        for (int i = KEY_LENGTH - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD[(int) (low & 0x1F)];
+            low = (low >>> 5) | (high << 59);
+            high >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,72 @@
+package com.teckiz.journalindex.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache in front of a batch lookup against a persistent store
+ * Meant for values that never change once stored (dictionary ids, claimed keys), so entries are
+ * only evicted, never invalidated. A lookup serves what it can from the cache and loads all
+ * misses with one call to the loader; the lock is never held while the loader runs.
+ * Thread-safe, so one instance can be shared by the writers of a warm container.
+ */
+public class LruLookupCache<K, V> {
+    
+    private final Function<Collection<K>, Map<K, V>> loader;
+    private final Map<K, V> cache;
+    
+    public LruLookupCache(int maxEntries, Function<Collection<K>, Map<K, V>> loader) {
+        this.loader = loader;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+    
+    /**
+     * Values of the keys, from the cache first and then with one loader call for the rest
+     * Keys the store does not know are missing from the result and are not cached.
+     */
+    public Map<K, V> lookup(Collection<K> keys) {
+        Map<K, V> found = new HashMap<>();
+        List<K> misses = new ArrayList<>();
+        synchronized (cache) {
+            for (K key : keys) {
+                V value = cache.get(key);
+                if (value != null) {
+                    found.put(key, value);
+                } else {
+                    misses.add(key);
+                }
+            }
+        }
+        if (!misses.isEmpty()) {
+            Map<K, V> loaded = loader.apply(misses);
+            found.putAll(loaded);
+            putAll(loaded);
+        }
+        return found;
+    }
+    
+    /**
+     * Cache values read back from the store after writing them
+     */
+    public void putAll(Map<K, V> values) {
+        synchronized (cache) {
+            cache.putAll(values);
+        }
+    }
+    
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.teckiz.journalindex.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Jackson deserializer that routes string values through the invocation's StringPool
+ * The pool is passed as a reader attribute keyed by StringPool.class, e.g.
+ * objectMapper.readerFor(type).withAttribute(StringPool.class, pool);
+ * without the attribute it behaves like the default String deserializer.
+ */
+public class PooledStringDeserializer extends JsonDeserializer<String> {
+    
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        String value = StringDeserializer.instance.deserialize(parser, context);
+        Object pool = context.getAttribute(StringPool.class);
+        if (pool instanceof StringPool) {
+            return ((StringPool) pool).dedupe(value);
+        }
+        return value;
+    }
+}
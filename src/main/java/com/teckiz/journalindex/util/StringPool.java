@@ -0,0 +1,67 @@
+package com.teckiz.journalindex.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bounded string deduplication pool
+ * Values such as publisher, journalKey, setSpec, type, format and language repeat on
+ * nearly every article of a batch; routing them through one pool per invocation lets
+ * all articles share a single String instance instead of one copy per record.
+ * Not thread-safe: create one pool per invocation and drop it when the invocation ends.
+ */
+public class StringPool {
+    
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+    public static final int DEFAULT_MAX_LENGTH = 256;
+    
+    private final Map<String, String> pool;
+    private final int maxEntries;
+    private final int maxLength;
+    private int hits;
+    
+    public StringPool() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_LENGTH);
+    }
+    
+    public StringPool(int maxEntries, int maxLength) {
+        this.maxEntries = maxEntries;
+        this.maxLength = maxLength;
+        this.pool = new HashMap<>(Math.min(maxEntries, 256) * 2);
+    }
+    
+    /**
+     * Return the pooled instance equal to value, adding value to the pool if there is room
+     * Long strings and values seen once the pool is full are returned unchanged
+     */
+    public String dedupe(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        
+        String pooled = pool.get(value);
+        if (pooled != null) {
+            hits++;
+            return pooled;
+        }
+        
+        if (pool.size() < maxEntries) {
+            pool.put(value, value);
+        }
+        return value;
+    }
+    
+    /**
+     * Number of distinct strings held by the pool
+     */
+    public int size() {
+        return pool.size();
+    }
+    
+    /**
+     * Number of lookups that returned an already pooled instance
+     */
+    public int getHits() {
+        return hits;
+    }
+}
@@ -0,0 +1,63 @@
+package com.teckiz.journalindex.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Case and accent folding for lookup keys (author names, keywords)
+ * Text is lower-cased with the root locale, decomposed, and stripped of combining marks, so
+ * "Müller", "MULLER" and "muller" fold to the same key. No regular expressions are used.
+ */
+public final class TextFolding {
+    
+    private TextFolding() {
+    }
+    
+    /**
+     * Lower-case text and strip diacritics (and a few letters that do not decompose)
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            switch (c) {
+                case 'ß' -> folded.append("ss");
+                case 'æ' -> folded.append("ae");
+                case 'œ' -> folded.append("oe");
+                case 'ø' -> folded.append('o');
+                case 'ł' -> folded.append('l');
+                case 'đ', 'ð' -> folded.append('d');
+                case 'þ' -> folded.append("th");
+                case 'ı' -> folded.append('i');
+                default -> folded.append(c);
+            }
+        }
+        return folded.toString();
+    }
+    
+    /**
+     * Folded text with runs of whitespace collapsed to one space and no leading or trailing space
+     */
+    public static String foldKey(String text) {
+        String folded = fold(text);
+        StringBuilder key = new StringBuilder(folded.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = key.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                key.append(' ');
+                pendingSpace = false;
+            }
+            key.append(c);
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,256 @@
+package com.teckiz.journalindex.volume;
+
+import com.teckiz.journalindex.util.TextFolding;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Volume, issue and year of an article, parsed from its source citation
+ * Understands the usual OJS and OAI forms such as "Journal; Vol. 30 No. 2 (2020); 1-10",
+ * "Volume 12, Issue 4", "v. 10 n. 2 (2018)", "Vol 5 Núm. 3" and "Vol. 12(3)". Two values are
+ * equal when volume and issue match; the year only dates a volume when it is created.
+ * Parsing uses no regular expressions.
+ */
+public final class VolumeIssue {
+    
+    // Folded volume and issue labels, without a trailing period
+    static final Set<String> VOLUME_MARKERS = Set.of(
+            "vol", "volume", "volumen", "v", "tome", "tomo", "tom", "t", "bd", "band", "jg", "cilt");
+    static final Set<String> ISSUE_MARKERS = Set.of(
+            "no", "nº", "n°", "n", "nr", "num", "number", "numero", "issue", "iss", "heft", "fasc", "sayi");
+    
+    private static final int MIN_YEAR = 1800;
+    private static final int MAX_YEAR = 2100;
+    
+    // Longest vol_number and issue_number kept
+    private static final int MAX_LENGTH = 255;
+    
+    private final String volume;
+    private final String issue;
+    private final Integer year;
+    
+    private VolumeIssue(String volume, String issue, Integer year) {
+        this.volume = volume;
+        this.issue = issue;
+        this.year = year;
+    }
+    
+    /**
+     * Volume with an optional issue and year
+     */
+    public static VolumeIssue of(String volume, String issue, Integer year) {
+        Objects.requireNonNull(volume, "volume");
+        return new VolumeIssue(volume, issue == null || issue.isBlank() ? null : issue, year);
+    }
+    
+    /**
+     * Parse a source citation; null when it names no volume
+     */
+    public static VolumeIssue parse(String source) {
+        if (source == null || source.isBlank()) {
+            return null;
+        }
+        List<Token> tokens = tokenize(source);
+        
+        String volume = null;
+        String issue = null;
+        int markerEnd = -1;
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            Token next = i + 1 < tokens.size() ? tokens.get(i + 1) : null;
+            if (next == null || !next.isNumber()) {
+                continue;
+            }
+            if (volume == null && token.isMarker(VOLUME_MARKERS)) {
+                volume = next.number();
+                markerEnd = ++i;
+                // "Vol. 12(3)": the issue follows the volume in parentheses
+                Token following = i + 1 < tokens.size() ? tokens.get(i + 1) : null;
+                if (issue == null && following != null && following.parenthesized && following.isNumber()
+                        && year(following) == null) {
+                    issue = following.number();
+                    markerEnd = ++i;
+                }
+            } else if (issue == null && token.isMarker(ISSUE_MARKERS)) {
+                issue = next.number();
+                markerEnd = ++i;
+            }
+        }
+        if (volume == null) {
+            return null;
+        }
+        
+        // A year in parentheses wins; otherwise a bare year after the volume and issue labels
+        Integer year = null;
+        for (int i = 0; i < tokens.size() && year == null; i++) {
+            if (tokens.get(i).parenthesized) {
+                year = year(tokens.get(i));
+            }
+        }
+        for (int i = markerEnd + 1; i < tokens.size() && year == null; i++) {
+            year = year(tokens.get(i));
+        }
+        return new VolumeIssue(volume, issue, year);
+    }
+    
+    public String getVolume() {
+        return volume;
+    }
+    
+    /**
+     * Issue number; null when the source names none
+     */
+    public String getIssue() {
+        return issue;
+    }
+    
+    /**
+     * Publication year; null when the source names none
+     */
+    public Integer getYear() {
+        return year;
+    }
+    
+    /**
+     * January 1st of the year, as the published_at of a new volume
+     */
+    public LocalDateTime getPublishedAt() {
+        return year != null ? LocalDateTime.of(year, 1, 1, 0, 0) : null;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof VolumeIssue)) {
+            return false;
+        }
+        VolumeIssue other = (VolumeIssue) o;
+        return volume.equals(other.volume) && Objects.equals(issue, other.issue);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(volume, issue);
+    }
+    
+    @Override
+    public String toString() {
+        return "Vol. " + volume + (issue != null ? " No. " + issue : "") + (year != null ? " (" + year + ")" : "");
+    }
+    
+    /**
+     * Words of a citation, split at whitespace and punctuation; "Vol.5" is split into "Vol." and "5"
+     */
+    static List<Token> tokenize(String source) {
+        List<Token> tokens = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        int depth = 0;
+        boolean wordParenthesized = false;
+        for (int i = 0; i <= source.length(); i++) {
+            char c = i < source.length() ? source.charAt(i) : ' ';
+            boolean separator = Character.isWhitespace(c) || c == ',' || c == ';' || c == ':'
+                    || c == '(' || c == ')' || c == '[' || c == ']';
+            if (!separator && word.length() > 0 && Character.isDigit(c) && !Character.isDigit(word.charAt(word.length() - 1))
+                    && isLabel(word)) {
+                tokens.add(new Token(word.toString(), wordParenthesized));
+                word.setLength(0);
+            }
+            if (separator) {
+                if (word.length() > 0) {
+                    tokens.add(new Token(word.toString(), wordParenthesized));
+                    word.setLength(0);
+                }
+                if (c == '(' || c == '[') {
+                    depth++;
+                } else if ((c == ')' || c == ']') && depth > 0) {
+                    depth--;
+                }
+            } else {
+                if (word.length() == 0) {
+                    wordParenthesized = depth > 0;
+                }
+                word.append(c);
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * Whether a word is letters optionally followed by a period, as in "Vol." or "No"
+     */
+    private static boolean isLabel(CharSequence word) {
+        int end = word.charAt(word.length() - 1) == '.' ? word.length() - 1 : word.length();
+        if (end == 0) {
+            return false;
+        }
+        for (int i = 0; i < end; i++) {
+            char c = word.charAt(i);
+            if (!Character.isLetter(c) && c != 'º' && c != '°') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static Integer year(Token token) {
+        String text = token.text;
+        if (text.length() != 4) {
+            return null;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return null;
+            }
+        }
+        int year = Integer.parseInt(text);
+        return year >= MIN_YEAR && year <= MAX_YEAR ? year : null;
+    }
+    
+    static final class Token {
+        
+        final String text;
+        final boolean parenthesized;
+        
+        Token(String text, boolean parenthesized) {
+            this.text = text;
+            this.parenthesized = parenthesized;
+        }
+        
+        /**
+         * Whether the token is one of the labels; single letters count only with a period ("v.", "n.")
+         */
+        boolean isMarker(Set<String> markers) {
+            boolean period = text.endsWith(".");
+            String label = TextFolding.fold(period ? text.substring(0, text.length() - 1) : text);
+            if (label.length() == 1 && !period) {
+                return false;
+            }
+            return markers.contains(label);
+        }
+        
+        boolean isNumber() {
+            return !text.isEmpty() && Character.isDigit(text.charAt(0));
+        }
+        
+        /**
+         * Leading digits, letters and range separators, as in "2", "1-2", "3/4" or "5A"
+         */
+        String number() {
+            int end = 0;
+            while (end < text.length() && end < MAX_LENGTH) {
+                char c = text.charAt(end);
+                if (!Character.isLetterOrDigit(c) && c != '-' && c != '/') {
+                    break;
+                }
+                end++;
+            }
+            return text.substring(0, end);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.teckiz.journalindex.author;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AuthorIdentityIndex
+ */
+public class AuthorIdentityIndexTest {
+    
+    /**
+     * In-memory store that counts its queries
+     */
+    private static class MapStore implements AuthorIdentityIndex.Store {
+        
+        private final Map<String, String> rows = new HashMap<>();
+        private int finds;
+        
+        @Override
+        public Map<String, String> find(Collection<String> lookupKeys) {
+            finds++;
+            Map<String, String> found = new HashMap<>();
+            for (String lookupKey : lookupKeys) {
+                if (rows.containsKey(lookupKey)) {
+                    found.put(lookupKey, rows.get(lookupKey));
+                }
+            }
+            return found;
+        }
+        
+        @Override
+        public void claim(Map<String, String> authorKeysByLookupKey) {
+            authorKeysByLookupKey.forEach(rows::putIfAbsent);
+        }
+    }
+    
+    @Test
+    public void testSpellingsResolveToOneIdentity() {
+        AuthorIdentityIndex index = new AuthorIdentityIndex(true, new MapStore(), 100);
+        
+        String john = index.resolve(List.of("Smith, John A.")).get(0).getAuthorKey();
+        assertNotNull(john);
+        assertTrue(john.startsWith("AUT_"));
+        assertEquals(john, index.resolve(List.of("John A. Smith")).get(0).getAuthorKey());
+        assertEquals(john, index.resolve(List.of("J. A. Smith")).get(0).getAuthorKey());
+        assertNotEquals(john, index.resolve(List.of("Jane A. Smith")).get(0).getAuthorKey());
+        assertEquals(john, index.findAuthorKey("JOHN A SMITH").orElse(null));
+    }
+    
+    @Test
+    public void testOrcidWinsOverName() {
+        AuthorIdentityIndex index = new AuthorIdentityIndex(true, new MapStore(), 100);
+        
+        List<AuthorIdentity> first = index.resolve(List.of("Smith, John (https://orcid.org/0000-0002-1825-0097)"));
+        AuthorIdentity identity = first.get(0);
+        assertEquals("Smith, John", identity.getName());
+        assertEquals("0000-0002-1825-0097", identity.getOrcid());
+        
+        // Same ORCID under another spelling, and the name alone, both find the identity
+        assertEquals(identity.getAuthorKey(),
+                index.resolve(List.of("J. Smith 0000-0002-1825-0097")).get(0).getAuthorKey());
+        assertEquals(identity.getAuthorKey(), index.findAuthorKey("John Smith").orElse(null));
+    }
+    
+    @Test
+    public void testCachedKeysSkipTheStore() {
+        MapStore store = new MapStore();
+        AuthorIdentityIndex index = new AuthorIdentityIndex(true, store, 100);
+        index.resolve(List.of("John Smith", "Jane Doe"));
+        int finds = store.finds;
+        
+        index.resolve(List.of("Jane Doe", "John Smith"));
+        
+        assertEquals(finds, store.finds);
+    }
+    
+    @Test
+    public void testDisabledIndexLeavesAuthorsUnlinked() {
+        AuthorIdentityIndex index = new AuthorIdentityIndex(false, new MapStore(), 100);
+        
+        List<AuthorIdentity> identities = index.resolve(List.of("John Smith", " ", "Jane Doe"));
+        
+        assertEquals(2, identities.size());
+        assertNull(identities.get(0).getAuthorKey());
+        assertFalse(index.findAuthorKey("John Smith").isPresent());
+    }
+}
@@ -0,0 +1,76 @@
+package com.teckiz.journalindex.author;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of AuthorListTokenizer against the regex split("[,;]") it replaced
+ * Each invocation splits every creator string of author-names-corpus.tsv once
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorListTokenizerBenchmark {
+    
+    private String[] creators;
+    
+    @Setup
+    public void loadCorpus() throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (InputStream in = AuthorListTokenizerBenchmark.class.getResourceAsStream("/author-names-corpus.tsv")) {
+            if (in == null) {
+                throw new IOException("author-names-corpus.tsv not found on the test classpath");
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    lines.add(line.substring(0, line.indexOf('\t')));
+                }
+            }
+        }
+        creators = lines.toArray(new String[0]);
+    }
+    
+    @Benchmark
+    public int tokenizer() {
+        int authors = 0;
+        for (String creator : creators) {
+            authors += AuthorListTokenizer.tokenize(creator).size();
+        }
+        return authors;
+    }
+    
+    @Benchmark
+    public int regexSplit() {
+        int authors = 0;
+        for (String creator : creators) {
+            for (String authorName : creator.split("[,;]")) {
+                if (!authorName.trim().isEmpty()) {
+                    authors++;
+                }
+            }
+        }
+        return authors;
+    }
+}
@@ -0,0 +1,73 @@
+package com.teckiz.journalindex.author;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AuthorListTokenizer, including its accuracy on a corpus of creator strings
+ */
+public class AuthorListTokenizerTest {
+    
+    // Share of corpus lines that have to split exactly as expected
+    private static final double MIN_ACCURACY = 0.95;
+    
+    @Test
+    public void testCorpusAccuracy() throws Exception {
+        List<String> misses = new ArrayList<>();
+        int lines = 0;
+        try (InputStream in = getClass().getResourceAsStream("/author-names-corpus.tsv")) {
+            assertNotNull(in);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                String creators = line.substring(0, tab);
+                String expected = line.substring(tab + 1);
+                String actual = format(AuthorListTokenizer.tokenize(creators));
+                lines++;
+                if (!expected.equals(actual)) {
+                    misses.add(creators + " -> " + actual + " (expected " + expected + ")");
+                }
+            }
+        }
+        
+        double accuracy = (lines - misses.size()) / (double) lines;
+        assertTrue(lines >= 40);
+        assertTrue(accuracy >= MIN_ACCURACY, "Accuracy " + accuracy + ", misses: " + misses);
+    }
+    
+    @Test
+    public void testNamesKeepSourceText() {
+        assertEquals(List.of("Smith, John", "Doe, Jane"), AuthorListTokenizer.tokenizeToText("Smith, John; Doe, Jane"));
+        assertEquals(List.of("John Smith", "Jane Doe"), AuthorListTokenizer.tokenizeToText("John Smith, Jane Doe"));
+        assertTrue(AuthorListTokenizer.tokenize(null).isEmpty());
+        assertTrue(AuthorListTokenizer.tokenize(" ; , ").isEmpty());
+    }
+    
+    @Test
+    public void testDisplayName() {
+        AuthorName name = AuthorListTokenizer.tokenize("van der Berg, Anna").get(0);
+        
+        assertEquals("Anna van der Berg", name.getDisplayName());
+        assertEquals("Plato", AuthorName.parse("Plato").getDisplayName());
+    }
+    
+    private static String format(List<AuthorName> names) {
+        List<String> formatted = new ArrayList<>();
+        for (AuthorName name : names) {
+            formatted.add(name.getFamily() + " / " + name.getGiven());
+        }
+        return String.join(" | ", formatted);
+    }
+}
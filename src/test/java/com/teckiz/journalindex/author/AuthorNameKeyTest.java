@@ -0,0 +1,48 @@
+package com.teckiz.journalindex.author;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AuthorNameKey and Orcid
+ */
+public class AuthorNameKeyTest {
+    
+    @Test
+    public void testSpellingsShareKeys() {
+        for (String name : new String[] {"Smith, John A.", "John A. Smith", "JOHN A SMITH", "john a smith"}) {
+            AuthorNameKey key = AuthorNameKey.of(name);
+            assertEquals("smith john a", key.fullKey());
+            assertEquals("smith ja", key.initialsKey());
+        }
+        for (String name : new String[] {"J. A. Smith", "J.A. Smith", "Smith JA", "Smith, J. A."}) {
+            AuthorNameKey key = AuthorNameKey.of(name);
+            assertNull(key.fullKey());
+            assertEquals("smith ja", key.initialsKey());
+        }
+    }
+    
+    @Test
+    public void testDiacriticsAndParticles() {
+        assertEquals("muller jose", AuthorNameKey.of("José Müller").fullKey());
+        assertEquals("vanbeethoven ludwig", AuthorNameKey.of("Ludwig van Beethoven").fullKey());
+        assertEquals("obrien sean", AuthorNameKey.of("Seán O'Brien").fullKey());
+        assertEquals("strasse l", AuthorNameKey.of("Ł. Straße").initialsKey());
+        assertEquals("lee john a", AuthorNameKey.of("JOHN A LEE").fullKey());
+        assertEquals("plato", AuthorNameKey.of("Plato").initialsKey());
+        assertNull(AuthorNameKey.of(" ... "));
+    }
+    
+    @Test
+    public void testOrcid() {
+        String name = "Smith, John (https://orcid.org/0000-0002-1825-0097)";
+        
+        assertEquals("0000-0002-1825-0097", Orcid.find(name));
+        assertEquals("Smith, John", Orcid.strip(name));
+        assertEquals("0000-0002-1694-233X", Orcid.find("orcid:0000-0002-1694-233x"));
+        assertNull(Orcid.find("Smith, John 0000-0002-1825-0098"));
+        assertEquals("John Smith", Orcid.strip("John Smith"));
+        assertTrue(Orcid.isValid("0000-0001-5109-3700"));
+    }
+}
@@ -0,0 +1,36 @@
+package com.teckiz.journalindex.backfill;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StagingFileWriter and the LOAD DATA statement of ArticleBackfill
+ */
+public class StagingFileWriterTest {
+    
+    @Test
+    public void testRowsUseLoadDataEscapes() throws Exception {
+        StringWriter out = new StringWriter();
+        try (StagingFileWriter writer = new StagingFileWriter(out)) {
+            writer.writeRow("a\tb", null, "line\nbreak", "back\\slash", true, 3, LocalDateTime.of(2009, 6, 30, 0, 0));
+            writer.writeRow("second", false);
+            assertEquals(2, writer.getRows());
+        }
+        
+        assertEquals("a\\tb\t\\N\tline\\nbreak\tback\\\\slash\t1\t3\t2009-06-30 00:00:00\n" +
+                     "second\t0\n", out.toString());
+    }
+    
+    @Test
+    public void testLoadDataStatementQuotesPath() {
+        String sql = ArticleBackfill.loadDataSql(Paths.get("/tmp/it's/articles.tsv"), "REPLACE", "Staging", "a, b");
+        
+        assertTrue(sql.startsWith("LOAD DATA LOCAL INFILE '/tmp/it\\'s/articles.tsv' REPLACE INTO TABLE Staging"));
+        assertTrue(sql.endsWith("FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' (a, b)"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.teckiz.journalindex.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for GeneratedKeys
+ */
+public class GeneratedKeysTest {
+    
+    @Test
+    public void testValuesRepeatsRowTemplate() {
+        assertEquals("(?, ?), (?, ?), (?, ?)", GeneratedKeys.values("(?, ?)", 3));
+    }
+    
+    @Test
+    public void testIdsAreMappedByPosition() throws Exception {
+        assertEquals(Arrays.asList(11L, 12L, 13L), GeneratedKeys.read(statementReturning(11L, 12L, 13L), 3, 3));
+    }
+    
+    @Test
+    public void testUnmappableResultsFallBack() throws Exception {
+        assertNull(GeneratedKeys.read(statementReturning(11L, 12L), 2, 3));
+        assertNull(GeneratedKeys.read(statementReturning(11L, 12L, 13L), 2, 3));
+        assertNull(GeneratedKeys.read(statementReturning(11L, 13L, 12L), 3, 3));
+    }
+    
+    private static PreparedStatement statementReturning(Long... ids) {
+        Iterator<Long> keys = List.of(ids).iterator();
+        Long[] current = new Long[1];
+        ResultSet resultSet = (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "next":
+                            current[0] = keys.hasNext() ? keys.next() : null;
+                            return current[0] != null;
+                        case "getLong":
+                            return current[0];
+                        default:
+                            return null;
+                    }
+                });
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class},
+                (proxy, method, args) -> "getGeneratedKeys".equals(method.getName()) ? resultSet : null);
+    }
+}
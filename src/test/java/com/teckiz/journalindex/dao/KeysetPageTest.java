@@ -0,0 +1,80 @@
+package com.teckiz.journalindex.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for KeysetPage cursors, KeysetIterator and the JournalDao search helpers
+ */
+public class KeysetPageTest {
+    
+    @Test
+    public void testCursorRoundTrip() {
+        String cursor = KeysetPage.encodeCursor(123456789L);
+        
+        assertEquals(123456789L, KeysetPage.decodeCursor(cursor));
+        assertEquals(0L, KeysetPage.decodeCursor(null));
+        assertEquals(0L, KeysetPage.decodeCursor(""));
+    }
+    
+    @Test
+    public void testTimeCursorRoundTrip() {
+        LocalDateTime publishedAt = LocalDateTime.of(2024, 3, 1, 12, 30, 5);
+        KeysetPage.Position position = KeysetPage.decodeTimeCursor(KeysetPage.encodeCursor(publishedAt, 42L));
+        
+        assertEquals(publishedAt, position.getValue());
+        assertEquals(42L, position.getId());
+        assertNull(KeysetPage.decodeTimeCursor(null));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPage.decodeTimeCursor(KeysetPage.encodeCursor(42L)));
+    }
+    
+    @Test
+    public void testInvalidCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetPage.decodeCursor("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPage.decodeCursor("aWQ6eHl6"));
+    }
+    
+    @Test
+    public void testLikePrefixEscapesWildcards() {
+        assertEquals("Acta%", JournalDao.likePrefix("Acta"));
+        assertEquals("100\\%\\_ok\\\\%", JournalDao.likePrefix("100%_ok\\"));
+    }
+    
+    @Test
+    public void testIteratorWalksEveryPageLazily() {
+        List<String> requestedCursors = new ArrayList<>();
+        KeysetIterator<Long> iterator = new KeysetIterator<>(cursor -> {
+            requestedCursors.add(cursor);
+            long after = KeysetPage.decodeCursor(cursor);
+            if (after == 0) {
+                return new KeysetPage<>(List.of(1L, 2L), KeysetPage.encodeCursor(2));
+            }
+            if (after == 2) {
+                return new KeysetPage<>(new ArrayList<>(), KeysetPage.encodeCursor(2 + 1));
+            }
+            return new KeysetPage<>(List.of(4L), null);
+        });
+        
+        assertEquals(1L, iterator.next());
+        assertEquals(1, requestedCursors.size());
+        assertEquals(2L, iterator.next());
+        assertEquals(4L, iterator.next());
+        assertFalse(iterator.hasNext());
+        assertEquals(3, requestedCursors.size());
+        assertNull(requestedCursors.get(0));
+    }
+    
+    @Test
+    public void testStreamOverSinglePage() {
+        List<Long> ids = KeysetIterator.stream(cursor -> new KeysetPage<>(List.of(7L, 8L), null))
+                .collect(Collectors.toList());
+        
+        assertEquals(List.of(7L, 8L), ids);
+    }
+}
@@ -0,0 +1,55 @@
+package com.teckiz.journalindex.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ReplicaLagGuard
+ */
+public class ReplicaLagGuardTest {
+    
+    @Test
+    public void testLagAboveLimitFallsBackUntilNextCheck() {
+        AtomicLong clock = new AtomicLong();
+        AtomicLong lag = new AtomicLong(2);
+        AtomicInteger probes = new AtomicInteger();
+        ReplicaLagGuard guard = new ReplicaLagGuard(5, 10, () -> {
+            probes.incrementAndGet();
+            return lag.get();
+        }, clock::get);
+        
+        assertTrue(guard.isUsable());
+        lag.set(30);
+        assertTrue(guard.isUsable(), "answer is reused within the check interval");
+        assertEquals(1, probes.get());
+        
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertFalse(guard.isUsable());
+        lag.set(5);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(guard.isUsable());
+        assertEquals(3, probes.get());
+    }
+    
+    @Test
+    public void testStoppedOrUnreachableReplicaIsSkipped() {
+        AtomicLong clock = new AtomicLong();
+        assertFalse(new ReplicaLagGuard(5, 10, () -> null, clock::get).isUsable());
+        assertFalse(new ReplicaLagGuard(5, 10, () -> {
+            throw new SQLException("Access denied; you need the REPLICATION CLIENT privilege");
+        }, clock::get).isUsable());
+        
+        ReplicaLagGuard guard = new ReplicaLagGuard(5, 10, () -> 0L, clock::get);
+        assertTrue(guard.isUsable());
+        guard.markUnusable();
+        assertFalse(guard.isUsable());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(guard.isUsable());
+    }
+}
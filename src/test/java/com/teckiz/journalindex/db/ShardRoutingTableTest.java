@@ -0,0 +1,70 @@
+package com.teckiz.journalindex.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ShardRoutingTable and ShardContext
+ */
+public class ShardRoutingTableTest {
+    
+    @Test
+    public void testExplicitRoutesWinOverHash() {
+        ShardRoutingTable table = ShardRoutingTable.parse(
+                "journal:big-journal=large, company:42=large, bogus=x, company:abc=y", "default,second");
+        
+        assertEquals("large", table.shardForJournal("big-journal"));
+        assertEquals(ShardRouter.DEFAULT_SHARD, table.shardForJournal(null));
+    }
+    
+    @Test
+    public void testCompanyRoutesAreRejected() {
+        ShardRoutingTable table = ShardRoutingTable.parse("company:42=large", null);
+        
+        assertEquals(ShardRouter.DEFAULT_SHARD, table.shardForJournal("journal-of-company-42"));
+    }
+    
+    @Test
+    public void testHashRoutingIsStable() {
+        ShardRoutingTable table = ShardRoutingTable.parse(null, "default, second");
+        
+        String shard = table.shardForJournal("journal-1");
+        assertTrue(Set.of("default", "second").contains(shard));
+        assertEquals(shard, ShardRoutingTable.parse("", "default,second").shardForJournal("journal-1"));
+        assertEquals(ShardRouter.DEFAULT_SHARD, ShardRoutingTable.SINGLE.shardForJournal("journal-1"));
+    }
+    
+    @Test
+    public void testAddingHashShardMovesOnlyItsShareOfJournals() {
+        ShardRoutingTable three = ShardRoutingTable.parse(null, "default,second,third");
+        ShardRoutingTable four = ShardRoutingTable.parse(null, "default,second,third,fourth");
+        
+        int moved = 0;
+        for (int i = 0; i < 2000; i++) {
+            String journalKey = "journal-" + i;
+            String before = three.shardForJournal(journalKey);
+            String after = four.shardForJournal(journalKey);
+            if (!before.equals(after)) {
+                assertEquals("fourth", after, "journals only move to the new shard");
+                moved++;
+            }
+        }
+        assertTrue(moved > 350 && moved < 650, "about a quarter of the journals move, moved " + moved);
+    }
+    
+    @Test
+    @SuppressWarnings("try")
+    public void testContextRestoresPreviousShard() {
+        assertEquals(ShardRouter.DEFAULT_SHARD, ShardContext.current());
+        try (ShardContext outer = ShardContext.enter("large")) {
+            try (ShardContext inner = ShardContext.enter("second")) {
+                assertEquals("second", ShardContext.current());
+            }
+            assertEquals("large", ShardContext.current());
+        }
+        assertEquals(ShardRouter.DEFAULT_SHARD, ShardContext.current());
+    }
+}
@@ -0,0 +1,61 @@
+package com.teckiz.journalindex.keyword;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Keywords and KeywordDictionary
+ */
+public class KeywordsTest {
+    
+    @Test
+    public void testNormalizeDeduplicatesByFoldedKey() {
+        Map<String, String> keywords = Keywords.normalize(Arrays.asList(
+                "Machine  Learning", "machine learning", " Éducation; Higher education ;", null, "  "));
+        
+        assertEquals(List.of("machine learning", "education", "higher education"), List.copyOf(keywords.keySet()));
+        assertEquals("Machine Learning", keywords.get("machine learning"));
+        assertEquals("Éducation", keywords.get("education"));
+    }
+    
+    @Test
+    public void testJoinUsesOneSeparator() {
+        assertEquals("Education, Higher; Policy", Keywords.join(List.of("Education, Higher", "Policy", "policy")));
+        assertNull(Keywords.join(List.of(" ", ";")));
+        assertNull(Keywords.join(null));
+    }
+    
+    @Test
+    public void testDictionaryInsertsOnlyNewKeywords() {
+        Map<String, Long> table = new HashMap<>();
+        int[] inserts = {0};
+        KeywordDictionary dictionary = new KeywordDictionary(true, new KeywordDictionary.Store() {
+            @Override
+            public Map<String, Long> find(Collection<String> keywordKeys) {
+                Map<String, Long> found = new HashMap<>();
+                keywordKeys.stream().filter(table::containsKey).forEach(key -> found.put(key, table.get(key)));
+                return found;
+            }
+            
+            @Override
+            public void insert(Map<String, String> namesByKey) {
+                inserts[0]++;
+                namesByKey.keySet().forEach(key -> table.putIfAbsent(key, (long) table.size() + 1));
+            }
+        }, 100);
+        
+        Map<String, Long> first = dictionary.resolve(Keywords.normalize(List.of("Physics", "Optics")));
+        Map<String, Long> second = dictionary.resolve(Keywords.normalize(List.of("optics", "PHYSICS")));
+        
+        assertEquals(first, second);
+        assertEquals(1, inserts[0]);
+        assertEquals(first.get("optics"), dictionary.findKeywordId("Optics").orElse(null));
+    }
+}
@@ -0,0 +1,82 @@
+package com.teckiz.journalindex.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EmfMetricsEmitter
+ */
+public class EmfMetricsEmitterTest {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @AfterEach
+    public void tearDown() {
+        IngestionMetrics.current().finish();
+    }
+    
+    @Test
+    public void testEmitsSingleEmfLine() throws Exception {
+        IngestionMetrics metrics = IngestionMetrics.start();
+        metrics.articleCreated();
+        metrics.articleCreated();
+        metrics.articleUpdated();
+        metrics.articleSkipped();
+        metrics.dbRoundTrip();
+        metrics.recordStage(IngestionMetrics.Stage.JOURNAL_RESOLVE, 3_000_000);
+        metrics.recordStage(IngestionMetrics.Stage.JOURNAL_RESOLVE, 3_500_000);
+        metrics.recordStage(IngestionMetrics.Stage.JOURNAL_RESOLVE, 40_000_000);
+        metrics.recordConnectionWait(250_000);
+        metrics.finish();
+        
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        EmfMetricsEmitter emitter = new EmfMetricsEmitter(new PrintStream(output, true, StandardCharsets.UTF_8), "Test/Ingestion");
+        emitter.emit(metrics, "journal-index-integration");
+        
+        String[] lines = output.toString(StandardCharsets.UTF_8).trim().split("\n");
+        assertEquals(1, lines.length);
+        JsonNode emf = objectMapper.readTree(lines[0]);
+        
+        JsonNode directive = emf.get("_aws").get("CloudWatchMetrics").get(0);
+        assertEquals("Test/Ingestion", directive.get("Namespace").asText());
+        assertEquals("FunctionName", directive.get("Dimensions").get(0).get(0).asText());
+        assertEquals("journal-index-integration", emf.get("FunctionName").asText());
+        
+        List<String> defined = new ArrayList<>();
+        directive.get("Metrics").forEach(metric -> defined.add(metric.get("Name").asText()));
+        assertTrue(defined.contains("JournalResolveLatency"));
+        assertTrue(defined.contains("HikariWaitTime"));
+        assertFalse(defined.contains("AuthorWriteLatency"), "Empty histograms are not emitted");
+        
+        assertEquals(2, emf.get("ArticlesCreated").asInt());
+        assertEquals(1, emf.get("ArticlesUpdated").asInt());
+        assertEquals(1, emf.get("ArticlesSkipped").asInt());
+        assertEquals(1, emf.get("DbRoundTrips").asInt());
+        
+        JsonNode journalLatency = emf.get("JournalResolveLatency");
+        assertEquals(2, journalLatency.get("Values").size());
+        assertEquals(2, journalLatency.get("Counts").get(0).asInt());
+        assertEquals(3.25, journalLatency.get("Values").get(0).asDouble(), 0.001);
+        assertEquals(40.0, journalLatency.get("Values").get(1).asDouble(), 0.001);
+    }
+    
+    @Test
+    public void testInactiveMetricsIgnoreRecords() {
+        IngestionMetrics metrics = IngestionMetrics.current();
+        assertFalse(metrics.isActive());
+        metrics.articleCreated();
+        metrics.recordStage(IngestionMetrics.Stage.PARSE, 1_000);
+        assertEquals(0, metrics.getArticlesCreated());
+        assertEquals(0, metrics.getStageLatency(IngestionMetrics.Stage.PARSE).getCount());
+    }
+}
@@ -0,0 +1,55 @@
+package com.teckiz.journalindex.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LatencyHistogram
+ */
+public class LatencyHistogramTest {
+    
+    @Test
+    public void testPercentilesUseBucketUpperBounds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.record(800_000);       // 0.8 ms -> 1 ms bucket
+        }
+        for (int i = 0; i < 9; i++) {
+            histogram.record(15_000_000);    // 15 ms -> 20 ms bucket
+        }
+        histogram.record(1_300_000_000L);    // 1.3 s -> 2 s bucket, clamped to max
+        
+        assertEquals(100L, histogram.getCount());
+        assertEquals(1_000_000L, histogram.getPercentileNanos(50));
+        assertEquals(1_000_000L, histogram.getPercentileNanos(90));
+        assertEquals(20_000_000L, histogram.getPercentileNanos(99));
+        assertEquals(1_300_000_000L, histogram.getPercentileNanos(100));
+        assertEquals(800_000L, histogram.getMinNanos());
+    }
+    
+    @Test
+    public void testStageTimerRecordsLaps() {
+        IngestionMetrics metrics = IngestionMetrics.start();
+        try {
+            StageTimer timer = metrics.startTimer();
+            timer.lap(IngestionMetrics.Stage.JOURNAL_RESOLVE);
+            timer.lap(IngestionMetrics.Stage.ARTICLE_LOOKUP);
+            timer.lap(IngestionMetrics.Stage.ARTICLE_LOOKUP);
+            
+            assertEquals(1L, metrics.getStageLatency(IngestionMetrics.Stage.JOURNAL_RESOLVE).getCount());
+            assertEquals(2L, metrics.getStageLatency(IngestionMetrics.Stage.ARTICLE_LOOKUP).getCount());
+            assertTrue(metrics.getLatencySummary().contains("ArticleLookup"));
+            assertFalse(metrics.getLatencySummary().contains("AuthorWrite"));
+        } finally {
+            metrics.finish();
+        }
+    }
+    
+    @Test
+    public void testEmptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getPercentileNanos(99));
+        assertEquals(0L, histogram.getMinNanos());
+    }
+}
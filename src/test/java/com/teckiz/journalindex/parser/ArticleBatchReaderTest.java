@@ -0,0 +1,98 @@
+package com.teckiz.journalindex.parser;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ArticleBatchReader
+ */
+public class ArticleBatchReaderTest {
+    
+    private ObjectReader reader;
+    
+    @BeforeEach
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        reader = mapper.reader();
+    }
+    
+    @Test
+    public void testStreamsArticlesAfterEnvelope() throws Exception {
+        String json = "{\"journalKey\":\"JRNL_1\",\"messageType\":\"ArticleBatch\",\"batchNumber\":2," +
+                "\"articles\":[{\"title\":\"First\"},null,{\"title\":\"Second\"}],\"timestamp\":\"2025-10-10\"}";
+        
+        try (ArticleBatchReader batchReader = ArticleBatchReader.open(reader, json)) {
+            SqsArticleMessage envelope = batchReader.getEnvelope();
+            assertEquals("JRNL_1", envelope.getJournalKey());
+            assertEquals(2, envelope.getBatchNumber());
+            assertNull(envelope.getArticles());
+            assertNull(envelope.getTimestamp());
+            
+            assertEquals(List.of("First", "Second"), titles(batchReader));
+            assertEquals(2, batchReader.getArticlesRead());
+            
+            // Fields after the streamed array are merged once it has been consumed
+            assertEquals("2025-10-10", envelope.getTimestamp());
+        }
+    }
+    
+    @Test
+    public void testBuffersArticlesBeforeEnvelope() throws Exception {
+        String json = "{\"articles\":[{\"title\":\"First\"},{\"title\":\"Second\"}]," +
+                "\"journalKey\":\"JRNL_1\",\"messageType\":\"ArticleBatch\",\"oaiUrl\":\"https://example.com/oai\"}";
+        
+        try (ArticleBatchReader batchReader = ArticleBatchReader.open(reader, json)) {
+            SqsArticleMessage envelope = batchReader.getEnvelope();
+            assertEquals("JRNL_1", envelope.getJournalKey());
+            assertEquals("https://example.com/oai", envelope.getOaiUrl());
+            assertEquals(List.of("First", "Second"), titles(batchReader));
+        }
+    }
+    
+    @Test
+    public void testMessageBuffersArticlesUntilOaiUrlAndBatchNumberAreKnown() throws Exception {
+        String json = "{\"journalKey\":\"JRNL_1\",\"messageType\":\"ArticleBatch\"," +
+                "\"articles\":[{\"title\":\"First\"}],\"oaiUrl\":\"https://example.com/oai\",\"batchNumber\":3}";
+        
+        try (ArticleBatchReader batchReader = ArticleBatchReader.openMessage(reader, json)) {
+            SqsArticleMessage envelope = batchReader.getEnvelope();
+            assertEquals("https://example.com/oai", envelope.getOaiUrl());
+            assertEquals(3, envelope.getBatchNumber());
+            assertEquals(List.of("First"), titles(batchReader));
+        }
+        
+        // Payloads only need journalKey and messageType, so the same document streams
+        try (ArticleBatchReader batchReader = ArticleBatchReader.open(reader, json)) {
+            assertNull(batchReader.getEnvelope().getOaiUrl());
+            assertEquals(List.of("First"), titles(batchReader));
+        }
+    }
+    
+    @Test
+    public void testSingleArticleMessage() throws Exception {
+        String json = "{\"journalKey\":\"JRNL_1\",\"messageType\":\"Article\",\"article\":{\"title\":\"Only\"}}";
+        
+        try (ArticleBatchReader batchReader = ArticleBatchReader.open(reader, json)) {
+            assertEquals("Only", batchReader.getEnvelope().getArticle().getTitle());
+            assertFalse(batchReader.hasNext());
+        }
+    }
+    
+    private List<String> titles(ArticleBatchReader batchReader) {
+        List<String> titles = new ArrayList<>();
+        while (batchReader.hasNext()) {
+            titles.add(batchReader.next().getTitle());
+        }
+        return titles;
+    }
+}
@@ -0,0 +1,57 @@
+package com.teckiz.journalindex.parser;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MessageBodyDecoder
+ */
+public class MessageBodyDecoderTest {
+    
+    @Test
+    public void testDecodesGzipBodyIntoBatchReader() throws Exception {
+        String json = "{\"journalKey\":\"JRNL_1\",\"messageType\":\"ArticleBatch\"," +
+                "\"articles\":[{\"title\":\"Résumé\"},{\"title\":\"Second\"}]}";
+        String body = gzipBase64(json);
+        
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        ObjectReader reader = mapper.reader();
+        
+        try (ArticleBatchReader batchReader = ArticleBatchReader.open(reader, MessageBodyDecoder.open(body, "gzip+base64"))) {
+            SqsArticleMessage envelope = batchReader.getEnvelope();
+            assertEquals("JRNL_1", envelope.getJournalKey());
+            assertEquals("Résumé", batchReader.next().getTitle());
+            assertEquals("Second", batchReader.next().getTitle());
+            assertFalse(batchReader.hasNext());
+        }
+    }
+    
+    @Test
+    public void testEncodingDetection() {
+        assertTrue(MessageBodyDecoder.isEncoded("gzip"));
+        assertTrue(MessageBodyDecoder.isEncoded(" ZSTD "));
+        assertFalse(MessageBodyDecoder.isEncoded(null));
+        assertFalse(MessageBodyDecoder.isEncoded("identity"));
+        assertThrows(IOException.class, () -> MessageBodyDecoder.open("AAAA", "br"));
+    }
+    
+    private static String gzipBase64(String json) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+}
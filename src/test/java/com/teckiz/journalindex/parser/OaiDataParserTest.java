@@ -1,5 +1,7 @@
 package com.teckiz.journalindex.parser;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teckiz.journalindex.model.OaiRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,6 +12,8 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,33 +36,71 @@ public class OaiDataParserTest {
     
     @Test
     public void testParseListRecordsResponse() {
-        List<Map<String, Object>> records = parser.parseListRecordsResponse(sampleOaiResponse);
+        List<OaiRecord> records = parser.parseListRecordsResponse(sampleOaiResponse);
         
         assertNotNull(records);
         assertEquals(2, records.size());
         
         // Test first record
-        Map<String, Object> firstRecord = records.get(0);
-        assertEquals("oai:example.com:12345", firstRecord.get("identifier"));
-        assertEquals("Journal of Example Research", firstRecord.get("title"));
-        assertEquals("John Doe", firstRecord.get("creator"));
-        assertEquals("Example Publishing House", firstRecord.get("publisher"));
-        assertEquals("Computer Science", firstRecord.get("subject"));
-        assertEquals("Journal Article", firstRecord.get("type"));
-        assertEquals("en", firstRecord.get("language"));
+        OaiRecord firstRecord = records.get(0);
+        assertEquals("oai:example.com:12345", firstRecord.identifier());
+        assertEquals("Journal of Example Research", firstRecord.title());
+        assertEquals("John Doe", firstRecord.creator());
+        assertEquals("Example Publishing House", firstRecord.publisher());
+        assertEquals("Computer Science", firstRecord.subject());
+        assertEquals("Journal Article", firstRecord.type());
+        assertEquals("en", firstRecord.language());
         
         // Test second record
-        Map<String, Object> secondRecord = records.get(1);
-        assertEquals("oai:example.com:12346", secondRecord.get("identifier"));
-        assertEquals("Advanced Data Structures", secondRecord.get("title"));
-        assertEquals("Jane Smith", secondRecord.get("creator"));
-        assertEquals("Example Publishing House", secondRecord.get("publisher"));
+        OaiRecord secondRecord = records.get(1);
+        assertEquals("oai:example.com:12346", secondRecord.identifier());
+        assertEquals("Advanced Data Structures", secondRecord.title());
+        assertEquals("Jane Smith", secondRecord.creator());
+        assertEquals("Example Publishing House", secondRecord.publisher());
+    }
+    
+    @Test
+    public void testParseListRecordsKeepsRepeatedValues() {
+        List<OaiRecord> records = parser.parseListRecordsResponse(sampleOaiResponse);
+        
+        OaiRecord firstRecord = records.get(0);
+        assertEquals("2024-01-15T10:00:00Z", firstRecord.datestamp());
+        assertEquals("journal", firstRecord.setSpec());
+        assertEquals("https://example.com/article/12345", firstRecord.metadataIdentifier());
+        assertEquals(List.of("Computer Science", "Machine Learning"), firstRecord.subjects());
+        assertEquals(List.of("John Doe"), firstRecord.creators());
+        
+        // Values repeated across records share one pooled instance
+        assertSame(firstRecord.publisher(), records.get(1).publisher());
+        assertSame(firstRecord.subject(), records.get(1).subject());
+    }
+    
+    @Test
+    public void testStreamListRecordsResponse() {
+        try (Stream<OaiRecord> records = parser.streamListRecordsResponse(sampleOaiResponse)) {
+            assertEquals(List.of("oai:example.com:12345", "oai:example.com:12346"),
+                    records.map(OaiRecord::identifier).collect(Collectors.toList()));
+        }
+    }
+    
+    @Test
+    public void testRecordToJsonKeepsMapKeys() throws Exception {
+        OaiRecord record = parser.parseListRecordsResponse(sampleOaiResponse).get(0);
+        
+        @SuppressWarnings("unchecked")
+        Map<String, Object> json = new ObjectMapper().readValue(parser.toJson(record), Map.class);
+        assertEquals("oai:example.com:12345", json.get("identifier"));
+        assertEquals("John Doe", json.get("creator"));
+        assertEquals("Computer Science", json.get("subject"));
+        assertEquals(List.of("Computer Science", "Machine Learning"), json.get("subjects"));
+        assertEquals("https://example.com/article/12345", json.get("metadataIdentifier"));
+        assertEquals(17, json.size());
     }
     
     @Test
     public void testParseEmptyResponse() {
         String emptyResponse = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\"><ListRecords></ListRecords></OAI-PMH>";
-        List<Map<String, Object>> records = parser.parseListRecordsResponse(emptyResponse);
+        List<OaiRecord> records = parser.parseListRecordsResponse(emptyResponse);
         
         assertNotNull(records);
         assertTrue(records.isEmpty());
@@ -67,7 +109,7 @@ public class OaiDataParserTest {
     @Test
     public void testParseInvalidXml() {
         String invalidXml = "This is not valid XML";
-        List<Map<String, Object>> records = parser.parseListRecordsResponse(invalidXml);
+        List<OaiRecord> records = parser.parseListRecordsResponse(invalidXml);
         
         assertNotNull(records);
         assertTrue(records.isEmpty());
@@ -0,0 +1,122 @@
+package com.teckiz.journalindex.reference;
+
+import com.teckiz.journalindex.entity.IndexCountry;
+import com.teckiz.journalindex.entity.IndexJournal;
+import com.teckiz.journalindex.entity.IndexJournalLanguage;
+import com.teckiz.journalindex.entity.IndexLanguage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ReferenceData and ReferenceDataCache
+ */
+public class ReferenceDataTest {
+    
+    private static ReferenceData sample() {
+        return ReferenceData.of(
+                List.of(language(1L, "English", "en", "eng"), language(2L, "Português", "pt", "por"),
+                        language(3L, "English (duplicate)", "en", "eng")),
+                List.of(journalLanguage(10L, "en"), journalLanguage(11L, "en"), journalLanguage(11L, "pt")),
+                List.of(country(5L, "Germany", "DE"), country(6L, "Côte d'Ivoire", "CI")));
+    }
+    
+    @Test
+    public void testFindsLanguagesByCodeTagAndName() {
+        ReferenceData data = sample();
+        
+        assertEquals(Optional.of(1L), data.findLanguageId("en"));
+        assertEquals(Optional.of(1L), data.findLanguageId("ENG"));
+        assertEquals(Optional.of(1L), data.findLanguageId("en_US"));
+        assertEquals(Optional.of(2L), data.findLanguageId("pt-BR"));
+        assertEquals(Optional.of(2L), data.findLanguageId("portugues"));
+        assertEquals(Optional.empty(), data.findLanguageId("xx"));
+        assertEquals(Optional.empty(), data.findLanguageId(null));
+    }
+    
+    @Test
+    public void testJournalLanguageOnlyWhenUnambiguous() {
+        ReferenceData data = sample();
+        
+        assertEquals(Optional.of(1L), data.findJournalLanguageId(10L));
+        assertEquals(Optional.empty(), data.findJournalLanguageId(11L));
+        assertEquals(Optional.empty(), data.findJournalLanguageId(null));
+    }
+    
+    @Test
+    public void testFindsCountriesByCodeAndName() {
+        ReferenceData data = sample();
+        
+        assertEquals(Optional.of(5L), data.findCountryId("de"));
+        assertEquals(Optional.of(6L), data.findCountryId("Cote d'Ivoire"));
+        assertEquals(Optional.empty(), data.findCountryId(""));
+    }
+    
+    @Test
+    public void testCacheReloadsAfterTtlAndKeepsSnapshotOnFailure() {
+        long[] now = {0};
+        int[] loads = {0};
+        boolean[] failing = {false};
+        ReferenceDataCache cache = new ReferenceDataCache(() -> {
+            loads[0]++;
+            if (failing[0]) {
+                throw new RuntimeException("database unavailable");
+            }
+            return sample();
+        }, 60, () -> now[0]);
+        
+        ReferenceData first = cache.get();
+        assertSame(first, cache.get());
+        assertEquals(1, loads[0]);
+        
+        now[0] = TimeUnit.SECONDS.toNanos(61);
+        failing[0] = true;
+        assertSame(first, cache.get());
+        assertSame(first, cache.get());
+        assertEquals(2, loads[0]);
+        
+        now[0] = TimeUnit.SECONDS.toNanos(122);
+        failing[0] = false;
+        assertFalse(first == cache.get());
+        assertEquals(3, loads[0]);
+    }
+    
+    @Test
+    public void testFailedFirstLoadLeavesArticlesUntagged() {
+        ReferenceDataCache cache = new ReferenceDataCache(() -> {
+            throw new RuntimeException("database unavailable");
+        }, 60, () -> 0L);
+        
+        assertSame(ReferenceData.EMPTY, cache.get());
+    }
+    
+    private static IndexLanguage language(Long id, String name, String codeA, String codeB) {
+        IndexLanguage language = new IndexLanguage();
+        language.setId(id);
+        language.setName(name);
+        language.setCodeA(codeA);
+        language.setCodeB(codeB);
+        return language;
+    }
+    
+    private static IndexJournalLanguage journalLanguage(Long journalId, String codeA) {
+        IndexJournal journal = new IndexJournal();
+        journal.setId(journalId);
+        IndexJournalLanguage journalLanguage = new IndexJournalLanguage();
+        journalLanguage.setCodeA(codeA);
+        journalLanguage.setIndexJournal(journal);
+        return journalLanguage;
+    }
+    
+    private static IndexCountry country(Long id, String name, String code) {
+        IndexCountry country = new IndexCountry();
+        country.setId(id);
+        country.setName(name);
+        country.setCode(code);
+        return country;
+    }
+}
@@ -0,0 +1,43 @@
+package com.teckiz.journalindex.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for MySqlFullTextIndex
+ */
+public class MySqlFullTextIndexTest {
+    
+    @Test
+    public void testBooleanQueryRequiresEveryWordAsPrefix() {
+        assertEquals("+data* +mining*", MySqlFullTextIndex.toBooleanQuery("data mining"));
+        assertEquals("+Müller* +Brien*", MySqlFullTextIndex.toBooleanQuery("Müller, O'Brien"));
+        assertEquals("+protein*", MySqlFullTextIndex.toBooleanQuery("+protein* -of (a)"));
+        assertEquals("", MySqlFullTextIndex.toBooleanQuery("a to"));
+        assertEquals("", MySqlFullTextIndex.toBooleanQuery(null));
+    }
+    
+    @Test
+    public void testEmptyQueriesDoNotTouchTheDatabase() {
+        MySqlFullTextIndex index = new MySqlFullTextIndex(() -> {
+            throw new SQLException("no database");
+        });
+        
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search(ArticleSearchIndex.Field.AUTHORS, "li", 10).isEmpty());
+    }
+    
+    @Test
+    public void testWritesFailOpen() {
+        MySqlFullTextIndex index = new MySqlFullTextIndex(() -> {
+            throw new SQLException("no database");
+        });
+        
+        index.authorsSaved(1L, Collections.singletonList("Jane Doe"));
+        assertThrows(RuntimeException.class, () -> index.search("genome", 10));
+    }
+}
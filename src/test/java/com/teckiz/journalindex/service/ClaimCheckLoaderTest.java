@@ -0,0 +1,131 @@
+package com.teckiz.journalindex.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.teckiz.journalindex.blob.LocalFileBlobSource;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import com.teckiz.journalindex.parser.ArticleBatchReader;
+import com.teckiz.journalindex.parser.ArticleStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ClaimCheckLoader using the local filesystem blob source
+ */
+public class ClaimCheckLoaderTest {
+    
+    @TempDir
+    Path blobRoot;
+    
+    private ClaimCheckLoader loader;
+    private ObjectReader reader;
+    
+    @BeforeEach
+    public void setUp() {
+        loader = new ClaimCheckLoader(new LocalFileBlobSource(blobRoot));
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        reader = mapper.reader();
+    }
+    
+    @Test
+    public void testIsClaimCheck() {
+        SqsArticleMessage message = new SqsArticleMessage();
+        assertFalse(ClaimCheckLoader.isClaimCheck(message));
+        
+        message.setS3Path("batches/2025");
+        message.setS3FileName("page-1.json");
+        assertTrue(ClaimCheckLoader.isClaimCheck(message));
+        assertEquals("batches/2025/page-1.json", ClaimCheckLoader.locationOf(message));
+        
+        message.setS3Key("batches/page-2.json");
+        assertEquals("batches/page-2.json", ClaimCheckLoader.locationOf(message));
+        
+        message.setArticle(new SqsArticleMessage.ArticleData());
+        assertFalse(ClaimCheckLoader.isClaimCheck(message));
+    }
+    
+    @Test
+    public void testBatchWithInlineArticlesAndS3LocationIsNotClaimCheck() throws Exception {
+        // Shape of the production ArticleBatch: payload location next to the inline articles
+        String json = "{\"journalKey\":\"68653804af297\",\"oaiUrl\":\"https://pjss.bzu.edu.pk/index.php/pjss\"," +
+                "\"s3Url\":\"https://index-journal-files.s3.ap-south-1.amazonaws.com/page-1.xml\"," +
+                "\"s3Key\":\"2025/10/10/68653804af297-listrecords-page-1/page-1.xml\"," +
+                "\"s3Path\":\"s3://index-journal-files/2025/10/10\",\"s3FileName\":\"page-1.xml\"," +
+                "\"messageType\":\"ArticleBatch\",\"pageNumber\":1,\"batchNumber\":2,\"articlesInBatch\":1," +
+                "\"articles\":[{\"title\":\"Article Title Here\"}]}";
+        
+        try (ArticleBatchReader batchReader = ArticleBatchReader.open(reader, json)) {
+            assertTrue(batchReader.hasInlineArticles());
+            assertFalse(ClaimCheckLoader.isClaimCheck(batchReader.getEnvelope(), batchReader.hasInlineArticles()));
+            assertEquals(List.of("Article Title Here"), titles(batchReader));
+        }
+        
+        String claimCheck = "{\"journalKey\":\"68653804af297\",\"messageType\":\"ArticleBatch\"," +
+                "\"s3Key\":\"batches/page-1.json\"}";
+        try (ArticleBatchReader batchReader = ArticleBatchReader.open(reader, claimCheck)) {
+            assertFalse(batchReader.hasInlineArticles());
+            assertTrue(ClaimCheckLoader.isClaimCheck(batchReader.getEnvelope(), batchReader.hasInlineArticles()));
+        }
+    }
+    
+    @Test
+    public void testOpensGzippedJsonPayload() throws Exception {
+        String json = "{\"journalKey\":\"JRNL_1\",\"messageType\":\"ArticleBatch\"," +
+                "\"articles\":[{\"title\":\"First\"},{\"title\":\"Second\"}]}";
+        Files.createDirectories(blobRoot.resolve("batches"));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(blobRoot.resolve("batches/page-1.json.gz")))) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        SqsArticleMessage message = new SqsArticleMessage();
+        message.setJournalKey("JRNL_1");
+        message.setS3Key("batches/page-1.json.gz");
+        
+        try (ArticleStream articles = loader.openArticles(message, reader)) {
+            assertEquals(List.of("First", "Second"), titles(articles));
+        }
+    }
+    
+    @Test
+    public void testOpensOaiXmlPayload() throws Exception {
+        Files.copy(Paths.get("src/test/resources/sample-oai-response.xml"), blobRoot.resolve("records.xml"));
+        
+        SqsArticleMessage message = new SqsArticleMessage();
+        message.setJournalKey("JRNL_1");
+        message.setS3Url("s3://local-test-bucket/records.xml");
+        
+        try (ArticleStream articles = loader.openArticles(message, reader)) {
+            SqsArticleMessage.ArticleData first = articles.next();
+            assertEquals("Journal of Example Research", first.getTitle());
+            assertEquals("JRNL_1", first.getJournalKey());
+            assertEquals("https://example.com/article/12345", first.getIdentifier());
+            assertEquals(List.of("Computer Science", "Machine Learning"), first.getSubjects());
+            assertEquals("journal", first.getSetSpec());
+            
+            assertEquals("Advanced Data Structures", articles.next().getTitle());
+            assertFalse(articles.hasNext());
+        }
+    }
+    
+    private List<String> titles(ArticleStream articles) {
+        List<String> titles = new ArrayList<>();
+        while (articles.hasNext()) {
+            titles.add(articles.next().getTitle());
+        }
+        return titles;
+    }
+}
@@ -0,0 +1,59 @@
+package com.teckiz.journalindex.service;
+
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for IdempotencyLedger
+ */
+public class IdempotencyLedgerTest {
+    
+    @Test
+    public void testBatchMessagesAreKeyedByJournalPageBatchAndHarvest() {
+        SqsArticleMessage message = new SqsArticleMessage();
+        message.setJournalKey("JRNL_1");
+        message.setPageNumber(3);
+        message.setBatchNumber(7);
+        message.setS3Key("2025/10/10/JRNL_1-listrecords-page-3_20251010_153216.xml");
+        
+        String key = IdempotencyLedger.keyOf(message, "msg-a");
+        assertTrue(key.startsWith("batch:JRNL_1:3:7:"));
+        assertEquals(key, IdempotencyLedger.keyOf(message, "msg-b"));
+        
+        // A later harvest of the same page and batch is a new message, not a redelivery
+        message.setS3Key("2025/10/11/JRNL_1-listrecords-page-3_20251011_090000.xml");
+        assertFalse(key.equals(IdempotencyLedger.keyOf(message, "msg-a")));
+        
+        message.setS3Key(null);
+        message.setTimestamp("2025-10-11T09:00:00Z");
+        message.setPageNumber(null);
+        assertTrue(IdempotencyLedger.keyOf(message, "msg-a").startsWith("batch:JRNL_1:0:7:"));
+    }
+    
+    @Test
+    public void testBatchMessagesWithoutHarvestUseMessageId() {
+        SqsArticleMessage message = new SqsArticleMessage();
+        message.setJournalKey("JRNL_1");
+        message.setBatchNumber(7);
+        
+        assertEquals("msg:msg-a", IdempotencyLedger.keyOf(message, "msg-a"));
+    }
+    
+    @Test
+    public void testMessagesWithoutBatchNumberUseMessageId() {
+        SqsArticleMessage message = new SqsArticleMessage();
+        message.setJournalKey("JRNL_1");
+        
+        assertEquals("msg:msg-a", IdempotencyLedger.keyOf(message, "msg-a"));
+    }
+    
+    @Test
+    public void testDisabledLedgerNeverReportsDuplicates() {
+        IdempotencyLedger ledger = new IdempotencyLedger(false, 3600);
+        assertFalse(ledger.isProcessed("msg:msg-a"));
+        ledger.markProcessed("msg:msg-a", "msg-a", "JRNL_1", "ok");
+        assertFalse(ledger.isProcessed("msg:msg-a"));
+    }
+}
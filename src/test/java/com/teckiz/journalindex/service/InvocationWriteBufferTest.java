@@ -0,0 +1,86 @@
+package com.teckiz.journalindex.service;
+
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for InvocationWriteBuffer
+ */
+public class InvocationWriteBufferTest {
+    
+    @Test
+    public void testDuplicateIdentifiersKeepLatestDatestamp() {
+        InvocationWriteBuffer buffer = new InvocationWriteBuffer();
+        buffer.addMessage("msg-a", "msg:msg-a", envelope("JRNL_1"));
+        buffer.addMessage("msg-b", "msg:msg-b", envelope("JRNL_1"));
+        
+        buffer.addArticle("msg-a", article("oai:1", "2024-05-01T00:00:00Z", "Newer"));
+        buffer.addArticle("msg-b", article("oai:1", "2024-01-01T00:00:00Z", "Older"));
+        buffer.addArticle("msg-b", article("oai:2", null, "Other"));
+        
+        assertEquals(2, buffer.size());
+        assertEquals(1, buffer.getDuplicatesMerged());
+        
+        List<InvocationWriteBuffer.BufferedArticle> articles = buffer.drainArticles();
+        assertEquals("Newer", articles.get(0).getArticle().getTitle());
+        assertEquals(2, articles.get(0).getSources().size());
+        assertEquals(1, articles.get(1).getSources().size());
+    }
+    
+    @Test
+    public void testArticlesWithoutIdentifierAreNotMerged() {
+        InvocationWriteBuffer buffer = new InvocationWriteBuffer();
+        buffer.addMessage("msg-a", "msg:msg-a", envelope("JRNL_1"));
+        
+        buffer.addArticle("msg-a", article(null, null, "First"));
+        buffer.addArticle("msg-a", article(" ", null, "Second"));
+        
+        assertEquals(2, buffer.size());
+        assertEquals(0, buffer.getDuplicatesMerged());
+    }
+    
+    @Test
+    public void testOutcomesReportResultsToEverySourceMessage() {
+        InvocationWriteBuffer buffer = new InvocationWriteBuffer();
+        buffer.addMessage("msg-a", "msg:msg-a", envelope("JRNL_1"));
+        buffer.addMessage("msg-b", "msg:msg-b", envelope("JRNL_1"));
+        buffer.addArticle("msg-a", article("oai:1", null, "Shared"));
+        buffer.addArticle("msg-b", article("oai:1", null, "Shared"));
+        buffer.addArticle("msg-b", article("oai:2", null, "Late"));
+        buffer.addMessage("msg-c", "msg:msg-c", envelope("JRNL_1"));
+        buffer.addArticle("msg-c", article("oai:3", null, "Broken"));
+        
+        List<InvocationWriteBuffer.BufferedArticle> articles = buffer.drainArticles();
+        articles.get(0).markWritten();
+        articles.get(1).markDeferred();
+        articles.get(2).markFailed();
+        
+        List<InvocationWriteBuffer.MessageOutcome> outcomes = buffer.drainMessages();
+        assertTrue(buffer.isEmpty());
+        assertFalse(outcomes.get(0).isDeferred());
+        assertEquals(1, outcomes.get(0).getWritten());
+        assertTrue(outcomes.get(1).isDeferred());
+        assertEquals(2, outcomes.get(1).getArticles());
+        assertFalse(outcomes.get(0).hasFailures());
+        assertTrue(outcomes.get(2).hasFailures());
+        assertFalse(outcomes.get(2).isDeferred());
+    }
+    
+    private static SqsArticleMessage envelope(String journalKey) {
+        SqsArticleMessage message = new SqsArticleMessage();
+        message.setJournalKey(journalKey);
+        return message;
+    }
+    
+    private static SqsArticleMessage.ArticleData article(String identifier, String datestamp, String title) {
+        SqsArticleMessage.ArticleData article = new SqsArticleMessage.ArticleData();
+        article.setIdentifier(identifier);
+        article.setDatestamp(datestamp);
+        article.setTitle(title);
+        return article;
+    }
+}
@@ -0,0 +1,57 @@
+package com.teckiz.journalindex.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ProcessingDeadline
+ */
+public class ProcessingDeadlineTest {
+    
+    @Test
+    public void testStopsWhenAverageCostExceedsBudget() {
+        AtomicLong remaining = new AtomicLong(30_000);
+        ProcessingDeadline deadline = new ProcessingDeadline(remaining::get, 10_000);
+        
+        assertTrue(deadline.canStartNext());
+        deadline.recordArticle(4_000_000_000L);     // 4 s
+        deadline.recordArticle(9_000_000_000L);     // 9 s -> average 5 s
+        assertEquals(5_000.0, deadline.getAverageCostMillis(), 0.001);
+        
+        remaining.set(16_000);                      // 6 s budget after the margin
+        assertTrue(deadline.canStartNext());
+        
+        remaining.set(14_000);                      // 4 s budget, below the average cost
+        assertFalse(deadline.canStartNext());
+        assertTrue(deadline.isExhausted());
+        
+        remaining.set(200_000);                     // stays exhausted for the invocation
+        assertFalse(deadline.canStartNext());
+    }
+    
+    @Test
+    public void testBatchMustFitAsAWhole() {
+        AtomicLong remaining = new AtomicLong(40_000);
+        ProcessingDeadline deadline = new ProcessingDeadline(remaining::get, 10_000);
+        deadline.recordArticle(1_000_000_000L);     // 1 s per article, 30 s budget
+        
+        assertTrue(deadline.canFit(20));
+        assertTrue(deadline.canStartNext());
+        
+        assertFalse(deadline.canFit(50));           // 50 s estimated for the batch
+        assertTrue(deadline.isExhausted());
+        assertFalse(deadline.canStartNext());
+    }
+    
+    @Test
+    public void testUnboundedNeverExpires() {
+        ProcessingDeadline deadline = ProcessingDeadline.unbounded();
+        deadline.recordArticle(60_000_000_000L);
+        assertTrue(deadline.canStartNext());
+        assertTrue(deadline.canFit(JsonArticleProcessor.FLUSH_CHUNK_SIZE));
+        assertFalse(deadline.isExhausted());
+    }
+}
@@ -0,0 +1,49 @@
+package com.teckiz.journalindex.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EntityKeyGenerator
+ */
+public class EntityKeyGeneratorTest {
+    
+    @Test
+    public void testKeysAreUniqueAndIncreasingWithinOneMillisecond() {
+        EntityKeyGenerator generator = new EntityKeyGenerator(() -> 1_700_000_000_000L, 42L);
+        List<String> keys = generator.nextKeys("ART", 70_000);
+        
+        Set<String> distinct = new HashSet<>(keys);
+        assertEquals(keys.size(), distinct.size());
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0, "Key " + i + " is not increasing");
+        }
+        assertTrue(keys.get(0).startsWith("ART_"));
+        assertEquals(30, keys.get(0).length());
+    }
+    
+    @Test
+    public void testKeysStayIncreasingWhenClockGoesBack() {
+        long[] now = {1_700_000_000_500L};
+        EntityKeyGenerator generator = new EntityKeyGenerator(() -> now[0], 7L);
+        
+        String first = generator.nextKey("VOL");
+        now[0] -= 400;
+        String second = generator.nextKey("VOL");
+        
+        assertTrue(first.compareTo(second) < 0);
+    }
+    
+    @Test
+    public void testDifferentNodesNeverCollide() {
+        EntityKeyGenerator first = new EntityKeyGenerator(() -> 1_700_000_000_000L, 1L);
+        EntityKeyGenerator second = new EntityKeyGenerator(() -> 1_700_000_000_000L, 2L);
+        
+        assertNotEquals(first.nextKey("ART"), second.nextKey("ART"));
+    }
+}
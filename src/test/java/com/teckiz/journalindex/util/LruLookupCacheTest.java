@@ -0,0 +1,59 @@
+package com.teckiz.journalindex.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for LruLookupCache
+ */
+public class LruLookupCacheTest {
+    
+    @Test
+    public void testLoadsOnlyMissesAndSkipsUnknownKeys() {
+        Map<String, Long> stored = new HashMap<>(Map.of("a", 1L, "b", 2L));
+        List<List<String>> loads = new ArrayList<>();
+        LruLookupCache<String, Long> cache = new LruLookupCache<>(10, keys -> {
+            loads.add(new ArrayList<>(keys));
+            Map<String, Long> found = new HashMap<>();
+            keys.forEach(key -> {
+                if (stored.containsKey(key)) {
+                    found.put(key, stored.get(key));
+                }
+            });
+            return found;
+        });
+        
+        assertEquals(Map.of("a", 1L), cache.lookup(List.of("a", "x")));
+        assertEquals(Map.of("a", 1L, "b", 2L), cache.lookup(List.of("a", "b")));
+        
+        assertEquals(List.of(List.of("a", "x"), List.of("b")), loads);
+        assertEquals(2, cache.size());
+    }
+    
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        List<String> loaded = new ArrayList<>();
+        LruLookupCache<String, String> cache = new LruLookupCache<>(2, keys -> {
+            loaded.addAll(keys);
+            Map<String, String> found = new HashMap<>();
+            keys.forEach(key -> found.put(key, key.toUpperCase()));
+            return found;
+        });
+        cache.putAll(Map.of("a", "A"));
+        cache.putAll(Map.of("b", "B"));
+        cache.lookup(List.of("a"));                 // b is now the eldest
+        cache.putAll(Map.of("c", "C"));
+        
+        cache.lookup(List.of("a", "c"));
+        assertTrue(loaded.isEmpty());
+        cache.lookup(List.of("b"));
+        assertEquals(List.of("b"), loaded);
+        assertEquals(2, cache.size());
+    }
+}
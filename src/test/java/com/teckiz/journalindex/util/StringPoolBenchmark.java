@@ -0,0 +1,104 @@
+package com.teckiz.journalindex.util;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the heap an ArticleBatch message retains with and without the StringPool
+ * Each invocation parses one batch whose articles repeat publisher, language, type, format and
+ * setSpec, and reports the heap the parsed message retains as the retainedBytes counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseSerialGC")
+public class StringPoolBenchmark {
+    
+    @Param({"2000"})
+    public int articles;
+    
+    private ObjectReader reader;
+    private String batchJson;
+    
+    /**
+     * Used heap retained by the parsed message, reported next to the timing
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RetainedHeap {
+        public long retainedBytes;
+    }
+    
+    @Setup
+    public void buildBatch() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        reader = mapper.readerFor(SqsArticleMessage.class);
+        
+        StringBuilder json = new StringBuilder("{\"journalKey\":\"JRNL_1\",\"messageType\":\"ArticleBatch\",\"articles\":[");
+        for (int i = 0; i < articles; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"title\":\"Article ").append(i)
+                    .append("\",\"identifier\":\"oai:example.org:article/").append(i)
+                    .append("\",\"publisher\":\"Example University Press\",\"publisher_lang\":\"en-US\"")
+                    .append(",\"language\":\"eng\",\"format\":\"application/pdf\",\"setSpec\":\"journal:ART\"")
+                    .append(",\"type\":\"info:eu-repo/semantics/article\",\"title_lang\":\"en-US\"")
+                    .append(",\"types\":[\"info:eu-repo/semantics/article\",\"info:eu-repo/semantics/publishedVersion\"]}");
+        }
+        batchJson = json.append("]}").toString();
+    }
+    
+    @Benchmark
+    public int pooled(RetainedHeap heap) throws IOException {
+        return parse(reader.withAttribute(StringPool.class, new StringPool()), heap);
+    }
+    
+    @Benchmark
+    public int unpooled(RetainedHeap heap) throws IOException {
+        return parse(reader, heap);
+    }
+    
+    /**
+     * Parse the batch and measure the heap it retains as used heap with the message minus without it
+     * Both readings are taken in this frame, so values the harness still holds cancel out.
+     */
+    private int parse(ObjectReader messageReader, RetainedHeap heap) throws IOException {
+        SqsArticleMessage message = messageReader.readValue(batchJson);
+        int parsed = message.getArticles().size();
+        long withMessage = usedHeapAfterGc();
+        Reference.reachabilityFence(message);
+        message = null;
+        heap.retainedBytes = withMessage - usedHeapAfterGc();
+        return parsed;
+    }
+    
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
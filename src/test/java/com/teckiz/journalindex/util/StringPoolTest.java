@@ -0,0 +1,67 @@
+package com.teckiz.journalindex.util;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teckiz.journalindex.model.SqsArticleMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for StringPool and PooledStringDeserializer
+ */
+public class StringPoolTest {
+    
+    private static final String BATCH_JSON = "{\"journalKey\":\"JRNL_1\",\"messageType\":\"ArticleBatch\",\"articles\":[" +
+            "{\"title\":\"First\",\"publisher\":\"Example Press\",\"language\":\"en\",\"types\":[\"Article\"]}," +
+            "{\"title\":\"Second\",\"publisher\":\"Example Press\",\"language\":\"en\",\"types\":[\"Article\"]}]}";
+    
+    @Test
+    public void testDedupeReturnsPooledInstance() {
+        StringPool pool = new StringPool();
+        String first = pool.dedupe(new String("en"));
+        String second = pool.dedupe(new String("en"));
+        
+        assertSame(first, second);
+        assertEquals(1, pool.size());
+        assertEquals(1, pool.getHits());
+        assertNull(pool.dedupe(null));
+    }
+    
+    @Test
+    public void testPoolIsBounded() {
+        StringPool pool = new StringPool(2, 5);
+        pool.dedupe("a");
+        pool.dedupe("b");
+        pool.dedupe("c");
+        pool.dedupe("toolong");
+        
+        assertEquals(2, pool.size());
+    }
+    
+    @Test
+    public void testDeserializerSharesRepeatedValues() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        StringPool pool = new StringPool();
+        
+        SqsArticleMessage message = mapper.readerFor(SqsArticleMessage.class)
+                .withAttribute(StringPool.class, pool)
+                .readValue(BATCH_JSON);
+        
+        SqsArticleMessage.ArticleData first = message.getArticles().get(0);
+        SqsArticleMessage.ArticleData second = message.getArticles().get(1);
+        assertEquals("Example Press", first.getPublisher());
+        assertSame(first.getPublisher(), second.getPublisher());
+        assertSame(first.getLanguage(), second.getLanguage());
+        assertSame(first.getTypes().get(0), second.getTypes().get(0));
+    }
+    
+    @Test
+    public void testDeserializerWithoutPool() throws Exception {
+        SqsArticleMessage message = new ObjectMapper().readValue(BATCH_JSON, SqsArticleMessage.class);
+        
+        assertEquals("JRNL_1", message.getJournalKey());
+        assertEquals("Example Press", message.getArticles().get(1).getPublisher());
+    }
+}
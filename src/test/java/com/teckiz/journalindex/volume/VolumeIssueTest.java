@@ -0,0 +1,49 @@
+package com.teckiz.journalindex.volume;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for VolumeIssue
+ */
+public class VolumeIssueTest {
+    
+    private static void assertParsed(String source, String volume, String issue, Integer year) {
+        VolumeIssue parsed = VolumeIssue.parse(source);
+        assertNotNull(parsed, source);
+        assertEquals(volume, parsed.getVolume(), source);
+        assertEquals(issue, parsed.getIssue(), source);
+        assertEquals(year, parsed.getYear(), source);
+    }
+    
+    @Test
+    public void testParsesCommonSourceForms() {
+        assertParsed("Journal of Testing; Vol. 30 No. 2 (2020); 123-145", "30", "2", 2020);
+        assertParsed("Vol 5, No 3 (2019): Special Issue", "5", "3", 2019);
+        assertParsed("Volume 12, Issue 4", "12", "4", null);
+        assertParsed("Revista; v. 10 n. 2 (2018)", "10", "2", 2018);
+        assertParsed("Vol. 7 Núm. 1 (2021); 1-10", "7", "1", 2021);
+        assertParsed("Vol.3 No.1-2 2017", "3", "1-2", 2017);
+        assertParsed("Acta 12(3) Vol. 12(3)", "12", "3", null);
+        assertParsed("Vol. 29 (2009)", "29", null, 2009);
+    }
+    
+    @Test
+    public void testSourcesWithoutVolume() {
+        assertNull(VolumeIssue.parse("No. 4 (2019)"));
+        assertNull(VolumeIssue.parse("Journal of Testing; 1-10"));
+        assertNull(VolumeIssue.parse("Special issue on volume"));
+        assertNull(VolumeIssue.parse(null));
+    }
+    
+    @Test
+    public void testEqualityIgnoresYear() {
+        assertEquals(VolumeIssue.of("5", "2", 2019), VolumeIssue.parse("Vol. 5 No. 2 (2020)"));
+        assertFalse(VolumeIssue.of("5", null, null).equals(VolumeIssue.of("5", "2", null)));
+        assertEquals(VolumeIssue.of("5", "", null), VolumeIssue.of("5", null, null));
+        assertEquals(LocalDateTime.of(2019, 1, 1, 0, 0), VolumeIssue.of("5", "2", 2019).getPublishedAt());
+    }
+}